@@ -0,0 +1,92 @@
+package org.example.controller;
+
+import org.example.MutantDetectorApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga de POST /mutant con hilos de plataforma vs. hilos virtuales.
+ *
+ * Cada invocación manda un ADN 6x6 al azar (prácticamente nunca repetido), así que pasa
+ * por la consulta a la base, la detección y el insert. Con más hilos de carga que el pool
+ * de Tomcat (200) el modo de plataforma encola requests; {@code SampleTime} reporta los
+ * percentiles de latencia (p0.99) y {@code Throughput} las operaciones por segundo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(400)
+@Fork(1)
+public class MutantEndpointLoadBenchmark {
+
+    private static final char[] BASES = {'A', 'T', 'C', 'G'};
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI uri;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate=WARN")
+                .run();
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        uri = URI.create("http://localhost:" + port + "/mutant");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int postMutant() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(randomDnaJson()))
+                .build();
+
+        // 200 (mutante) o 403 (humano); cualquier otro código es un error de la prueba
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200 && status != 403) {
+            throw new IllegalStateException("Respuesta inesperada: " + status);
+        }
+        return status;
+    }
+
+    private static String randomDnaJson() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder(80).append("{\"dna\":[");
+        for (int r = 0; r < 6; r++) {
+            if (r > 0) sb.append(',');
+            sb.append('"');
+            for (int c = 0; c < 6; c++) {
+                sb.append(BASES[rnd.nextInt(4)]);
+            }
+            sb.append('"');
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -0,0 +1,97 @@
+package org.example.controller;
+
+import org.example.MutantDetectorApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de POST /mutant con la configuración de desarrollo (H2 en memoria,
+ * {@code show-sql} y logging TRACE de Hibernate) vs. el perfil "prod" (H2 en archivo,
+ * esquema explícito, pool fijo y sin logging por request).
+ *
+ * Cada invocación manda un ADN 6x6 al azar, así que pasa por el SELECT, la detección y
+ * el insert. La base del perfil prod se crea en un directorio temporal y se borra al final.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class MutantProfileLatencyBenchmark {
+
+    private static final char[] BASES = {'A', 'T', 'C', 'G'};
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private URI uri;
+    private Path dataDir;
+
+    @Setup(Level.Trial)
+    public void start() throws IOException {
+        dataDir = Files.createTempDirectory("mutants-bench");
+
+        context = new SpringApplicationBuilder(MutantDetectorApplication.class)
+                .profiles(profile)
+                .properties(
+                        "server.port=0",
+                        "mutant.db.file=" + dataDir.resolve("mutants"))
+                .run();
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        uri = URI.create("http://localhost:" + port + "/mutant");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() throws IOException {
+        context.close();
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    public int postMutant() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(randomDnaJson()))
+                .build();
+
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200 && status != 403) {
+            throw new IllegalStateException("Respuesta inesperada: " + status);
+        }
+        return status;
+    }
+
+    private static String randomDnaJson() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder(80).append("{\"dna\":[");
+        for (int r = 0; r < 6; r++) {
+            if (r > 0) sb.append(',');
+            sb.append('"');
+            for (int c = 0; c < 6; c++) {
+                sb.append(BASES[rnd.nextInt(4)]);
+            }
+            sb.append('"');
+        }
+        return sb.append("]}").toString();
+    }
+}
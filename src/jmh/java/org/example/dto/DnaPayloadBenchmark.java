@@ -0,0 +1,53 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.example.service.DnaFingerprinter;
+import org.example.service.DnaFixtures;
+import org.example.service.DnaMetrics;
+import org.example.service.DnaSample;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Del body JSON de POST /mutant al {@link DnaSample}: binding a {@code String[]}
+ * ({@link DnaRequest}) + {@code DnaSample.parse} vs. {@link DnaSampleDeserializer}, que
+ * arma la matriz desde el buffer del parser. Comparar tiempo y {@code gc.alloc.rate.norm}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DnaPayloadBenchmark {
+
+    @Param({"6", "100", "1000"})
+    private int n;
+
+    private ObjectMapper mapper;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        mapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addDeserializer(DnaSample.class, new DnaSampleDeserializer(new DnaFingerprinter(), new DnaMetrics())));
+
+        DnaRequest req = new DnaRequest();
+        req.setDna(DnaFixtures.random(n));
+        body = mapper.writeValueAsString(req).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public DnaSample viaStrings() throws IOException {
+        return DnaSample.parse(mapper.readValue(body, DnaRequest.class).getDna());
+    }
+
+    @Benchmark
+    public DnaSample direct() throws IOException {
+        return mapper.readValue(body, DnaSample.class);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.service;
+
+import java.util.Random;
+
+/**
+ * Generadores de matrices de ADN para los benchmarks. Todas son deterministas
+ * (semilla fija) para que los números sean reproducibles entre corridas.
+ */
+public final class DnaFixtures {
+
+    private static final char[] BASES = {'A', 'T', 'C', 'G'};
+    private static final long SEED = 42L;
+
+    /** Tipo de matriz a generar. */
+    public enum Input {
+        /** Patrón periódico sin secuencias: recorre toda la matriz. */
+        HUMAN,
+        /** Bloques de 3 bases iguales en las 4 direcciones sin llegar a 4: peor caso de comparaciones. */
+        ADVERSARIAL,
+        /** Humano con dos secuencias en la última fila: mutante detectado al final. */
+        MUTANT_LATE,
+        /** Dos secuencias en las primeras filas: corta en cuanto empieza. */
+        EARLY_EXIT,
+        /** Bases uniformes aleatorias. */
+        RANDOM
+    }
+
+    private DnaFixtures() {
+    }
+
+    public static String[] build(Input input, int n) {
+        return switch (input) {
+            case HUMAN -> human(n);
+            case ADVERSARIAL -> adversarial(n);
+            case MUTANT_LATE -> withRuns(human(n), n - 2, n - 1);
+            case EARLY_EXIT -> withRuns(human(n), 0, 1);
+            case RANDOM -> random(n);
+        };
+    }
+
+    /** base(r,c) = (c + 2r) mod 4: ninguna dirección repite 4 veces la misma base. */
+    public static String[] human(int n) {
+        return generate(n, (r, c) -> (c + 2 * r) % 4);
+    }
+
+    /** base(r,c) = (c/3 + 2*(r/3)) mod 4: corridas de 3 en todas las direcciones. */
+    public static String[] adversarial(int n) {
+        return generate(n, (r, c) -> (c / 3 + 2 * (r / 3)) % 4);
+    }
+
+    /** Como {@link #human(int)} para una matriz rectangular de {@code rows} x {@code columns}. */
+    public static String[] humanTile(int rows, int columns) {
+        return generate(rows, columns, (r, c) -> (c + 2 * r) % 4);
+    }
+
+    public static String[] random(int n) {
+        Random rnd = new Random(SEED);
+        return generate(n, (r, c) -> rnd.nextInt(BASES.length));
+    }
+
+    private static String[] withRuns(String[] dna, int firstRow, int secondRow) {
+        dna[firstRow] = "AAAA" + dna[firstRow].substring(4);
+        dna[secondRow] = "CCCC" + dna[secondRow].substring(4);
+        return dna;
+    }
+
+    private interface BaseFunction {
+        int at(int r, int c);
+    }
+
+    private static String[] generate(int n, BaseFunction f) {
+        return generate(n, n, f);
+    }
+
+    private static String[] generate(int rows, int columns, BaseFunction f) {
+        String[] dna = new String[rows];
+        char[] row = new char[columns];
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                row[c] = BASES[f.at(r, c)];
+            }
+            dna[r] = new String(row);
+        }
+        return dna;
+    }
+}
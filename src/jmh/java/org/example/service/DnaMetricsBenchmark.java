@@ -0,0 +1,45 @@
+package org.example.service;
+
+import io.micrometer.prometheus.PrometheusConfig;
+import io.micrometer.prometheus.PrometheusMeterRegistry;
+import org.example.service.DnaMetrics.Source;
+import org.example.service.DnaMetrics.Stage;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de la instrumentación de {@link DnaMetrics} sobre el registro de Prometheus
+ * (histogramas incluidos). {@code gc.alloc.rate.norm} debería ser ~0 B/op: medir no
+ * tiene que generar basura en el camino caliente.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DnaMetricsBenchmark {
+
+    private DnaMetrics metrics;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        metrics = new DnaMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+    }
+
+    /** Lo que agrega un request nuevo: cinco etapas, tamaño, origen y veredicto. */
+    @Benchmark
+    @Threads(4)
+    public void request() {
+        long start = System.nanoTime();
+        metrics.stage(Stage.PARSE, start);
+        metrics.matrixSize(6);
+        metrics.stage(Stage.CACHE, start);
+        metrics.stage(Stage.LOOKUP, start);
+        metrics.stage(Stage.DETECTION, start);
+        metrics.resolved(Source.DETECTION);
+        metrics.stage(Stage.PERSISTENCE, start);
+        metrics.verdict(true);
+    }
+}
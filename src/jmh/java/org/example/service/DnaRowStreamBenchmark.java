@@ -0,0 +1,51 @@
+package org.example.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiles MxK (M mucho mayor que K): {@link DnaRowStream} (fila por fila, memoria O(K))
+ * frente a {@link DnaSample#parse} + detección sobre la matriz entera (M*K bytes).
+ * Con {@code -prof gc} se ve la diferencia de asignación por ADN.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DnaRowStreamBenchmark {
+
+    @Param({"1000x16", "100000x16", "10000x256"})
+    private String shape;
+
+    private MutantDetector detector;
+    private RuleDetector rules;
+    private DnaFingerprinter fingerprinter;
+    private String[] dna;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String[] mk = shape.split("x");
+        detector = new MutantDetector();
+        rules = RuleDetector.classic(detector);
+        fingerprinter = new DnaFingerprinter();
+        dna = DnaFixtures.humanTile(Integer.parseInt(mk[0]), Integer.parseInt(mk[1]));
+    }
+
+    @Benchmark
+    public boolean rowStream() {
+        DnaRowStream rows = fingerprinter.newRowStream(rules);
+        for (String row : dna) {
+            rows.addRow(row);
+        }
+        rows.finish();
+        return rows.isMutant();
+    }
+
+    @Benchmark
+    public boolean wholeMatrix() {
+        return detector.isMutantMatrix(DnaSample.parse(dna).matrix());
+    }
+}
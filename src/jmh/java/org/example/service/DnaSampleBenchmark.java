@@ -0,0 +1,41 @@
+package org.example.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pasada única de {@link DnaSample#parse} (validación + hash + matriz) frente a las
+ * tres pasadas separadas que hacía el request antes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DnaSampleBenchmark {
+
+    @Param({"4", "6", "100", "1000", "10000"})
+    private int n;
+
+    private MutantDetector detector;
+    private String[] dna;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        detector = new MutantDetector();
+        dna = DnaFixtures.human(n);
+    }
+
+    @Benchmark
+    public boolean fused() {
+        return detector.isMutantMatrix(DnaSample.parse(dna).matrix());
+    }
+
+    @Benchmark
+    public boolean separate() {
+        String hash = MutantService.hashOf(dna);
+        return hash != null && detector.isMutant(dna);
+    }
+}
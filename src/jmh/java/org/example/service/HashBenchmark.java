@@ -0,0 +1,46 @@
+package org.example.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del hash que se usa como clave de deduplicación en {@link MutantService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashBenchmark {
+
+    @Param({"4", "6", "100", "1000", "10000"})
+    private int n;
+
+    @Param({"SHA256", "MURMUR3_128"})
+    private FingerprintAlgorithm algorithm;
+
+    private String[] dna;
+    private byte[] bases;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dna = DnaFixtures.random(n);
+        bases = DnaMatrix.of(dna).bases();
+    }
+
+    @Benchmark
+    public String hashOf() {
+        return MutantService.hashOf(dna);
+    }
+
+    @Benchmark
+    public byte[] fingerprint() {
+        FingerprintHasher hasher = algorithm.newHasher();
+        for (int offset = 0; offset < bases.length; offset += n) {
+            hasher.update(bases, offset, n);
+        }
+        return hasher.digest();
+    }
+}
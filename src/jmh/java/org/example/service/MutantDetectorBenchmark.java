@@ -0,0 +1,51 @@
+package org.example.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput de {@link MutantDetector#isMutant} por motor, tamaño y tipo de matriz.
+ *
+ * Con el profiler de GC, WORKSPACE debería dar ~0 B/op en {@code gc.alloc.rate.norm}
+ * hasta N = 1024 (tamaño máximo del buffer retenido por hilo); SCALAR asigna N*N bytes.
+ * Es el {@code isMutant(String[])} aislado; lo que asigna un request con cada motor lo
+ * mide {@link MutantServiceBenchmark}.
+ * VECTOR solo se diferencia de SCALAR cuando N supera el ancho de un segmento (32 o 64).
+ * RUN_LENGTH compara una vez por celda y dirección: la diferencia se ve en ADVERSARIAL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MutantDetectorBenchmark {
+
+    @Param({"4", "6", "100", "1000", "10000"})
+    private int n;
+
+    @Param({"HUMAN", "ADVERSARIAL", "MUTANT_LATE", "EARLY_EXIT", "RANDOM"})
+    private DnaFixtures.Input input;
+
+    @Param({"SCALAR", "PACKED", "WORKSPACE", "VECTOR", "RUN_LENGTH"})
+    private DetectionEngine engine;
+
+    // 0 = recorrido secuencial; con un valor <= n el motor escalar usa bandas en paralelo
+    @Param({"0"})
+    private int parallelThreshold;
+
+    private MutantDetector detector;
+    private String[] dna;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        detector = new MutantDetector(engine, parallelThreshold);
+        dna = DnaFixtures.build(input, n);
+    }
+
+    @Benchmark
+    public boolean isMutant() {
+        return detector.isMutant(dna);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.example.dto.DnaRequest;
+import org.example.dto.DnaSampleDeserializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MutantService#process} como lo llama POST /mutant: el body se lee con
+ * {@link DnaSampleDeserializer} y la muestra se procesa en el mismo hilo. Compara SCALAR
+ * con WORKSPACE, que arma la matriz en el buffer del hilo.
+ *
+ * Con verify-on-hit y el ADN ya en caché cada invocación parsea, hashea y detecta sin
+ * tocar la base, así {@code gc.alloc.rate.norm} muestra lo que asigna el request fuera de
+ * JDBC: con WORKSPACE no aparecen los M*K bytes de la matriz hasta N = 1024.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MutantServiceBenchmark {
+
+    @Param({"6", "100", "1000"})
+    private int n;
+
+    @Param({"SCALAR", "WORKSPACE"})
+    private DetectionEngine engine;
+
+    private MutantService service;
+    private ObjectMapper mapper;
+    private String[] dna;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        MutantDetector detector = new MutantDetector(engine);
+        DnaFingerprinter fingerprinter = new DnaFingerprinter(detector, FingerprintAlgorithm.SHA256, true);
+        DnaMetrics metrics = new DnaMetrics();
+        VerdictCache cache = new VerdictCache(1_000, Duration.ofHours(1));
+        RuleProfileRegistry rules = new RuleProfileRegistry(detector);
+
+        // Repositorio y writer no se usan: todos los requests se resuelven en la caché
+        service = new MutantService(rules, null, cache, null,
+                new DbConcurrencyGuard(1, Duration.ofSeconds(1)), fingerprinter,
+                new KnownDnaFilter(null, false, 0, 0.01), metrics, 100_000);
+
+        mapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addDeserializer(DnaSample.class, new DnaSampleDeserializer(fingerprinter, metrics)));
+
+        dna = DnaFixtures.human(n);
+        DnaRequest req = new DnaRequest();
+        req.setDna(dna);
+        body = mapper.writeValueAsString(req).getBytes(StandardCharsets.UTF_8);
+
+        cache.put(DnaSample.parse(dna).digest().withRules(rules.defaultDetector().key()), false);
+    }
+
+    @Benchmark
+    public boolean processBody() throws IOException {
+        return service.process(mapper.readValue(body, DnaSample.class));
+    }
+
+    @Benchmark
+    public boolean processStrings() {
+        return service.process(dna);
+    }
+}
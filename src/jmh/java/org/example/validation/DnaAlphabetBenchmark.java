@@ -0,0 +1,56 @@
+package org.example.validation;
+
+import org.example.service.DnaFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validación del alfabeto de una matriz completa: {@code row.matches("^[ATCG]+$")} (lo
+ * que hacía el validador antes), tabla de 256 entradas sobre los {@code String} y
+ * copia + SWAR sobre los bytes ({@link DnaAlphabet#copyRow}, lo que usa {@code DnaSample}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DnaAlphabetBenchmark {
+
+    @Param({"6", "100", "1000", "10000"})
+    private int n;
+
+    private String[] dna;
+    private byte[] scratch;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dna = DnaFixtures.random(n);
+        scratch = new byte[n];
+    }
+
+    @Benchmark
+    public boolean regex() {
+        for (String row : dna) {
+            if (!row.matches("^[ATCG]+$")) return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean table() {
+        for (String row : dna) {
+            if (DnaAlphabet.firstInvalid(row) >= 0) return false;
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean copySwar() {
+        for (String row : dna) {
+            if (DnaAlphabet.copyRow(row, scratch, 0) >= 0) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package org.example.validation;
+
+import org.example.service.DnaFixtures;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@code @ValidDnaSequence} (MxK + alfabeto), que Bean Validation corre sobre el
+ * body de POST /mutant en el perfil reactivo antes de llegar al servicio.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidDnaSequenceValidatorBenchmark {
+
+    @Param({"4", "6", "100", "1000", "10000"})
+    private int n;
+
+    @Param({"HUMAN", "RANDOM"})
+    private DnaFixtures.Input input;
+
+    private ValidDnaSequenceValidator validator;
+    private String[] dna;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        validator = new ValidDnaSequenceValidator();
+        dna = DnaFixtures.build(input, n);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        // Las entradas son ADN válido: el contexto solo se usa para informar un rechazo
+        return validator.isValid(dna, null);
+    }
+}
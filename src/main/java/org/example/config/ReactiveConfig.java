@@ -0,0 +1,26 @@
+package org.example.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Configuración del stack reactivo (perfil {@code reactive}: WebFlux + R2DBC).
+ */
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    /**
+     * Scheduler acotado para el trabajo de CPU (parseo, hash y detección), así los hilos
+     * del event loop de Netty solo hacen I/O. 0 = cantidad de procesadores.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler detectionScheduler(@Value("${mutant.reactive.detection-parallelism:0}") int parallelism) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return Schedulers.newParallel("dna-detect", threads);
+    }
+}
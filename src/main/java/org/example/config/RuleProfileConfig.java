@@ -0,0 +1,40 @@
+package org.example.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.service.MutantDetector;
+import org.example.service.RuleProfile;
+import org.example.service.RuleProfileRegistry;
+import org.example.service.SequenceCounting;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Compila los perfiles de {@code mutant.rules.profiles} al arrancar: un perfil mal
+ * declarado corta el arranque en vez de fallar en el primer request.
+ */
+@Configuration
+@EnableConfigurationProperties(RuleProfileProperties.class)
+@Slf4j
+public class RuleProfileConfig {
+
+    @Bean
+    public RuleProfileRegistry ruleProfileRegistry(MutantDetector detector, RuleProfileProperties properties) {
+        List<RuleProfile> profiles = properties.getProfiles().entrySet().stream()
+                .map(e -> toProfile(e.getKey(), e.getValue(), detector.getCounting()))
+                .toList();
+
+        RuleProfileRegistry registry = new RuleProfileRegistry(detector, profiles, properties.getDefaultProfile());
+        if (!profiles.isEmpty()) {
+            log.info("Perfiles de reglas: {} (por defecto: {})", profiles, registry.defaultDetector().id());
+        }
+        return registry;
+    }
+
+    private static RuleProfile toProfile(String id, RuleProfileProperties.Spec spec, SequenceCounting engineCounting) {
+        return new RuleProfile(id, spec.getSequenceLength(), spec.getThreshold(), spec.getDirections(),
+                spec.getCounting() != null ? spec.getCounting() : engineCounting);
+    }
+}
@@ -0,0 +1,41 @@
+package org.example.config;
+
+import lombok.Data;
+import org.example.service.RuleProfile;
+import org.example.service.SequenceCounting;
+import org.example.service.SequenceDirection;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Perfiles de reglas de detección ({@code mutant.rules.*}). Ejemplo:
+ * <pre>
+ * mutant.rules.default-profile=classic
+ * mutant.rules.profiles.horizontal5.sequence-length=5
+ * mutant.rules.profiles.horizontal5.threshold=3
+ * mutant.rules.profiles.horizontal5.directions=HORIZONTAL
+ * </pre>
+ * Lo que no se declara toma el valor del perfil clásico.
+ */
+@Data
+@ConfigurationProperties(prefix = "mutant.rules")
+public class RuleProfileProperties {
+
+    /** Perfil de los requests sin {@code ?rules=} (y de /mutant/stream). */
+    private String defaultProfile = RuleProfile.CLASSIC_ID;
+
+    private Map<String, Spec> profiles = new LinkedHashMap<>();
+
+    @Data
+    public static class Spec {
+        private int sequenceLength = 4;
+        private int threshold = 2;
+        private Set<SequenceDirection> directions = EnumSet.allOf(SequenceDirection.class);
+        /** Sin valor: la regla del motor ({@code mutant.detector.counting}). */
+        private SequenceCounting counting;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.dto.BloomFilterStats;
+import org.example.service.KnownDnaFilter;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/admin/known-dna-filter")
+@RequiredArgsConstructor
+@Tag(name = "Administración", description = "Estado y mantenimiento del filtro de ADN conocidos.")
+public class KnownDnaFilterController {
+
+    private final KnownDnaFilter knownDnaFilter;
+
+    @GetMapping
+    @Operation(summary = "Tamaño, memoria y tasa de falsos positivos estimada del filtro")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK. Retorna el estado del filtro.")
+    })
+    public ResponseEntity<BloomFilterStats> stats() {
+        return ResponseEntity.ok(knownDnaFilter.stats());
+    }
+
+    @PostMapping("/rebuild")
+    @Operation(summary = "Reconstruir el filtro desde dna_records")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK. Retorna el estado del filtro reconstruido.")
+    })
+    public ResponseEntity<BloomFilterStats> rebuild() {
+        return ResponseEntity.ok(knownDnaFilter.rebuild());
+    }
+}
@@ -2,45 +2,121 @@ package org.example.controller;
 
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import lombok.RequiredArgsConstructor;
+import org.example.dto.DnaBatchRequest;
+import org.example.dto.DnaBatchResponse;
 import org.example.dto.DnaRequest;
 import org.example.dto.StatsResponse;
+import org.example.service.DnaSample;
+import org.example.service.MutantBatchService;
 import org.example.service.MutantService;
+import org.example.service.MutantStreamService;
+import org.example.service.RuleProfileRegistry;
 import org.example.service.StatsService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 // Importaciones de Swagger/OpenAPI
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
 @RestController
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Tag(name = "Mutant Detector", description = "API principal para la detección y registro de ADN mutante.")
 public class MutantController {
 
     private final MutantService mutantService;
+    private final MutantBatchService mutantBatchService;
+    private final MutantStreamService mutantStreamService;
     private final StatsService statsService;
+    private final RuleProfileRegistry ruleProfiles;
 
     @PostMapping("/mutant")
     @Operation(summary = "Verificar si una secuencia de ADN pertenece a un mutante")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "OK. El ADN es mutante (contiene más de una secuencia de 4 bases iguales)."),
             @ApiResponse(responseCode = "403", description = "FORBIDDEN. El ADN no es mutante (contiene 0 o 1 secuencia)."),
-            @ApiResponse(responseCode = "400", description = "BAD REQUEST. La secuencia de ADN es inválida (no es NxN o contiene caracteres no permitidos).")
+            @ApiResponse(responseCode = "400", description = "BAD REQUEST. La secuencia de ADN es inválida (filas de distinto largo, menos de 4x4 o caracteres no permitidos) o el perfil de reglas no existe.")
+    })
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            content = @Content(schema = @Schema(implementation = DnaRequest.class)))
+    public ResponseEntity<Void> isMutant(@RequestBody DnaSample sample,
+                                         @Parameter(description = "Perfil de reglas (mutant.rules.profiles); sin valor, el perfil por defecto")
+                                         @RequestParam(name = "rules", required = false) String rules) {
+
+        // El body llega ya validado (MxK/ATCG), hasheado y como matriz: lo arma
+        // DnaSampleDeserializer mientras lee el JSON, sin String[] intermedio
+        boolean result = mutantService.process(sample, ruleProfiles.resolve(rules));
+
+        return result ?
+                ResponseEntity.ok().build() :
+                ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+    }
+
+    @PostMapping(value = "/mutant/rows", consumes = MediaType.TEXT_PLAIN_VALUE)
+    @Operation(summary = "Verificar un ADN MxK enviado fila por fila (text/plain, una fila por línea)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK. El ADN es mutante."),
+            @ApiResponse(responseCode = "403", description = "FORBIDDEN. El ADN no es mutante."),
+            @ApiResponse(responseCode = "400", description = "BAD REQUEST. Alguna fila es inválida, llegaron menos de 4 o el perfil de reglas no existe.")
     })
-    public ResponseEntity<Void> isMutant(@RequestBody @Valid DnaRequest req) {
+    public ResponseEntity<Void> isMutantRows(HttpServletRequest request,
+                                             @Parameter(description = "Perfil de reglas (mutant.rules.profiles); sin valor, el perfil por defecto")
+                                             @RequestParam(name = "rules", required = false) String rules) throws IOException {
 
-        boolean result = mutantService.process(req.getDna());
+        // Cada fila se valida, se hashea y se recorre apenas llega, sin guardar la matriz:
+        // la memoria depende del largo de las filas, no de cuántas lleguen
+        boolean result = mutantService.processRows(request.getReader(), ruleProfiles.resolve(rules));
 
         return result ?
                 ResponseEntity.ok().build() :
                 ResponseEntity.status(HttpStatus.FORBIDDEN).build();
     }
 
+    @PostMapping("/mutant/batch")
+    @Operation(summary = "Verificar un lote de secuencias de ADN en un solo request")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK. Retorna el veredicto de cada ADN (o su error de validación) y los totales del lote."),
+            @ApiResponse(responseCode = "400", description = "BAD REQUEST. El lote está vacío o supera el tamaño máximo.")
+    })
+    public ResponseEntity<DnaBatchResponse> isMutantBatch(@RequestBody @Valid DnaBatchRequest req,
+                                                          @Parameter(description = "Perfil de reglas para todo el lote")
+                                                          @RequestParam(name = "rules", required = false) String rules) {
+        return ResponseEntity.ok(mutantBatchService.process(req.getItems(), ruleProfiles.resolve(rules)));
+    }
+
+    @PostMapping(value = "/mutant/stream",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Verificar un volumen grande de ADN en NDJSON ({\"dna\": [...]} por línea)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "OK. Retorna una línea por ADN, en el mismo orden, a medida que se procesan.")
+    })
+    public ResponseEntity<StreamingResponseBody> isMutantStream(HttpServletRequest request) throws IOException {
+
+        // El body se lee de a un registro mientras se escribe la respuesta, sin cargarlo entero
+        InputStream in = request.getInputStream();
+        StreamingResponseBody body = out -> mutantStreamService.process(in, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/stats")
     @Operation(summary = "Obtener estadísticas de las verificaciones de ADN realizadas")
     @ApiResponses(value = {
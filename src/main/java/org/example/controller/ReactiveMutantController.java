@@ -0,0 +1,53 @@
+package org.example.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.example.dto.DnaRequest;
+import org.example.dto.StatsResponse;
+import org.example.service.ReactiveMutantService;
+import org.example.service.RuleProfileRegistry;
+import org.example.service.StatsService;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import jakarta.validation.Valid;
+
+/**
+ * Mismo contrato que {@link MutantController} (/mutant y /stats) sobre WebFlux,
+ * activo con el perfil {@code reactive}.
+ */
+@RestController
+@Profile("reactive")
+@RequiredArgsConstructor
+@Tag(name = "Mutant Detector (reactivo)", description = "API de detección sobre WebFlux + R2DBC.")
+public class ReactiveMutantController {
+
+    private final ReactiveMutantService mutantService;
+    private final StatsService statsService;
+    private final RuleProfileRegistry ruleProfiles;
+
+    @PostMapping("/mutant")
+    @Operation(summary = "Verificar si una secuencia de ADN pertenece a un mutante")
+    public Mono<ResponseEntity<Void>> isMutant(@RequestBody @Valid DnaRequest req,
+                                               @RequestParam(name = "rules", required = false) String rules) {
+        return mutantService.process(req.getDna(), ruleProfiles.resolve(rules))
+                .map(result -> result ?
+                        ResponseEntity.ok().<Void>build() :
+                        ResponseEntity.status(HttpStatus.FORBIDDEN).<Void>build());
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Obtener estadísticas de las verificaciones de ADN realizadas")
+    public Mono<StatsResponse> stats() {
+        // Los contadores están en memoria: no hay I/O que esperar
+        return Mono.fromSupplier(statsService::getStats);
+    }
+}
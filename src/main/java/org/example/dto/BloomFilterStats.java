@@ -0,0 +1,38 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Estado del filtro de ADN conocidos (GET /admin/known-dna-filter).
+ */
+@Value
+@Builder
+public class BloomFilterStats {
+
+    @JsonProperty("enabled")
+    boolean enabled;
+
+    @JsonProperty("bits")
+    long bits;
+
+    @JsonProperty("hash_functions")
+    int hashFunctions;
+
+    // Elementos para los que se dimensionó
+    @JsonProperty("capacity")
+    long capacity;
+
+    @JsonProperty("configured_fpp")
+    double configuredFpp;
+
+    @JsonProperty("approximate_elements")
+    long approximateElements;
+
+    @JsonProperty("estimated_fpp")
+    double estimatedFpp;
+
+    @JsonProperty("memory_bytes")
+    long memoryBytes;
+}
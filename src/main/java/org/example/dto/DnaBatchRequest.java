@@ -0,0 +1,17 @@
+package org.example.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Body de POST /mutant/batch: varias matrices de ADN en un solo request.
+ * Cada una se valida por separado; una inválida no invalida el lote.
+ */
+@Data
+public class DnaBatchRequest {
+
+    @NotEmpty(message = "El lote de ADN no puede estar vacío.")
+    private List<String[]> items;
+}
@@ -0,0 +1,45 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Respuesta de POST /mutant/batch: un veredicto por ítem (en el mismo orden del
+ * request) más los totales del lote.
+ */
+@Value
+@Builder
+public class DnaBatchResponse {
+
+    @JsonProperty("results")
+    List<Item> results;
+
+    @JsonProperty("count_mutant_dna")
+    long countMutantDna;
+
+    @JsonProperty("count_human_dna")
+    long countHumanDna;
+
+    @JsonProperty("count_invalid_dna")
+    long countInvalidDna;
+
+    @Value
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class Item {
+
+        // long: en /mutant/stream es la posición en todo el stream, que puede pasar de 2^31 registros
+        @JsonProperty("index")
+        long index;
+
+        // null si el ADN es inválido
+        @JsonProperty("mutant")
+        Boolean mutant;
+
+        @JsonProperty("error")
+        String error;
+    }
+}
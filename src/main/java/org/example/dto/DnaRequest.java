@@ -4,6 +4,12 @@ import lombok.Data;
 import jakarta.validation.constraints.NotNull;
 import org.example.validation.ValidDnaSequence;
 
+/**
+ * Body de POST /mutant (perfil reactivo) y esquema documentado en Swagger. En el stack
+ * servlet el body se lee directo a un {@code DnaSample} con {@link DnaSampleDeserializer},
+ * que valida el formato MxK/ATCG en la misma pasada que el hash y la matriz; en el
+ * reactivo lo valida {@link ValidDnaSequence} con {@code @Valid} antes de llegar al servicio.
+ */
 @Data
 public class DnaRequest {
 
@@ -0,0 +1,80 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import lombok.RequiredArgsConstructor;
+import org.example.exception.InvalidDnaException;
+import org.example.service.DnaFingerprinter;
+import org.example.service.DnaMetrics;
+import org.example.service.DnaMetrics.Stage;
+import org.example.service.DnaSample;
+import org.example.service.DnaSampleBuilder;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Lee el body de POST /mutant ({@code {"dna": ["ATGC", ...]}}, mismo formato que
+ * {@link DnaRequest}) directo a un {@link DnaSample}.
+ *
+ * Cada fila se toma del buffer de caracteres del parser ({@code getTextCharacters}) sin
+ * crear un {@code String}, y {@link DnaSampleBuilder} la valida, la copia a la matriz y la
+ * suma al hash en el momento. Con el motor WORKSPACE la matriz queda en el buffer del hilo
+ * del request, que es el que después la detecta en {@code MutantService}. Un ADN inválido
+ * corta la lectura con
+ * {@link InvalidDnaException} (400 en {@code GlobalExceptionHandler}).
+ */
+@JsonComponent
+@RequiredArgsConstructor
+public class DnaSampleDeserializer extends JsonDeserializer<DnaSample> {
+
+    static final String NULL_MESSAGE = "El array de ADN no puede ser nulo.";
+
+    private final DnaFingerprinter fingerprinter;
+    private final DnaMetrics metrics;
+
+    @Override
+    public DnaSample deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!p.isExpectedStartObjectToken()) {
+            return (DnaSample) ctxt.handleUnexpectedToken(DnaSample.class, p);
+        }
+
+        long start = System.nanoTime();
+        DnaSample sample = null;
+
+        for (String field = p.nextFieldName(); field != null; field = p.nextFieldName()) {
+            JsonToken value = p.nextToken();
+            if ("dna".equals(field)) {
+                sample = readDna(p, value);
+            } else {
+                // Campos desconocidos: se ignoran, como en el resto de los DTO
+                p.skipChildren();
+            }
+        }
+
+        if (sample == null) {
+            throw new InvalidDnaException(NULL_MESSAGE);
+        }
+
+        metrics.stage(Stage.PARSE, start);
+        return sample;
+    }
+
+    private DnaSample readDna(JsonParser p, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) return null;
+        if (token != JsonToken.START_ARRAY) {
+            throw new InvalidDnaException(DnaSample.INVALID_MESSAGE);
+        }
+
+        DnaSampleBuilder builder = fingerprinter.newSample();
+        while ((token = p.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_STRING) {
+                throw new InvalidDnaException(DnaSample.INVALID_MESSAGE);
+            }
+            builder.addRow(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+        }
+        return builder.build();
+    }
+}
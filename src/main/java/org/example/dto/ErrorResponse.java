@@ -1,5 +1,6 @@
 package org.example.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 
@@ -13,4 +14,15 @@ public class ErrorResponse {
     private String error;
     private String message;
     private String path;
+
+    // Posición del error en el ADN (fila/columna desde 0); se omiten si no aplican
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer row;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer column;
+
+    public ErrorResponse(LocalDateTime timestamp, int status, String error, String message, String path) {
+        this(timestamp, status, error, message, path, null, null);
+    }
 }
@@ -2,19 +2,40 @@ package org.example.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.example.service.DnaRecordStatsListener;
+import org.example.service.RuleProfile;
+import org.hibernate.annotations.ColumnDefault;
+
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "dna_records")
+// El índice por veredicto acelera el conteo que siembra /stats al arrancar. Un ADN se guarda
+// una vez por perfil de reglas: la unicidad es (dna_hash, rules_id).
+@Table(name = "dna_records",
+        indexes = @Index(name = "idx_dna_records_is_mutant", columnList = "is_mutant"),
+        uniqueConstraints = @UniqueConstraint(name = "uk_dna_records_dna_hash_rules",
+                columnNames = {"dna_hash", "rules_id"}))
+@EntityListeners(DnaRecordStatsListener.class)
 @Data
 public class DnaRecord {
 
+    // SEQUENCE (y no IDENTITY) para que Hibernate pueda agrupar los inserts en batch:
+    // reserva 50 ids por viaje a la base en vez de leer el id generado fila por fila.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "dna_records_seq")
+    @SequenceGenerator(name = "dna_records_seq", sequenceName = "dna_records_seq", allocationSize = 50)
     private Long id;
 
-    @Column(unique = true, nullable = false, length = 64)
-    private String dnaHash;
+    // SHA-256 en binario (32 bytes, VARBINARY): la mitad que el hex en la fila y en el
+    // índice único, y la comparación es de bytes en vez de caracteres.
+    @Column(nullable = false, length = 32)
+    private byte[] dnaHash;
+
+    // Reglas con que se calculó el veredicto (RuleProfile.key(): id del perfil + hash de
+    // sus reglas). El default de la columna completa los registros anteriores a los perfiles.
+    @Column(nullable = false, length = 32)
+    @ColumnDefault("'" + RuleProfile.CLASSIC_ID + "'")
+    private String rulesId = RuleProfile.CLASSIC_ID;
 
     @Column(nullable = false)
     private boolean isMutant;
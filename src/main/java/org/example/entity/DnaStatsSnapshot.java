@@ -0,0 +1,38 @@
+package org.example.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Fila única con los contadores de /stats, guardada al apagar la aplicación para no
+ * tener que recontar {@code dna_records} en el próximo arranque.
+ */
+@Entity
+@Table(name = "dna_stats")
+@Data
+public class DnaStatsSnapshot {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    // Reglas que cuentan los contadores (perfil por defecto, RuleProfile.key()); null en
+    // snapshots de antes de guardarlo
+    @Column(length = 32)
+    private String rulesId;
+
+    @Column(nullable = false)
+    private long mutantCount;
+
+    @Column(nullable = false)
+    private long humanCount;
+
+    // true solo si se escribió en un apagado ordenado (los contadores son exactos)
+    @Column(nullable = false)
+    private boolean clean;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,12 @@
+package org.example.exception;
+
+/**
+ * No se consiguió un lugar para usar la base dentro del tiempo de espera
+ * ({@code mutant.db.acquire-timeout}). Se responde 503 para que el cliente reintente.
+ */
+public class DatabaseBusyException extends RuntimeException {
+
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,32 @@
+package org.example.exception;
+
+/**
+ * El ADN recibido no es una matriz MxK válida (M, K >= 4, solo A, T, C, G).
+ * Se traduce a 400 en {@link GlobalExceptionHandler}, con la fila y la columna del
+ * problema (índices desde 0) cuando se conocen.
+ */
+public class InvalidDnaException extends RuntimeException {
+
+    private final Integer row;
+    private final Integer column;
+
+    public InvalidDnaException(String message) {
+        this(message, null, null);
+    }
+
+    public InvalidDnaException(String message, Integer row, Integer column) {
+        super(message);
+        this.row = row;
+        this.column = column;
+    }
+
+    /** Fila del ADN con el problema, o {@code null} si no es de una fila en particular. */
+    public Integer getRow() {
+        return row;
+    }
+
+    /** Columna con el carácter inválido, o {@code null} si el problema es el largo de la fila. */
+    public Integer getColumn() {
+        return column;
+    }
+}
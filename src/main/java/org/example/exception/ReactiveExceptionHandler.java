@@ -0,0 +1,62 @@
+package org.example.exception;
+
+import org.example.dto.ErrorResponse;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+
+import java.time.LocalDateTime;
+
+/**
+ * Equivalente de {@link GlobalExceptionHandler} para el perfil {@code reactive}
+ * (en WebFlux no hay {@code HttpServletRequest}).
+ */
+@RestControllerAdvice
+@Profile("reactive")
+public class ReactiveExceptionHandler {
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ErrorResponse> handleValidation(WebExchangeBindException ex,
+                                                          ServerHttpRequest request) {
+        return badRequest(ex.getBindingResult().getFieldError().getDefaultMessage(), null, null, request);
+    }
+
+    @ExceptionHandler(InvalidDnaException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidDna(InvalidDnaException ex,
+                                                          ServerHttpRequest request) {
+        return badRequest(ex.getMessage(), ex.getRow(), ex.getColumn(), request);
+    }
+
+    @ExceptionHandler(UnknownRuleProfileException.class)
+    public ResponseEntity<ErrorResponse> handleUnknownRules(UnknownRuleProfileException ex,
+                                                            ServerHttpRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage(),
+                request.getPath().value()
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    private ResponseEntity<ErrorResponse> badRequest(String message, Integer row, Integer column,
+                                                     ServerHttpRequest request) {
+        ErrorResponse error = new ErrorResponse(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Validation Error",
+                message,
+                request.getPath().value(),
+                row,
+                column
+        );
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+}
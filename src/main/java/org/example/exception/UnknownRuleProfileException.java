@@ -0,0 +1,14 @@
+package org.example.exception;
+
+import java.util.Collection;
+
+/**
+ * El request pidió un perfil de reglas ({@code ?rules=}) que no está configurado.
+ * Se responde 400.
+ */
+public class UnknownRuleProfileException extends RuntimeException {
+
+    public UnknownRuleProfileException(String id, Collection<String> available) {
+        super("Perfil de reglas desconocido: '" + id + "'. Disponibles: " + String.join(", ", available));
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Migra {@code dna_records.dna_hash} de texto hexadecimal (64 caracteres) a binario
+ * (32 bytes) en bases que ya tenían registros con el formato anterior.
+ *
+ * Con {@code ddl-auto=update} Hibernate no cambia el tipo de una columna existente, así
+ * que al arrancar se revisa el tipo y, si sigue siendo texto: se agrega una columna
+ * VARBINARY, se completa por lotes convirtiendo el hex, se borra la vieja (junto con su
+ * índice único) y se renombra la nueva con un índice único propio. En una base nueva o
+ * ya migrada no hace nada. Las sentencias son de H2.
+ */
+@Component
+@Slf4j
+public class DnaHashBinaryMigration {
+
+    private static final int BATCH = 1000;
+
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+
+    public DnaHashBinaryMigration(JdbcTemplate jdbc,
+                                  @Value("${mutant.migration.binary-hash:true}") boolean enabled) {
+        this.jdbc = jdbc;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!enabled || !hashIsText()) return;
+
+        log.info("Migrando dna_records.dna_hash de hexadecimal a binario");
+
+        jdbc.execute("ALTER TABLE dna_records ADD COLUMN IF NOT EXISTS dna_hash_bin VARBINARY(32)");
+
+        long migrated = 0;
+        List<Object[]> rows;
+        while (!(rows = nextBatch()).isEmpty()) {
+            jdbc.batchUpdate("UPDATE dna_records SET dna_hash_bin = ? WHERE id = ?",
+                    rows.stream()
+                            .map(r -> new Object[]{HexFormat.of().parseHex((String) r[1]), r[0]})
+                            .toList());
+            migrated += rows.size();
+        }
+
+        // La única por perfil incluye la columna vieja: la vuelve a crear DnaRecordRulesMigration
+        jdbc.execute("ALTER TABLE dna_records DROP CONSTRAINT IF EXISTS uk_dna_records_dna_hash_rules");
+        jdbc.execute("ALTER TABLE dna_records DROP COLUMN dna_hash");
+        jdbc.execute("ALTER TABLE dna_records ALTER COLUMN dna_hash_bin RENAME TO dna_hash");
+        jdbc.execute("ALTER TABLE dna_records ALTER COLUMN dna_hash SET NOT NULL");
+        jdbc.execute("ALTER TABLE dna_records ADD CONSTRAINT uk_dna_records_dna_hash UNIQUE (dna_hash)");
+
+        log.info("dna_hash migrado a binario ({} registros)", migrated);
+    }
+
+    private boolean hashIsText() {
+        List<String> types = jdbc.queryForList("""
+                SELECT data_type FROM information_schema.columns
+                WHERE UPPER(table_name) = 'DNA_RECORDS' AND UPPER(column_name) = 'DNA_HASH'
+                """, String.class);
+        return !types.isEmpty() && types.get(0).toUpperCase(Locale.ROOT).contains("CHAR");
+    }
+
+    private List<Object[]> nextBatch() {
+        return jdbc.query("SELECT id, dna_hash FROM dna_records WHERE dna_hash_bin IS NULL LIMIT " + BATCH,
+                (rs, i) -> new Object[]{rs.getLong(1), rs.getString(2)});
+    }
+}
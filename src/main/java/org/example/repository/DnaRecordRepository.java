@@ -3,11 +3,12 @@ package org.example.repository;
 import org.example.entity.DnaRecord;
 import org.springframework.data.jpa.repository.JpaRepository;
 
-import java.util.Optional;
-
-public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long> {
-
-    Optional<DnaRecord> findByDnaHash(String dnaHash);
-
-    long countByIsMutant(boolean isMutant);
+/**
+ * Registros de ADN. Las búsquedas, los conteos y los inserts van por
+ * {@link DnaRecordRepositoryCustom}, que los dirige al shard de cada hash
+ * ({@code mutant.storage.shards}); los métodos de {@link JpaRepository} que no se
+ * redefinen ahí ({@code save}, {@code findAll}, {@code deleteAll}...) ven solo la tabla
+ * {@code dna_records}, así que con más de un shard la app no los usa.
+ */
+public interface DnaRecordRepository extends JpaRepository<DnaRecord, Long>, DnaRecordRepositoryCustom {
 }
@@ -0,0 +1,43 @@
+package org.example.repository;
+
+import org.example.entity.DnaRecord;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Operaciones de {@link DnaRecordRepository} repartidas entre los shards de
+ * {@link DnaShardRouter}: lo que es por hash va solo al shard de ese hash (la unicidad
+ * de {@code (dna_hash, rules_id)} es local a cada shard) y los agregados suman todos.
+ */
+public interface DnaRecordRepositoryCustom {
+
+    Optional<DnaRecord> findByDnaHashAndRulesId(byte[] dnaHash, String rulesId);
+
+    /** Una consulta por shard con los hashes que le tocan. */
+    List<DnaRecord> findByRulesIdAndDnaHashIn(String rulesId, Collection<byte[]> dnaHashes);
+
+    /** Conteo por veredicto con unas reglas (siembra de /stats), consultando los shards en paralelo. */
+    long countByRulesIdAndIsMutant(String rulesId, boolean isMutant);
+
+    /** Total de registros de todos los shards, consultados en paralelo. */
+    long count();
+
+    /**
+     * Inserta en batch los registros cuyo hash todavía no existe para su perfil de reglas,
+     * en una sola transacción. Los duplicados se ignoran en vez de violar el índice único.
+     * @return por cada registro, 1 si se insertó y 0 si el hash ya estaba guardado.
+     */
+    @Transactional
+    int[] insertAllIfAbsent(List<DnaRecord> records);
+
+    /**
+     * Recorre todos los hashes guardados sin cargar entidades (para reconstruir
+     * estructuras en memoria como {@code KnownDnaFilter}). Un ADN guardado con varios
+     * perfiles aparece una vez por perfil.
+     */
+    void forEachDnaHash(Consumer<byte[]> action);
+}
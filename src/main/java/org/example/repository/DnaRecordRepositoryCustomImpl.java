@@ -0,0 +1,145 @@
+package org.example.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.example.entity.DnaRecord;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@RequiredArgsConstructor
+public class DnaRecordRepositoryCustomImpl implements DnaRecordRepositoryCustom {
+
+    // Insert-or-ignore portable: no inserta si el hash ya existe para el perfil en su shard.
+    // El id sale de la misma secuencia que usa Hibernate (compartida por todos los shards),
+    // así no se pisan rangos.
+    private static final String INSERT_IF_ABSENT = """
+            INSERT INTO %1$s (id, dna_hash, rules_id, is_mutant, created_at)
+            SELECT NEXT VALUE FOR dna_records_seq, ?, ?, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM %1$s WHERE dna_hash = ? AND rules_id = ?)
+            """;
+
+    static final String COLUMNS = "id, dna_hash, rules_id, is_mutant, created_at";
+
+    static final RowMapper<DnaRecord> RECORD = (rs, i) -> {
+        DnaRecord rec = new DnaRecord();
+        rec.setId(rs.getLong(1));
+        rec.setDnaHash(rs.getBytes(2));
+        rec.setRulesId(rs.getString(3));
+        rec.setMutant(rs.getBoolean(4));
+        rec.setCreatedAt(rs.getTimestamp(5).toLocalDateTime());
+        return rec;
+    };
+
+    private final JdbcTemplate jdbc;
+    private final DnaShardRouter router;
+
+    @Override
+    public Optional<DnaRecord> findByDnaHashAndRulesId(byte[] dnaHash, String rulesId) {
+        List<DnaRecord> found = jdbc.query("SELECT " + COLUMNS + " FROM " + router.tableOf(dnaHash)
+                + " WHERE dna_hash = ? AND rules_id = ?", RECORD, dnaHash, rulesId);
+        return found.stream().findFirst();
+    }
+
+    @Override
+    public List<DnaRecord> findByRulesIdAndDnaHashIn(String rulesId, Collection<byte[]> dnaHashes) {
+        if (dnaHashes.isEmpty()) return List.of();
+
+        List<DnaRecord> found = new ArrayList<>(dnaHashes.size());
+        groupByTable(dnaHashes).forEach((table, hashes) -> {
+            Object[] args = new Object[hashes.size() + 1];
+            args[0] = rulesId;
+            for (int i = 0; i < hashes.size(); i++) {
+                args[i + 1] = hashes.get(i);
+            }
+            found.addAll(jdbc.query("SELECT " + COLUMNS + " FROM " + table + " WHERE rules_id = ? AND dna_hash IN ("
+                    + String.join(", ", Collections.nCopies(hashes.size(), "?")) + ")", RECORD, args));
+        });
+        return found;
+    }
+
+    @Override
+    public long countByRulesIdAndIsMutant(String rulesId, boolean isMutant) {
+        DnaShardLayout layout = router.layout();
+        return router.sum(shard -> jdbc.queryForObject("SELECT COUNT(*) FROM " + layout.table(shard)
+                + " WHERE rules_id = ? AND is_mutant = ?", Long.class, rulesId, isMutant));
+    }
+
+    @Override
+    public long count() {
+        DnaShardLayout layout = router.layout();
+        return router.sum(shard -> jdbc.queryForObject("SELECT COUNT(*) FROM " + layout.table(shard), Long.class));
+    }
+
+    @Override
+    public int[] insertAllIfAbsent(List<DnaRecord> records) {
+        if (router.layout().shards() == 1) {
+            return insertAllIfAbsent(DnaShardLayout.BASE_TABLE, records);
+        }
+
+        // Un batch por shard; los resultados vuelven a la posición original de cada registro
+        Map<String, List<Integer>> positions = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            positions.computeIfAbsent(router.tableOf(records.get(i).getDnaHash()), t -> new ArrayList<>()).add(i);
+        }
+
+        int[] inserted = new int[records.size()];
+        positions.forEach((table, idx) -> {
+            int[] rows = insertAllIfAbsent(table, idx.stream().map(records::get).toList());
+            for (int k = 0; k < rows.length; k++) {
+                inserted[idx.get(k)] = rows[k];
+            }
+        });
+        return inserted;
+    }
+
+    private int[] insertAllIfAbsent(String table, List<DnaRecord> records) {
+        return jdbc.batchUpdate(INSERT_IF_ABSENT.formatted(table), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                DnaRecord rec = records.get(i);
+                ps.setBytes(1, rec.getDnaHash());
+                ps.setString(2, rec.getRulesId());
+                ps.setBoolean(3, rec.isMutant());
+                ps.setTimestamp(4, Timestamp.valueOf(rec.getCreatedAt()));
+                ps.setBytes(5, rec.getDnaHash());
+                ps.setString(6, rec.getRulesId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return records.size();
+            }
+        });
+    }
+
+    @Override
+    public void forEachDnaHash(Consumer<byte[]> action) {
+        DnaShardLayout layout = router.layout();
+        // De a un shard: el consumidor no tiene por qué ser thread-safe
+        for (int shard = 0; shard < layout.shards(); shard++) {
+            jdbc.query("SELECT dna_hash FROM " + layout.table(shard),
+                    (RowCallbackHandler) rs -> action.accept(rs.getBytes(1)));
+        }
+    }
+
+    private Map<String, List<byte[]>> groupByTable(Collection<byte[]> hashes) {
+        Map<String, List<byte[]>> byTable = new LinkedHashMap<>();
+        for (byte[] hash : hashes) {
+            byTable.computeIfAbsent(router.tableOf(hash), t -> new ArrayList<>()).add(hash);
+        }
+        return byTable;
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.service.RuleProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Adapta {@code dna_records} a los perfiles de reglas en bases creadas antes de ellos:
+ * agrega {@code rules_id} (los registros existentes quedan como perfil clásico) y cambia
+ * la unicidad de {@code dna_hash} a {@code (dna_hash, rules_id)}, para que el mismo ADN
+ * pueda tener un veredicto por perfil.
+ *
+ * Con {@code ddl-auto=update} Hibernate agrega la columna y la restricción nueva, pero no
+ * borra la única vieja sobre {@code dna_hash}; esto la borra. Corre después de
+ * {@link DnaHashBinaryMigration}, que recrea esa restricción. En el perfil prod lo mismo
+ * lo hace schema-prod.sql. Las sentencias son de H2.
+ */
+@Component
+@DependsOn("dnaHashBinaryMigration")
+@Slf4j
+public class DnaRecordRulesMigration {
+
+    static final String UNIQUE_CONSTRAINT = "uk_dna_records_dna_hash_rules";
+
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+
+    public DnaRecordRulesMigration(JdbcTemplate jdbc,
+                                   @Value("${mutant.migration.rules-id:true}") boolean enabled) {
+        this.jdbc = jdbc;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (!enabled || !hasColumn("DNA_HASH")) return;
+
+        if (!hasColumn("RULES_ID")) {
+            log.info("Agregando dna_records.rules_id (registros existentes: perfil {})", RuleProfile.CLASSIC_ID);
+            jdbc.execute("ALTER TABLE dna_records ADD COLUMN rules_id VARCHAR(32) DEFAULT '"
+                    + RuleProfile.CLASSIC_ID + "' NOT NULL");
+        }
+
+        for (String name : hashOnlyUniqueConstraints()) {
+            log.info("dna_hash pasa a ser único por perfil: se borra la restricción {}", name);
+            jdbc.execute("ALTER TABLE dna_records DROP CONSTRAINT \"" + name + "\"");
+        }
+
+        jdbc.execute("ALTER TABLE dna_records ADD CONSTRAINT IF NOT EXISTS " + UNIQUE_CONSTRAINT
+                + " UNIQUE (dna_hash, rules_id)");
+    }
+
+    private boolean hasColumn(String column) {
+        Integer count = jdbc.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE UPPER(table_name) = 'DNA_RECORDS' AND UPPER(column_name) = ?
+                """, Integer.class, column);
+        return count != null && count > 0;
+    }
+
+    // Restricciones UNIQUE de dna_records cuya única columna es dna_hash
+    private List<String> hashOnlyUniqueConstraints() {
+        return jdbc.queryForList("""
+                SELECT tc.constraint_name
+                FROM information_schema.table_constraints tc
+                JOIN information_schema.key_column_usage k
+                  ON k.constraint_schema = tc.constraint_schema AND k.constraint_name = tc.constraint_name
+                WHERE UPPER(tc.table_name) = 'DNA_RECORDS' AND tc.constraint_type = 'UNIQUE'
+                GROUP BY tc.constraint_name
+                HAVING COUNT(*) = 1 AND MAX(UPPER(k.column_name)) = 'DNA_HASH'
+                """, String.class);
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.repository;
+
+/**
+ * Reparto de {@code dna_records} en N tablas (shards) según el prefijo del hash.
+ *
+ * El shard sale de los primeros 2 bytes del digest tomados como rango: el espacio de
+ * 65536 prefijos se corta en N tramos consecutivos, así que los digests (ya bien
+ * distribuidos) quedan parejos entre shards. Con un solo shard la tabla es
+ * {@code dna_records}, como antes del particionado; con más son
+ * {@code dna_records_0 .. dna_records_<N-1>}.
+ */
+public final class DnaShardLayout {
+
+    public static final String BASE_TABLE = "dna_records";
+
+    /** Más shards que esto no reparte mejor y multiplica las consultas de los conteos. */
+    public static final int MAX_SHARDS = 256;
+
+    private static final int PREFIX_SPACE = 1 << 16;
+
+    private final int shards;
+
+    public DnaShardLayout(int shards) {
+        if (shards < 1 || shards > MAX_SHARDS) {
+            throw new IllegalArgumentException("mutant.storage.shards debe estar entre 1 y " + MAX_SHARDS
+                    + " (es " + shards + ")");
+        }
+        this.shards = shards;
+    }
+
+    public int shards() {
+        return shards;
+    }
+
+    public int shardOf(byte[] hash) {
+        int prefix = (hash[0] & 0xFF) << 8 | (hash[1] & 0xFF);
+        return prefix * shards / PREFIX_SPACE;
+    }
+
+    public String table(int shard) {
+        return shards == 1 ? BASE_TABLE : BASE_TABLE + "_" + shard;
+    }
+
+    public String tableOf(byte[] hash) {
+        return table(shardOf(hash));
+    }
+
+    /** La tabla es de este reparto (un shard 2 de 4 sigue existiendo al pasar a 8, pero no a 2). */
+    public boolean owns(String table) {
+        for (int i = 0; i < shards; i++) {
+            if (table(i).equalsIgnoreCase(table)) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof DnaShardLayout other && other.shards == shards;
+    }
+
+    @Override
+    public int hashCode() {
+        return shards;
+    }
+
+    @Override
+    public String toString() {
+        return shards == 1 ? BASE_TABLE : shards + " shards de " + BASE_TABLE;
+    }
+}
@@ -0,0 +1,195 @@
+package org.example.repository;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaRecord;
+import org.example.service.RuleProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Crea las tablas de los shards y mueve los registros cuando cambia
+ * {@code mutant.storage.shards}.
+ *
+ * El reparto con que se guardaron los datos queda en {@code dna_shards} (sin fila = la
+ * tabla única {@code dna_records}, como antes del particionado). Si al arrancar no
+ * coincide con el configurado y hay registros, hace falta {@code mutant.storage.reshard=true}:
+ * recorre cada tabla del reparto anterior por lotes de id y pasa al shard nuevo las filas
+ * que ya no le tocan (insert-or-ignore y delete en la misma transacción por lote). Si se
+ * corta a mitad, alcanza con volver a arrancar igual: sigue con lo que quedó. Las tablas
+ * que dejan de usarse se borran, salvo {@code dna_records}, que es la de la entidad.
+ *
+ * Corre antes de que {@code DnaStatsCounters} y {@code KnownDnaFilter} lean la base. Las
+ * sentencias son de H2.
+ */
+@Component
+@DependsOn("dnaRecordRulesMigration")
+@Slf4j
+public class DnaShardRebalancer {
+
+    static final String LAYOUT_TABLE = "dna_shards";
+    private static final int LAYOUT_ID = 1;
+
+    // Conserva el id: sale de la secuencia compartida, así que es único entre shards
+    private static final String MOVE_IF_ABSENT = """
+            INSERT INTO %1$s (id, dna_hash, rules_id, is_mutant, created_at)
+            SELECT ?, ?, ?, ?, ?
+            WHERE NOT EXISTS (SELECT 1 FROM %1$s WHERE dna_hash = ? AND rules_id = ?)
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final DnaShardRouter router;
+    private final boolean reshard;
+    private final int batchSize;
+
+    public DnaShardRebalancer(JdbcTemplate jdbc,
+                              PlatformTransactionManager transactionManager,
+                              DnaShardRouter router,
+                              @Value("${mutant.storage.reshard:false}") boolean reshard,
+                              @Value("${mutant.storage.reshard-batch-size:5000}") int batchSize) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.router = router;
+        this.reshard = reshard;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void rebalance() {
+        DnaShardLayout target = router.layout();
+        jdbc.execute("CREATE TABLE IF NOT EXISTS " + LAYOUT_TABLE
+                + " (id INT NOT NULL PRIMARY KEY, shard_count INT NOT NULL, updated_at TIMESTAMP(6) NOT NULL)");
+        DnaShardLayout current = recordedLayout();
+
+        // Con un shard la tabla es la de la entidad y la crea Hibernate (o schema-prod.sql)
+        if (target.shards() > 1) createTables(target);
+        if (current.equals(target)) return;
+
+        if (hasRows(current)) {
+            if (!reshard) {
+                throw new IllegalStateException("Los registros están guardados en " + current
+                        + " y mutant.storage.shards=" + target.shards()
+                        + ": arrancar con mutant.storage.reshard=true para moverlos");
+            }
+            reshard(current, target);
+        }
+        recordLayout(target);
+        log.info("Registros de ADN en {}", target);
+    }
+
+    /**
+     * Mueve cada registro de las tablas de {@code from} a la que le toca en {@code to}.
+     * @return cantidad de registros movidos.
+     */
+    public long reshard(DnaShardLayout from, DnaShardLayout to) {
+        long start = System.nanoTime();
+        createTables(to);
+
+        long moved = 0;
+        for (int shard = 0; shard < from.shards(); shard++) {
+            String source = from.table(shard);
+            if (!tableExists(source)) continue;
+
+            moved += drain(source, to);
+            if (!to.owns(source) && !source.equals(DnaShardLayout.BASE_TABLE)) {
+                jdbc.execute("DROP TABLE " + source);
+            }
+        }
+
+        log.info("Reparto de dna_records: {} -> {}, {} registros movidos en {} ms",
+                from, to, moved, (System.nanoTime() - start) / 1_000_000);
+        return moved;
+    }
+
+    // Pasa a su shard de destino las filas de source que no pertenecen a ella
+    private long drain(String source, DnaShardLayout to) {
+        long moved = 0;
+        long lastId = Long.MIN_VALUE;
+        List<DnaRecord> chunk;
+        while (!(chunk = nextBatch(source, lastId)).isEmpty()) {
+            lastId = chunk.get(chunk.size() - 1).getId();
+
+            Map<String, List<DnaRecord>> misplaced = new LinkedHashMap<>();
+            for (DnaRecord rec : chunk) {
+                String target = to.tableOf(rec.getDnaHash());
+                if (!target.equals(source)) misplaced.computeIfAbsent(target, t -> new ArrayList<>()).add(rec);
+            }
+            if (misplaced.isEmpty()) continue;
+
+            moved += tx.execute(status -> {
+                int count = 0;
+                for (Map.Entry<String, List<DnaRecord>> e : misplaced.entrySet()) {
+                    // Si el destino ya tiene el (hash, perfil), gana el del destino
+                    jdbc.batchUpdate(MOVE_IF_ABSENT.formatted(e.getKey()), e.getValue().stream()
+                            .map(r -> new Object[]{r.getId(), r.getDnaHash(), r.getRulesId(), r.isMutant(),
+                                    r.getCreatedAt(), r.getDnaHash(), r.getRulesId()})
+                            .toList());
+                    jdbc.batchUpdate("DELETE FROM " + source + " WHERE id = ?",
+                            e.getValue().stream().map(r -> new Object[]{r.getId()}).toList());
+                    count += e.getValue().size();
+                }
+                return count;
+            });
+        }
+        return moved;
+    }
+
+    private List<DnaRecord> nextBatch(String table, long afterId) {
+        return jdbc.query("SELECT " + DnaRecordRepositoryCustomImpl.COLUMNS + " FROM " + table
+                        + " WHERE id > ? ORDER BY id LIMIT ?",
+                DnaRecordRepositoryCustomImpl.RECORD, afterId, batchSize);
+    }
+
+    /** Mismas columnas y restricciones que {@code dna_records}, con nombres propios del shard. */
+    private void createTables(DnaShardLayout layout) {
+        for (int shard = 0; shard < layout.shards(); shard++) {
+            String table = layout.table(shard);
+            jdbc.execute("CREATE TABLE IF NOT EXISTS " + table + " ("
+                    + "id BIGINT NOT NULL PRIMARY KEY, "
+                    + "dna_hash VARBINARY(32) NOT NULL, "
+                    + "rules_id VARCHAR(32) DEFAULT '" + RuleProfile.CLASSIC_ID + "' NOT NULL, "
+                    + "is_mutant BOOLEAN NOT NULL, "
+                    + "created_at TIMESTAMP(6) NOT NULL, "
+                    + "CONSTRAINT uk_" + table + "_dna_hash_rules UNIQUE (dna_hash, rules_id))");
+            jdbc.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_is_mutant ON " + table + " (is_mutant)");
+        }
+    }
+
+    private DnaShardLayout recordedLayout() {
+        List<Integer> shards = jdbc.queryForList(
+                "SELECT shard_count FROM " + LAYOUT_TABLE + " WHERE id = ?", Integer.class, LAYOUT_ID);
+        return new DnaShardLayout(shards.isEmpty() ? 1 : shards.get(0));
+    }
+
+    private void recordLayout(DnaShardLayout layout) {
+        jdbc.update("MERGE INTO " + LAYOUT_TABLE + " (id, shard_count, updated_at) KEY (id) "
+                + "VALUES (?, ?, CURRENT_TIMESTAMP)", LAYOUT_ID, layout.shards());
+    }
+
+    private boolean hasRows(DnaShardLayout layout) {
+        for (int shard = 0; shard < layout.shards(); shard++) {
+            String table = layout.table(shard);
+            if (tableExists(table) && !jdbc.queryForList("SELECT 1 FROM " + table + " LIMIT 1").isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean tableExists(String table) {
+        Integer count = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM information_schema.tables WHERE UPPER(table_name) = UPPER(?)",
+                Integer.class, table);
+        return count != null && count > 0;
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.repository;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Reparto configurado de {@code dna_records} ({@code mutant.storage.shards}, ver
+ * {@link DnaShardLayout}) y consultas que recorren todos los shards en paralelo.
+ *
+ * El fan-out es solo para agregados que tocan cada fila (conteos de {@code /stats} al
+ * arrancar, filtro de Bloom): las búsquedas por hash van a un único shard. Cada hilo usa
+ * su propia conexión, así que {@code mutant.storage.fan-out-threads} debería quedar por
+ * debajo del pool de Hikari.
+ */
+@Component
+public class DnaShardRouter {
+
+    private final DnaShardLayout layout;
+    // null con un solo shard: no hay nada que paralelizar
+    private final ExecutorService fanOut;
+
+    public DnaShardRouter(@Value("${mutant.storage.shards:1}") int shards,
+                          @Value("${mutant.storage.fan-out-threads:4}") int fanOutThreads) {
+        this.layout = new DnaShardLayout(shards);
+
+        int threads = Math.min(shards, Math.max(1, fanOutThreads));
+        if (threads > 1) {
+            AtomicInteger threadId = new AtomicInteger();
+            this.fanOut = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r, "dna-shard-" + threadId.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        } else {
+            this.fanOut = null;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (fanOut != null) fanOut.shutdown();
+    }
+
+    public DnaShardLayout layout() {
+        return layout;
+    }
+
+    public String tableOf(byte[] hash) {
+        return layout.tableOf(hash);
+    }
+
+    /**
+     * Corre {@code perShard} para cada shard (en paralelo si hay hilos de fan-out) y
+     * devuelve los resultados en orden de shard. Si un shard falla, se relanza su excepción.
+     */
+    public <T> List<T> fanOut(IntFunction<T> perShard) {
+        int n = layout.shards();
+        List<T> results = new ArrayList<>(n);
+        if (fanOut == null) {
+            for (int i = 0; i < n; i++) {
+                results.add(perShard.apply(i));
+            }
+            return results;
+        }
+
+        List<CompletableFuture<T>> futures = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            final int shard = i;
+            futures.add(CompletableFuture.supplyAsync(() -> perShard.apply(shard), fanOut));
+        }
+        try {
+            for (CompletableFuture<T> f : futures) {
+                results.add(f.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw e;
+        }
+        return results;
+    }
+
+    /** Suma de {@code perShard} en todos los shards, consultados en paralelo. */
+    public long sum(IntFunction<Long> perShard) {
+        long total = 0;
+        for (Long count : fanOut(perShard)) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.repository;
+
+import org.example.entity.DnaStatsSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface DnaStatsSnapshotRepository extends JpaRepository<DnaStatsSnapshot, Long> {
+}
@@ -0,0 +1,99 @@
+package org.example.repository;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.example.entity.DnaRecord;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Acceso no bloqueante a {@code dna_records} por R2DBC (perfil {@code reactive}).
+ *
+ * Usa las mismas tablas y las mismas consultas que el stack JPA (el esquema lo sigue creando
+ * Hibernate, y los shards {@link DnaShardRebalancer}): cada hash va a la tabla de su shard.
+ * El pool de conexiones es interno y no se publica como bean {@code ConnectionFactory}:
+ * si existiera, Spring Boot dejaría de configurar el {@code DataSource} JDBC que usan el
+ * resto de los componentes.
+ */
+@Component
+@Profile("reactive")
+public class ReactiveDnaRecordStore implements DisposableBean {
+
+    private static final String FIND_VERDICT =
+            "SELECT is_mutant FROM %1$s WHERE dna_hash = :hash AND rules_id = :rules";
+
+    private static final String INSERT_IF_ABSENT =
+            "INSERT INTO %1$s (id, dna_hash, rules_id, is_mutant, created_at) " +
+            "SELECT NEXT VALUE FOR dna_records_seq, :hash, :rules, :mutant, :createdAt " +
+            "WHERE NOT EXISTS (SELECT 1 FROM %1$s WHERE dna_hash = :hash AND rules_id = :rules)";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+    private final DnaShardLayout layout;
+
+    // Consultas por shard, armadas una sola vez
+    private final String[] findVerdict;
+    private final String[] insertIfAbsent;
+
+    public ReactiveDnaRecordStore(DnaShardRouter router,
+                                  @Value("${mutant.reactive.r2dbc-url:r2dbc:h2:mem:///testdb}") String url,
+                                  @Value("${spring.datasource.username:sa}") String username,
+                                  @Value("${spring.datasource.password:}") String password,
+                                  @Value("${mutant.reactive.pool-max-size:10}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options))
+                .maxSize(maxSize)
+                .build());
+        this.client = DatabaseClient.create(pool);
+
+        this.layout = router.layout();
+        this.findVerdict = new String[layout.shards()];
+        this.insertIfAbsent = new String[layout.shards()];
+        for (int shard = 0; shard < layout.shards(); shard++) {
+            findVerdict[shard] = FIND_VERDICT.formatted(layout.table(shard));
+            insertIfAbsent[shard] = INSERT_IF_ABSENT.formatted(layout.table(shard));
+        }
+    }
+
+    /** Veredicto guardado para el hash con ese perfil de reglas, o vacío si el ADN es nuevo. */
+    public Mono<Boolean> findVerdict(byte[] dnaHash, String rulesId) {
+        return client.sql(findVerdict[layout.shardOf(dnaHash)])
+                .bind("hash", dnaHash)
+                .bind("rules", rulesId)
+                .map(row -> row.get("is_mutant", Boolean.class))
+                .first();
+    }
+
+    /**
+     * Inserta el registro salvo que el hash ya exista para su perfil de reglas.
+     * Dos inserts simultáneos del mismo (hash, perfil) pueden pasar los dos el NOT EXISTS:
+     * el segundo termina con {@link org.springframework.dao.DuplicateKeyException}.
+     * @return {@code true} si se insertó la fila.
+     */
+    public Mono<Boolean> insertIfAbsent(DnaRecord rec) {
+        return client.sql(insertIfAbsent[layout.shardOf(rec.getDnaHash())])
+                .bind("hash", rec.getDnaHash())
+                .bind("rules", rec.getRulesId())
+                .bind("mutant", rec.isMutant())
+                .bind("createdAt", rec.getCreatedAt())
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.service;
+
+import org.example.exception.DatabaseBusyException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Limita cuántos hilos usan la base a la vez ({@code mutant.db.max-concurrency},
+ * igual al tamaño del pool de Hikari).
+ *
+ * Con hilos virtuales ({@code spring.threads.virtual.enabled=true}) ya no hay un pool de
+ * Tomcat que acote los requests: miles de hilos llegarían juntos a pedir conexión.
+ * Esperar en un {@link Semaphore} libera el hilo de plataforma que los ejecuta, y los que
+ * no consiguen lugar en {@code mutant.db.acquire-timeout} fallan rápido con 503 en vez de
+ * acumularse en la cola de Hikari.
+ */
+@Component
+public class DbConcurrencyGuard {
+
+    private final Semaphore permits;
+    private final long acquireTimeoutNanos;
+
+    public DbConcurrencyGuard(@Value("${mutant.db.max-concurrency:10}") int maxConcurrency,
+                              @Value("${mutant.db.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Ejecuta {@code work} (acceso a la base) ocupando un lugar.
+     * @throws DatabaseBusyException si no hay lugar dentro del tiempo de espera.
+     */
+    public <T> T call(Supplier<T> work) {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new DatabaseBusyException("Base de datos saturada, reintentar más tarde");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrumpido esperando la base de datos");
+        }
+
+        try {
+            return work.get();
+        } finally {
+            permits.release();
+        }
+    }
+
+    public void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /** Lugares libres en este momento. */
+    public int available() {
+        return permits.availablePermits();
+    }
+}
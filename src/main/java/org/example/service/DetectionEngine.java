@@ -0,0 +1,35 @@
+package org.example.service;
+
+/**
+ * Implementación usada por {@link MutantDetector} para buscar las secuencias.
+ * Se elige con la propiedad {@code mutant.detector.engine}.
+ */
+public enum DetectionEngine {
+
+    /** Recorrido clásico sobre la matriz plana de bytes, comparando base por base. */
+    SCALAR,
+
+    /** Matriz empaquetada a 2 bits por base con comparaciones a nivel de palabra. */
+    PACKED,
+
+    /**
+     * Igual que SCALAR pero armando la matriz de POST /mutant en un buffer reutilizable por
+     * hilo ({@link DetectionWorkspace}) al parsear el body: sin la matriz de M*K bytes por
+     * request en estado estable. Lote, stream y el perfil reactivo reservan la suya.
+     */
+    WORKSPACE,
+
+    /**
+     * Igual que SCALAR pero comparando segmentos de fila enteros con la Vector API
+     * ({@link VectorScanner}). Requiere {@code --add-modules jdk.incubator.vector} al
+     * arrancar la JVM; sin el módulo el detector usa SCALAR.
+     */
+    VECTOR,
+
+    /**
+     * Una pasada por fila, columna y diagonal llevando el largo de la corrida actual
+     * ({@link RunLengthScanner}): una comparación por celda y dirección. Es el único que
+     * soporta {@link SequenceCounting#NON_OVERLAPPING}. No usa el modo paralelo.
+     */
+    RUN_LENGTH
+}
@@ -0,0 +1,64 @@
+package org.example.service;
+
+/**
+ * Buffer de trabajo reutilizable del motor {@link DetectionEngine#WORKSPACE}: en vez de
+ * crear un {@code byte[M*K]} por request, cada hilo de plataforma copia el ADN en su
+ * propio arreglo, que crece a demanda y se reutiliza en los requests siguientes.
+ *
+ * Lo usan {@link DnaFingerprinter#parseInWorkspace} y {@link DnaFingerprinter#newSample}
+ * para la matriz de POST /mutant, que se detecta en el mismo hilo y no sobrevive al
+ * request (la caché y la base guardan el fingerprint, no la matriz).
+ *
+ * Matrices de más de {@link #MAX_RETAINED_BYTES} bases usan un arreglo de un solo uso,
+ * para no dejar megabytes retenidos por hilo. Los hilos virtuales también usan uno de
+ * un solo uso: son uno por request, así que un buffer por hilo no se reutilizaría nunca.
+ */
+final class DetectionWorkspace {
+
+    // N = 1024 → 1 MiB por hilo como máximo
+    static final int MAX_RETAINED_BYTES = 1 << 20;
+
+    private static final int INITIAL_BYTES = 256;
+
+    private static final ThreadLocal<DetectionWorkspace> LOCAL = ThreadLocal.withInitial(DetectionWorkspace::new);
+
+    private byte[] bases = new byte[INITIAL_BYTES];
+
+    static DetectionWorkspace current() {
+        return Thread.currentThread().isVirtual() ? new DetectionWorkspace() : LOCAL.get();
+    }
+
+    /**
+     * Valida (NxN, solo A,T,C,G) y copia el ADN al buffer, como {@link DnaMatrix#of}.
+     * El arreglo devuelto puede ser más largo que N*N: solo valen las primeras N*N
+     * posiciones, y el contenido se pisa en la próxima llamada del mismo hilo.
+     *
+     * @return el buffer con las bases fila por fila, o {@code null} si el ADN es inválido.
+     */
+    byte[] load(String[] dna) {
+        final int n = dna.length;
+        byte[] dst = buffer(n * n);
+
+        for (int r = 0; r < n; r++) {
+            if (!DnaMatrix.copyRow(dna[r], n, dst, r * n)) return null;
+        }
+        return dst;
+    }
+
+    /**
+     * Arreglo de al menos {@code size} bytes con contenido cualquiera. Mientras entre en
+     * {@link #MAX_RETAINED_BYTES} es siempre el mismo: la llamada siguiente del hilo lo pisa.
+     */
+    byte[] buffer(int size) {
+        if (size <= bases.length) return bases;
+        if (size > MAX_RETAINED_BYTES) return new byte[size];
+
+        bases = new byte[Math.min(MAX_RETAINED_BYTES, Math.max(size, bases.length * 2))];
+        return bases;
+    }
+
+    /** Tamaño del buffer retenido (para tests). */
+    int capacity() {
+        return bases.length;
+    }
+}
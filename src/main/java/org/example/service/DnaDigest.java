@@ -0,0 +1,66 @@
+package org.example.service;
+
+import java.util.Arrays;
+import java.util.HexFormat;
+
+/**
+ * Digest binario de un ADN, usable como clave en mapas y cachés
+ * (un {@code byte[]} solo no sirve porque compara por identidad).
+ *
+ * Incluye la clave de las reglas con que se evalúa ({@link RuleProfile#key()}): el mismo
+ * ADN con otras reglas es otra clave en la caché de veredictos y en el single-flight.
+ * {@link #bytes()} sigue siendo solo el hash del ADN (lo que va en {@code dna_records.dna_hash}).
+ */
+public final class DnaDigest {
+
+    private final byte[] bytes;
+    private final String rules;
+    private final int hash;
+
+    /** Digest evaluado con el perfil clásico. */
+    public DnaDigest(byte[] bytes) {
+        this(bytes, RuleProfile.CLASSIC_ID);
+    }
+
+    public DnaDigest(byte[] bytes, String rules) {
+        this.bytes = bytes;
+        this.rules = rules;
+        this.hash = 31 * Arrays.hashCode(bytes) + rules.hashCode();
+    }
+
+    /** Bytes del digest. No se copian: no modificar. */
+    public byte[] bytes() {
+        return bytes;
+    }
+
+    /** Clave de las reglas con que se evalúa este ADN ({@link RuleProfile#key()}). */
+    public String rules() {
+        return rules;
+    }
+
+    /** El mismo hash con otro perfil de reglas (comparte los bytes). */
+    public DnaDigest withRules(String rules) {
+        return this.rules.equals(rules) ? this : new DnaDigest(bytes, rules);
+    }
+
+    public String toHex() {
+        return HexFormat.of().formatHex(bytes);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DnaDigest other)) return false;
+        return hash == other.hash && rules.equals(other.rules) && Arrays.equals(bytes, other.bytes);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return RuleProfile.CLASSIC_ID.equals(rules) ? toHex() : toHex() + "@" + rules;
+    }
+}
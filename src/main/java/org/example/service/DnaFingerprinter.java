@@ -0,0 +1,110 @@
+package org.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Parseo de ADN con el fingerprint configurado ({@code mutant.fingerprint.algorithm}) y
+ * chequeo opcional de los aciertos de caché/base.
+ *
+ * Con {@code mutant.fingerprint.verify-on-hit=true} cada veredicto encontrado por
+ * fingerprint se vuelve a calcular sobre la matriz: si no coincide hubo una colisión,
+ * se registra y se responde el veredicto real. Sin el ADN original guardado no se puede
+ * comparar byte a byte, pero la respuesta nunca depende de un registro ajeno; se ahorra
+ * igual la consulta y el insert.
+ *
+ * Con {@code mutant.detector.engine=WORKSPACE}, {@link #parseInWorkspace} y
+ * {@link #newSample} arman la matriz en el buffer del hilo ({@link DetectionWorkspace})
+ * en vez de reservar M*K bytes por request.
+ */
+@Component
+@Slf4j
+public class DnaFingerprinter {
+
+    private final MutantDetector detector;
+    private final FingerprintAlgorithm algorithm;
+    private final boolean verifyOnHit;
+    private final boolean workspace;
+
+    public DnaFingerprinter() {
+        this(new MutantDetector(), FingerprintAlgorithm.SHA256, false);
+    }
+
+    @Autowired
+    public DnaFingerprinter(MutantDetector detector,
+                            @Value("${mutant.fingerprint.algorithm:SHA256}") FingerprintAlgorithm algorithm,
+                            @Value("${mutant.fingerprint.verify-on-hit:false}") boolean verifyOnHit) {
+        this.detector = detector;
+        this.algorithm = algorithm;
+        this.verifyOnHit = verifyOnHit;
+        this.workspace = detector.getEngine() == DetectionEngine.WORKSPACE;
+    }
+
+    public FingerprintAlgorithm getAlgorithm() {
+        return algorithm;
+    }
+
+    /** @see DnaSample#parse(String[], FingerprintAlgorithm) */
+    public DnaSample parse(String[] dna) {
+        return DnaSample.parse(dna, algorithm);
+    }
+
+    /**
+     * Igual que {@link #parse(String[])}, pero con el motor WORKSPACE la matriz queda en el
+     * buffer del hilo: vale hasta el próximo parse en workspace del mismo hilo. Solo para
+     * un ADN que se detecta en el hilo que lo parseó y no se guarda (lote y reactivo usan
+     * {@link #parse(String[])}).
+     */
+    public DnaSample parseInWorkspace(String[] dna) {
+        return DnaSample.parse(dna, algorithm, workspace ? DetectionWorkspace.current() : null);
+    }
+
+    /**
+     * Para armar el ADN fila por fila mientras se lee el body (ver {@link DnaSampleBuilder}).
+     * Con el motor WORKSPACE la matriz va al buffer del hilo, como en {@link #parseInWorkspace}.
+     */
+    public DnaSampleBuilder newSample() {
+        return new DnaSampleBuilder(algorithm, workspace ? DetectionWorkspace.current() : null);
+    }
+
+    /** Para leer el ADN fila por fila sin guardar la matriz (ver {@link DnaRowStream}). */
+    public DnaRowStream newRowStream(RuleDetector rules) {
+        return new DnaRowStream(algorithm, rules);
+    }
+
+    /**
+     * Veredicto a devolver para un ADN encontrado por fingerprint (perfil clásico).
+     * @param stored veredicto de la caché o de la base.
+     */
+    public boolean confirmHit(DnaSample sample, boolean stored) {
+        if (!verifyOnHit) return stored;
+        return confirm(sample.digest(), stored, detector.isMutantMatrix(sample.matrix()));
+    }
+
+    /** Igual que {@link #confirmHit(DnaSample, boolean)}, recalculando con las reglas del perfil. */
+    public boolean confirmHit(DnaSample sample, boolean stored, RuleDetector rules) {
+        if (!verifyOnHit) return stored;
+        return confirm(sample.digest(), stored, rules.isMutant(sample.matrix()));
+    }
+
+    /**
+     * Igual que {@link #confirmHit(DnaSample, boolean)} para un ADN sin matriz en memoria
+     * ({@link DnaRowStream}): {@code actual} es el veredicto ya calculado al leerlo.
+     */
+    public boolean confirmHit(DnaDigest digest, boolean stored, BooleanSupplier actual) {
+        if (!verifyOnHit) return stored;
+        return confirm(digest, stored, actual.getAsBoolean());
+    }
+
+    private boolean confirm(DnaDigest digest, boolean stored, boolean actual) {
+        if (actual != stored) {
+            log.warn("Colisión de fingerprint {} ({}): guardado={}, calculado={}",
+                    digest, algorithm, stored, actual);
+        }
+        return actual;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.service;
+
+import org.example.validation.DnaAlphabet;
+
+/**
+ * Matriz de ADN ya validada, guardada como un único {@code byte[]} de M*K bases
+ * (fila por fila, en ASCII). Ocupa la mitad que un {@code char[M][K]} y se recorre
+ * sin saltar entre arreglos de filas.
+ *
+ * Casi siempre es NxN; las rectangulares (M filas de largo K) las recorre
+ * {@link RowStreamScanner} en vez de los motores de {@link MutantDetector}.
+ */
+public final class DnaMatrix {
+
+    private final int n;
+    private final int columns;
+    private final byte[] bases;
+
+    DnaMatrix(int n, byte[] bases) {
+        this(n, n, bases);
+    }
+
+    DnaMatrix(int rows, int columns, byte[] bases) {
+        this.n = rows;
+        this.columns = columns;
+        this.bases = bases;
+    }
+
+    /**
+     * Valida (NxN, solo A,T,C,G) y copia el ADN en una sola pasada.
+     * @return la matriz, o {@code null} si el ADN es inválido.
+     */
+    public static DnaMatrix of(String[] dna) {
+        if (dna == null || dna.length == 0) return null;
+
+        final int n = dna.length;
+        byte[] bases = new byte[n * n];
+
+        for (int r = 0; r < n; r++) {
+            if (!copyRow(dna[r], n, bases, r * n)) return null;
+        }
+
+        return new DnaMatrix(n, bases);
+    }
+
+    /**
+     * Copia una fila en {@code dst} a partir de {@code offset}, validando largo y alfabeto.
+     * @return {@code false} si la fila es nula, no tiene largo N o trae otro carácter.
+     */
+    static boolean copyRow(String row, int n, byte[] dst, int offset) {
+        return row != null && row.length() == n && DnaAlphabet.copyRow(row, dst, offset) < 0;
+    }
+
+    /** Cantidad de filas (N en las cuadradas). */
+    public int size() {
+        return n;
+    }
+
+    /** Largo de cada fila (K). */
+    public int columns() {
+        return columns;
+    }
+
+    public boolean isSquare() {
+        return n == columns;
+    }
+
+    public byte at(int r, int c) {
+        return bases[r * columns + c];
+    }
+
+    /** Arreglo interno (M*K bytes fila por fila; puede sobrar lugar al final). No se copia: no modificar. */
+    byte[] bases() {
+        return bases;
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas del camino caliente de /mutant (expuestas en /actuator/prometheus).
+ *
+ * Todos los medidores se registran una sola vez al crear el bean y quedan en arreglos
+ * indexados por {@link Stage}: registrar una medición es leer {@link System#nanoTime()}
+ * y sumar a un histograma ya creado, sin buscar el medidor por nombre/tags, sin
+ * {@code Timer.Sample} ni lambdas, así la instrumentación no genera basura por request.
+ *
+ * Uso: {@code long t = System.nanoTime(); ...; metrics.stage(Stage.DETECTION, t);}
+ */
+@Component
+public class DnaMetrics {
+
+    /** Etapas de un request; el nombre es el valor del tag {@code stage}. */
+    public enum Stage {
+        /** Validación MxK/ATCG + hash + matriz, en una sola pasada ({@link DnaSample#parse}). */
+        PARSE("parse"),
+        CACHE("cache"),
+        LOOKUP("lookup"),
+        DETECTION("detection"),
+        PERSISTENCE("persistence");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /** De dónde salió el veredicto de un ADN. */
+    public enum Source {
+        CACHE("cache"),
+        DATABASE("database"),
+        DETECTION("detection");
+
+        private final String tag;
+
+        Source(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    // Tamaños de matriz (N) que separan los casos típicos de los grandes
+    private static final double[] MATRIX_SIZE_BUCKETS = {4, 6, 10, 16, 32, 64, 100, 256, 1000, 10000};
+
+    private final Timer[] stages;
+    private final Timer[] batchStages;
+    private final Counter[] sources;
+    private final Counter mutants;
+    private final Counter humans;
+    private final DistributionSummary matrixSize;
+
+    public DnaMetrics() {
+        this(new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public DnaMetrics(MeterRegistry registry) {
+        Stage[] all = Stage.values();
+        stages = new Timer[all.length];
+        batchStages = new Timer[all.length];
+        for (Stage s : all) {
+            stages[s.ordinal()] = stageTimer(registry, "dna.stage", s,
+                    "Duración de cada etapa de POST /mutant");
+            batchStages[s.ordinal()] = stageTimer(registry, "dna.batch.stage", s,
+                    "Duración de cada etapa aplicada a un lote (/mutant/batch, /mutant/stream y write-behind)");
+        }
+
+        Source[] allSources = Source.values();
+        sources = new Counter[allSources.length];
+        for (Source s : allSources) {
+            sources[s.ordinal()] = Counter.builder("dna.resolutions")
+                    .description("Veredictos resueltos según su origen (requests coalescidos cuentan una vez)")
+                    .tag("source", s.tag)
+                    .register(registry);
+        }
+
+        mutants = verdictCounter(registry, "mutant");
+        humans = verdictCounter(registry, "human");
+
+        matrixSize = DistributionSummary.builder("dna.matrix.size")
+                .description("Tamaño N de las matrices de ADN válidas recibidas")
+                .baseUnit("rows")
+                .serviceLevelObjectives(MATRIX_SIZE_BUCKETS)
+                .register(registry);
+    }
+
+    private static Timer stageTimer(MeterRegistry registry, String name, Stage stage, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("stage", stage.tag)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(500))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+    }
+
+    private static Counter verdictCounter(MeterRegistry registry, String result) {
+        return Counter.builder("dna.verdicts")
+                .description("Veredictos devueltos (incluye reenvíos)")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /** Registra la duración de una etapa de un ADN iniciada en {@code startNanos}. */
+    public void stage(Stage stage, long startNanos) {
+        stages[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Igual que {@link #stage} pero para la etapa de un lote entero. */
+    public void batchStage(Stage stage, long startNanos) {
+        batchStages[stage.ordinal()].record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void matrixSize(int n) {
+        matrixSize.record(n);
+    }
+
+    /** Cuenta un veredicto devuelto al cliente. */
+    public void verdict(boolean isMutant) {
+        (isMutant ? mutants : humans).increment();
+    }
+
+    /** Cuenta de dónde salió un veredicto: caché, base o detección. */
+    public void resolved(Source source) {
+        sources[source.ordinal()].increment();
+    }
+}
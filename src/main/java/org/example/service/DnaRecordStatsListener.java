@@ -0,0 +1,55 @@
+package org.example.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.example.entity.DnaRecord;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Listener JPA de {@link DnaRecord} que mantiene {@link DnaStatsCounters} cuando un registro
+ * se guarda o se borra por JPA ({@code save}, {@code delete}). Los veredictos de la API se
+ * insertan por JDBC/R2DBC y se cuentan en {@link DnaRecordWriter} y {@link ReactiveMutantService}.
+ *
+ * Hibernate lo crea a través de Spring, por eso puede recibir dependencias. Los
+ * contadores se obtienen de forma diferida para no crear un ciclo con el repositorio
+ * durante el arranque, y solo se actualizan cuando la transacción confirma: un lote
+ * que hace rollback no altera /stats.
+ */
+public class DnaRecordStatsListener {
+
+    private final ObjectProvider<DnaStatsCounters> counters;
+
+    public DnaRecordStatsListener(ObjectProvider<DnaStatsCounters> counters) {
+        this.counters = counters;
+    }
+
+    @PostPersist
+    void onInsert(DnaRecord rec) {
+        String rulesId = rec.getRulesId();
+        boolean isMutant = rec.isMutant();
+        afterCommit(() -> counters.getObject().recordInserted(rulesId, isMutant));
+    }
+
+    @PostRemove
+    void onDelete(DnaRecord rec) {
+        String rulesId = rec.getRulesId();
+        boolean isMutant = rec.isMutant();
+        afterCommit(() -> counters.getObject().recordDeleted(rulesId, isMutant));
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,344 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaRecord;
+import org.example.repository.DnaRecordRepository;
+import org.example.service.DnaMetrics.Stage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Persistencia write-behind de {@link DnaRecord}.
+ *
+ * Los registros nuevos se encolan en una cola acotada y un hilo en segundo plano los
+ * guarda en lotes ({@code insertAllIfAbsent}: una transacción, inserts JDBC en batch
+ * que ignoran los hashes ya guardados),
+ * así el request responde apenas tiene el veredicto. Si la cola está llena el caller
+ * espera hasta {@code enqueue-timeout} y, si sigue llena, guarda él mismo (backpressure
+ * sin perder registros). Al apagar la aplicación se vacía la cola antes de cerrar: como
+ * {@link SmartLifecycle} se detiene antes de que se destruya cualquier bean.
+ *
+ * Si un lote falla por otra cosa que un duplicado (conexión caída, timeout del pool) se
+ * reintenta hasta {@code max-attempts} veces con espera exponencial; después se prueba
+ * registro por registro. Lo que ni así se guarda se descarta: se cuenta en
+ * {@code dna.writer.dropped} y se saca de la caché de veredictos, para que un reenvío
+ * vuelva a detectarlo e intente guardarlo de nuevo.
+ *
+ * Con {@code mutant.writer.write-behind=false} se guarda de forma sincrónica. Los
+ * guardados sincrónicos desde un request (sin write-behind, con el writer detenido o con
+ * la cola llena) pasan por {@link DbConcurrencyGuard} como el resto de los accesos a la
+ * base: justo cuando la cola se llena es cuando más requests compiten por el pool.
+ */
+@Component
+@Profile("!reactive")
+@Slf4j
+public class DnaRecordWriter implements SmartLifecycle, MeterBinder {
+
+    // Tope de la espera entre reintentos de un lote
+    private static final long MAX_BACKOFF_MILLIS = 5_000;
+
+    private final DnaRecordRepository repo;
+    private final DnaStatsCounters counters;
+    private final VerdictCache cache;
+    private final DbConcurrencyGuard dbGuard;
+    private final DnaMetrics metrics;
+    private final boolean writeBehind;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final long enqueueTimeoutNanos;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final BlockingQueue<DnaRecord> queue;
+
+    // Registros encolados que todavía no se guardaron (incluye el lote en curso)
+    private final AtomicLong pending = new AtomicLong();
+    // Registros que no se pudieron guardar ni reintentando
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public DnaRecordWriter(DnaRecordRepository repo,
+                           DnaStatsCounters counters,
+                           VerdictCache cache,
+                           DbConcurrencyGuard dbGuard,
+                           DnaMetrics metrics,
+                           @Value("${mutant.writer.write-behind:true}") boolean writeBehind,
+                           @Value("${mutant.writer.queue-capacity:10000}") int queueCapacity,
+                           @Value("${mutant.writer.batch-size:500}") int batchSize,
+                           @Value("${mutant.writer.linger:PT0.05S}") Duration linger,
+                           @Value("${mutant.writer.enqueue-timeout:PT1S}") Duration enqueueTimeout,
+                           @Value("${mutant.writer.max-attempts:5}") int maxAttempts,
+                           @Value("${mutant.writer.retry-backoff:PT0.1S}") Duration retryBackoff) {
+        this.repo = repo;
+        this.counters = counters;
+        this.cache = cache;
+        this.dbGuard = dbGuard;
+        this.metrics = metrics;
+        this.writeBehind = writeBehind;
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.enqueueTimeoutNanos = enqueueTimeout.toNanos();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoff.toMillis();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @Override
+    public void start() {
+        if (!writeBehind || running) return;
+
+        running = true;
+        worker = new Thread(this::run, "dna-record-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /** Vacía la cola y detiene el hilo, así no se pierden registros encolados. */
+    @Override
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            try {
+                worker.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            worker = null;
+        }
+
+        // Lo que se haya encolado mientras el hilo terminaba
+        List<DnaRecord> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        if (!rest.isEmpty()) {
+            persistWithRetry(rest);
+            pending.addAndGet(-rest.size());
+        }
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Guarda el registro: lo encola en modo write-behind o lo persiste en el momento.
+     * @throws org.example.exception.DatabaseBusyException si hay que guardarlo en el momento
+     * y la base no tiene lugar; el veredicto se saca de la caché, así un reenvío lo vuelve a guardar.
+     */
+    public void write(DnaRecord rec) {
+        if (!writeBehind || !running) {
+            saveGuarded(rec);
+            return;
+        }
+
+        pending.incrementAndGet();
+        try {
+            if (queue.offer(rec, enqueueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                return;
+            }
+            log.warn("Cola de escritura llena ({} registros), guardando de forma sincrónica", queue.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        pending.decrementAndGet();
+        saveGuarded(rec);
+    }
+
+    private void saveGuarded(DnaRecord rec) {
+        try {
+            dbGuard.run(() -> saveNow(rec));
+        } catch (RuntimeException e) {
+            cache.invalidate(new DnaDigest(rec.getDnaHash(), rec.getRulesId()));
+            throw e;
+        }
+    }
+
+    /**
+     * Guarda un lote ya armado en un único insert batch, de forma sincrónica
+     * (lo usa POST /mutant/batch, que responde recién con todo persistido).
+     */
+    public void writeBatch(List<DnaRecord> records) {
+        if (!records.isEmpty()) {
+            persist(records);
+        }
+    }
+
+    /**
+     * Espera a que se guarden todos los registros encolados hasta el momento.
+     * @return {@code false} si se cumplió el timeout antes.
+     */
+    public boolean flush(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (this) {
+            while (pending.get() > 0) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) return false;
+                wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /** Registros encolados o en el lote en curso. */
+    public long pending() {
+        return pending.get();
+    }
+
+    /** Registros descartados porque no se pudieron guardar ni reintentando. */
+    public long dropped() {
+        return dropped.get();
+    }
+
+    /** Expone la cola de escritura en las métricas ({@code dna.writer.pending} y {@code dna.writer.dropped}). */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("dna.writer.pending", pending, AtomicLong::get)
+                .description("Registros encolados por el write-behind que todavía no se guardaron")
+                .register(registry);
+        FunctionCounter.builder("dna.writer.dropped", dropped, AtomicLong::get)
+                .description("Registros que el write-behind descartó después de agotar los reintentos")
+                .register(registry);
+    }
+
+    // === Hilo de escritura ===
+
+    private void run() {
+        List<DnaRecord> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                DnaRecord first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+
+                batch.add(first);
+                fillBatch(batch);
+                persistWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+                if (!batch.isEmpty()) persistWithRetry(batch);
+            } finally {
+                if (!batch.isEmpty()) {
+                    pending.addAndGet(-batch.size());
+                    batch.clear();
+                    synchronized (this) {
+                        notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    /** Completa el lote hasta {@code batchSize}, esperando como mucho {@code linger}. */
+    private void fillBatch(List<DnaRecord> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + lingerNanos;
+
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) continue;
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !running) return;
+
+            DnaRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) return;
+            batch.add(next);
+        }
+    }
+
+    /**
+     * Guarda el lote reintentando los errores que no son de duplicado. Si se agotan los
+     * intentos (o el hilo se interrumpe esperando) prueba registro por registro y descarta
+     * los que fallen.
+     */
+    private void persistWithRetry(List<DnaRecord> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                persist(batch);
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts || Thread.currentThread().isInterrupted()) {
+                    log.error("Error guardando lote de {} registros tras {} intentos, se guarda uno por uno",
+                            batch.size(), attempt, e);
+                    break;
+                }
+                long backoff = Math.min(MAX_BACKOFF_MILLIS, retryBackoffMillis << (attempt - 1));
+                log.warn("Error guardando lote de {} registros (intento {}/{}), reintentando en {} ms: {}",
+                        batch.size(), attempt, maxAttempts, backoff, e.toString());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+
+        for (DnaRecord rec : batch) {
+            try {
+                saveNow(rec);
+            } catch (RuntimeException e) {
+                drop(rec, e);
+            }
+        }
+    }
+
+    // Sin el veredicto en caché, el próximo envío del mismo ADN lo vuelve a detectar y guardar
+    private void drop(DnaRecord rec, RuntimeException cause) {
+        DnaDigest digest = new DnaDigest(rec.getDnaHash(), rec.getRulesId());
+        dropped.incrementAndGet();
+        cache.invalidate(digest);
+        log.error("No se pudo guardar el ADN {}, registro descartado", digest, cause);
+    }
+
+    private void persist(List<DnaRecord> batch) {
+        long start = System.nanoTime();
+        try {
+            countInserted(batch, repo.insertAllIfAbsent(batch));
+            metrics.batchStage(Stage.PERSISTENCE, start);
+        } catch (DuplicateKeyException e) {
+            // Otra instancia insertó el mismo hash entre el chequeo y el insert: uno por uno
+            log.warn("Lote con hash duplicado, reintentando {} registros individualmente", batch.size());
+            batch.forEach(this::saveNow);
+        }
+    }
+
+    private void saveNow(DnaRecord rec) {
+        List<DnaRecord> single = List.of(rec);
+        try {
+            countInserted(single, repo.insertAllIfAbsent(single));
+        } catch (DuplicateKeyException e) {
+            log.debug("ADN {} ya estaba guardado", new DnaDigest(rec.getDnaHash(), rec.getRulesId()));
+        }
+    }
+
+    /**
+     * Los inserts JDBC no pasan por el listener JPA, así que los contadores de /stats
+     * se actualizan acá, ya confirmada la transacción y solo por las filas insertadas.
+     */
+    private void countInserted(List<DnaRecord> batch, int[] rows) {
+        for (int i = 0; i < rows.length; i++) {
+            if (rows[i] > 0) {
+                counters.recordInserted(batch.get(i).getRulesId(), batch.get(i).isMutant());
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.service;
+
+import org.example.exception.InvalidDnaException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Filas de POST /mutant/rows leídas del body por bloques fijos en lugar de
+ * {@code BufferedReader.readLine()}, que junta la línea entera sin límite: un body sin
+ * saltos de línea llenaría el heap antes de llegar a validar nada. Acá una fila se corta
+ * apenas pasa de {@code maxColumns} caracteres, así la memoria por request es
+ * O(bloque + maxColumns).
+ *
+ * Acepta {@code \n}, {@code \r\n} y {@code \r} como fin de fila y saltea las líneas vacías.
+ */
+final class DnaRowReader {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Reader in;
+    private final int maxColumns;
+    private final char[] chunk = new char[CHUNK_SIZE];
+    private final StringBuilder row = new StringBuilder();
+    private int pos;
+    private int limit;
+    private int rows;
+
+    DnaRowReader(Reader in, int maxColumns) {
+        this.in = in;
+        this.maxColumns = maxColumns;
+    }
+
+    /**
+     * Próxima fila no vacía, o {@code null} al terminar el body.
+     * @throws InvalidDnaException si la fila tiene más de {@code maxColumns} caracteres.
+     */
+    String next() throws IOException {
+        row.setLength(0);
+        while (true) {
+            if (pos == limit) {
+                int read = in.read(chunk, 0, CHUNK_SIZE);
+                if (read < 0) return row.isEmpty() ? null : emit();
+                pos = 0;
+                limit = read;
+            }
+
+            int start = pos;
+            while (pos < limit && chunk[pos] != '\n' && chunk[pos] != '\r') pos++;
+            if (row.length() + (pos - start) > maxColumns) {
+                throw DnaSample.invalidRow(rows, "tiene más de " + maxColumns + " columnas");
+            }
+            row.append(chunk, start, pos - start);
+
+            if (pos < limit) {
+                pos++;
+                if (!row.isEmpty()) return emit();
+            }
+        }
+    }
+
+    private String emit() {
+        rows++;
+        return row.toString();
+    }
+}
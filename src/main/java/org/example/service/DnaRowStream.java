@@ -0,0 +1,95 @@
+package org.example.service;
+
+import org.example.exception.InvalidDnaException;
+import org.example.validation.DnaAlphabet;
+
+/**
+ * ADN recibido fila por fila sin armar la matriz (POST /mutant/rows): cada fila se valida,
+ * se suma al hash y pasa por {@link RowStreamScanner}, que solo recuerda la fila anterior.
+ * La memoria es O(K) aunque lleguen millones de filas, y la detección termina con la
+ * última fila del body, sin una pasada extra después.
+ *
+ * Acepta lo mismo que {@link DnaSample#parse} (MxK, M y K >= 4) con el mismo fingerprint,
+ * así el mismo ADN enviado a /mutant o a /mutant/rows es un solo registro.
+ */
+public final class DnaRowStream {
+
+    private final FingerprintHasher hasher;
+    private final RuleDetector rules;
+
+    private RowStreamScanner scanner;
+    private int columns = -1;
+    private int rows;
+    private DnaDigest digest;
+
+    DnaRowStream(FingerprintAlgorithm algorithm, RuleDetector rules) {
+        this.hasher = algorithm.newHasher();
+        this.rules = rules;
+    }
+
+    /**
+     * Agrega la próxima fila.
+     * @throws InvalidDnaException si el largo no es K (el de la primera fila) o trae otro carácter.
+     */
+    public void addRow(String row) {
+        if (digest != null) throw new IllegalStateException("El ADN ya se cerró con finish()");
+
+        if (scanner == null) {
+            if (row.length() < DnaSample.MIN_SIZE) {
+                throw DnaSample.invalidRow(0, "tiene largo " + row.length() + ", el mínimo es " + DnaSample.MIN_SIZE);
+            }
+            columns = row.length();
+            scanner = rules.rowScanner(columns);
+        }
+        if (row.length() != columns) throw DnaSample.invalidLength(rows, row.length(), columns);
+
+        byte[] dst = scanner.nextRow();
+        int column = DnaAlphabet.copyRow(row, dst, 0);
+        if (column >= 0) throw DnaSample.invalidBase(rows, column, row.charAt(column));
+
+        hasher.update(dst, 0, columns);
+        scanner.scan();
+        rows++;
+    }
+
+    /**
+     * Cierra el ADN y calcula su fingerprint (ya con el perfil de reglas, ver {@link DnaDigest#rules()}).
+     * @throws InvalidDnaException si llegaron menos de 4 filas.
+     */
+    public void finish() {
+        if (digest != null) return;
+        if (scanner == null) throw new InvalidDnaException(DnaSample.INVALID_MESSAGE);
+        if (rows < DnaSample.MIN_SIZE) {
+            throw new InvalidDnaException(DnaSample.INVALID_MESSAGE
+                    + " (" + rows + " filas de largo " + columns + ")");
+        }
+        digest = DnaSample.digest(hasher, rows, columns).withRules(rules.key());
+    }
+
+    /** El veredicto ya es mutante: las filas que falten solo se validan y se hashean. */
+    public boolean isDecided() {
+        return scanner != null && scanner.decided();
+    }
+
+    /** Veredicto con las filas recibidas hasta ahora (el definitivo, después de {@link #finish()}). */
+    public boolean isMutant() {
+        return scanner != null && scanner.count() >= rules.threshold();
+    }
+
+    /** Fingerprint del ADN; {@code null} hasta {@link #finish()}. */
+    public DnaDigest digest() {
+        return digest;
+    }
+
+    public RuleDetector rules() {
+        return rules;
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int columns() {
+        return columns;
+    }
+}
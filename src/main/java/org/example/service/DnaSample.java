@@ -0,0 +1,113 @@
+package org.example.service;
+
+import org.example.exception.InvalidDnaException;
+import org.example.validation.DnaAlphabet;
+
+/**
+ * ADN de un request ya procesado en una única pasada: validado (MxK con M, K >= 4,
+ * A/T/C/G), copiado a un {@link DnaMatrix} y con su fingerprint ({@link FingerprintAlgorithm})
+ * calculado. K sale del largo de la primera fila; casi siempre M = K.
+ *
+ * El hash se va actualizando fila por fila mientras la fila recién copiada sigue en
+ * caché. Con SHA-256 y una matriz NxN coincide con {@code MutantService.hashOf} (en
+ * binario) para que los registros ya guardados sigan encontrándose.
+ */
+public record DnaSample(DnaMatrix matrix, DnaDigest digest) {
+
+    public static final int MIN_SIZE = 4;
+    public static final String INVALID_MESSAGE = "ADN inválido: debe ser MxK (M, K >= 4) y contener solo A,T,C,G";
+
+    // M*K tiene que entrar en un byte[]
+    static final long MAX_BASES = Integer.MAX_VALUE - 8;
+
+    /**
+     * Valida, copia y hashea el ADN con SHA-256.
+     * @throws InvalidDnaException si el ADN no es MxK (M, K >= 4) o trae caracteres no permitidos.
+     */
+    public static DnaSample parse(String[] dna) {
+        return parse(dna, FingerprintAlgorithm.SHA256);
+    }
+
+    /**
+     * Valida, copia y hashea el ADN con el algoritmo indicado.
+     * @throws InvalidDnaException si el ADN no es MxK (M, K >= 4) o trae caracteres no permitidos.
+     */
+    public static DnaSample parse(String[] dna, FingerprintAlgorithm algorithm) {
+        return parse(dna, algorithm, null);
+    }
+
+    /**
+     * Igual que {@link #parse(String[], FingerprintAlgorithm)} copiando las bases al buffer
+     * de {@code workspace} ({@code null} = arreglo propio). Ver {@link DnaFingerprinter#parseInWorkspace}.
+     */
+    static DnaSample parse(String[] dna, FingerprintAlgorithm algorithm, DetectionWorkspace workspace) {
+        if (dna == null || dna.length < MIN_SIZE) {
+            throw new InvalidDnaException(INVALID_MESSAGE);
+        }
+        if (dna[0] == null) throw invalidRow(0, "es nula");
+
+        final int m = dna.length;
+        final int k = dna[0].length();
+        if (k < MIN_SIZE) throw invalidRow(0, "tiene largo " + k + ", el mínimo es " + MIN_SIZE);
+        if ((long) m * k > MAX_BASES) {
+            throw new InvalidDnaException(INVALID_MESSAGE + " (" + m + "x" + k + " es demasiado grande)");
+        }
+
+        byte[] bases = workspace != null ? workspace.buffer(m * k) : new byte[m * k];
+        FingerprintHasher hasher = algorithm.newHasher();
+
+        for (int r = 0; r < m; r++) {
+            String row = dna[r];
+            if (row == null) throw invalidRow(r, "es nula");
+            if (row.length() != k) throw invalidLength(r, row.length(), k);
+
+            int offset = r * k;
+            int column = DnaAlphabet.copyRow(row, bases, offset);
+            if (column >= 0) throw invalidBase(r, column, row.charAt(column));
+
+            hasher.update(bases, offset, k);
+        }
+
+        return new DnaSample(new DnaMatrix(m, k, bases), digest(hasher, m, k));
+    }
+
+    /**
+     * Cierra el hash de una matriz de {@code rows} x {@code columns}. Las NxN se hashean
+     * solo con sus bases (formato histórico); a las rectangulares se les agrega la forma
+     * detrás de un byte que no es una base, así una 4x16 no comparte fingerprint con una
+     * 16x4 ni con una 8x8 de los mismos bytes.
+     */
+    static DnaDigest digest(FingerprintHasher hasher, int rows, int columns) {
+        if (rows != columns) {
+            hasher.update(new byte[]{'x',
+                    (byte) (columns >>> 24), (byte) (columns >>> 16), (byte) (columns >>> 8), (byte) columns}, 0, 5);
+        }
+        return new DnaDigest(hasher.digest());
+    }
+
+    // === Errores con la posición del problema (índices desde 0) ===
+
+    static InvalidDnaException invalidRow(int row, String detail) {
+        return new InvalidDnaException(INVALID_MESSAGE + " (dna[" + row + "] " + detail + ")", row, null);
+    }
+
+    static InvalidDnaException invalidLength(int row, int length, int n) {
+        return invalidRow(row, "tiene largo " + length + ", se esperaba " + n);
+    }
+
+    static InvalidDnaException invalidBase(int row, int column, char ch) {
+        return new InvalidDnaException(
+                INVALID_MESSAGE + " (dna[" + row + "][" + column + "] = '" + ch + "')", row, column);
+    }
+
+    /** El mismo ADN evaluado con otro perfil de reglas (ver {@link DnaDigest#rules()}). */
+    public DnaSample withRules(String rules) {
+        DnaDigest scoped = digest.withRules(rules);
+        return scoped == digest ? this : new DnaSample(matrix, scoped);
+    }
+
+    /** Hash en hexadecimal (para logs; en {@code dna_records} se guarda {@code digest().bytes()}). */
+    public String hash() {
+        return digest.toHex();
+    }
+}
@@ -0,0 +1,94 @@
+package org.example.service;
+
+import org.example.exception.InvalidDnaException;
+import org.example.validation.DnaAlphabet;
+
+import java.util.Arrays;
+
+/**
+ * Arma un {@link DnaSample} fila por fila a medida que se leen del body, sin pasar por
+ * un {@code String[]}: cada fila se valida, se copia a la matriz y se suma al hash
+ * apenas llega, igual que en {@link DnaSample#parse}.
+ *
+ * K sale del largo de la primera fila y M de las filas recibidas. La matriz crece con
+ * las filas en vez de reservar K*K de entrada, así un body con una sola fila enorme no
+ * reserva K² bytes. Para no tener la matriz en memoria, ver {@link DnaRowStream}.
+ *
+ * Con un {@link DetectionWorkspace} la matriz se arma en el buffer del hilo en vez de
+ * un arreglo propio (ver {@link DnaFingerprinter#newSample}).
+ */
+public final class DnaSampleBuilder {
+
+    // Filas reservadas de entrada; después se duplica
+    private static final int INITIAL_ROWS = 64;
+
+    private final FingerprintHasher hasher;
+    // null: cada builder reserva su propia matriz
+    private final DetectionWorkspace workspace;
+    private byte[] bases;
+    private int n = -1;
+    private int rows;
+
+    DnaSampleBuilder(FingerprintAlgorithm algorithm) {
+        this(algorithm, null);
+    }
+
+    DnaSampleBuilder(FingerprintAlgorithm algorithm, DetectionWorkspace workspace) {
+        this.hasher = algorithm.newHasher();
+        this.workspace = workspace;
+    }
+
+    /**
+     * Agrega la fila {@code chars[offset, offset + length)}.
+     * @throws InvalidDnaException si el largo no es K, la matriz no entra en memoria o trae otro carácter.
+     */
+    public void addRow(char[] chars, int offset, int length) {
+        if (n < 0) {
+            if (length < DnaSample.MIN_SIZE) {
+                throw DnaSample.invalidRow(0, "tiene largo " + length + ", el mínimo es " + DnaSample.MIN_SIZE);
+            }
+            if ((long) length * DnaSample.MIN_SIZE > DnaSample.MAX_BASES) {
+                throw DnaSample.invalidRow(0, "es demasiado larga (" + length + ")");
+            }
+            n = length;
+            bases = allocate((int) Math.min((long) n * INITIAL_ROWS, DnaSample.MAX_BASES / n * n));
+        }
+        if (length != n) throw DnaSample.invalidLength(rows, length, n);
+
+        int dst = rows * n;
+        if (dst + n > bases.length) {
+            if ((long) dst + n > DnaSample.MAX_BASES) {
+                throw DnaSample.invalidRow(rows, "sobra: no entran más de " + rows + " filas de largo " + n);
+            }
+            bases = grow(dst, (int) Math.min((long) bases.length * 2, DnaSample.MAX_BASES / n * n));
+        }
+        int column = DnaAlphabet.copyRow(chars, offset, length, bases, dst);
+        if (column >= 0) throw DnaSample.invalidBase(rows, column, chars[offset + column]);
+
+        hasher.update(bases, dst, n);
+        rows++;
+    }
+
+    private byte[] allocate(int size) {
+        return workspace != null ? workspace.buffer(size) : new byte[size];
+    }
+
+    // Conserva las primeras {@code used} bases
+    private byte[] grow(int used, int size) {
+        if (workspace == null) return Arrays.copyOf(bases, size);
+
+        byte[] grown = workspace.buffer(size);
+        System.arraycopy(bases, 0, grown, 0, used);
+        return grown;
+    }
+
+    /** @throws InvalidDnaException si se recibieron menos de 4 filas. */
+    public DnaSample build() {
+        if (n < 0) throw new InvalidDnaException(DnaSample.INVALID_MESSAGE);
+        if (rows < DnaSample.MIN_SIZE) {
+            throw new InvalidDnaException(DnaSample.INVALID_MESSAGE
+                    + " (" + rows + " filas de largo " + n + ")");
+        }
+        return new DnaSample(new DnaMatrix(rows, n, bases), DnaSample.digest(hasher, rows, n));
+    }
+}
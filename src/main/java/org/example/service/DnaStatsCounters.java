@@ -0,0 +1,114 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.entity.DnaStatsSnapshot;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaStatsSnapshotRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores de mutantes/humanos mantenidos en memoria para que /stats sea O(1).
+ *
+ * Cuentan solo los veredictos del perfil de reglas por defecto (su {@link RuleProfile#key()}):
+ * un ADN evaluado además con {@code ?rules=} no se cuenta dos veces y el ratio no mezcla
+ * reglas distintas.
+ *
+ * Se siembran una vez al arrancar (con COUNT(*) sobre {@code dna_records}, un shard por
+ * hilo, o desde {@code dna_stats} si el último apagado fue ordenado). Después suman por cada
+ * fila que realmente se inserta: los inserts JDBC de {@link DnaRecordWriter} (POST /mutant,
+ * /mutant/rows, /mutant/batch y /mutant/stream) y los R2DBC de {@link ReactiveMutantService}.
+ * {@link DnaRecordStatsListener} cubre lo que pasa por JPA ({@code save}, {@code delete}),
+ * que la aplicación no usa para guardar veredictos.
+ * Los {@link LongAdder} evitan que los requests concurrentes compitan por un mismo contador.
+ */
+@Component
+@DependsOn("dnaShardRebalancer")
+@Slf4j
+public class DnaStatsCounters {
+
+    private final DnaRecordRepository repo;
+    private final DnaStatsSnapshotRepository snapshots;
+    private final String rulesId;
+    private final boolean persistAggregate;
+
+    private final LongAdder mutants = new LongAdder();
+    private final LongAdder humans = new LongAdder();
+
+    public DnaStatsCounters(DnaRecordRepository repo,
+                            DnaStatsSnapshotRepository snapshots,
+                            RuleProfileRegistry ruleProfiles,
+                            @Value("${mutant.stats.persist-aggregate:false}") boolean persistAggregate) {
+        this.repo = repo;
+        this.snapshots = snapshots;
+        this.rulesId = ruleProfiles.defaultDetector().key();
+        this.persistAggregate = persistAggregate;
+    }
+
+    @PostConstruct
+    void seed() {
+        if (persistAggregate) {
+            Optional<DnaStatsSnapshot> snapshot = snapshots.findById(DnaStatsSnapshot.SINGLETON_ID);
+            // Un snapshot de otro perfil por defecto (o de antes de guardarlo) no sirve
+            if (snapshot.isPresent() && snapshot.get().isClean() && rulesId.equals(snapshot.get().getRulesId())) {
+                DnaStatsSnapshot s = snapshot.get();
+                mutants.add(s.getMutantCount());
+                humans.add(s.getHumanCount());
+
+                // Si la app se cae antes del próximo apagado ordenado, se vuelve a contar
+                s.setClean(false);
+                snapshots.save(s);
+
+                log.info("Contadores sembrados desde dna_stats: Mutantes={}, Humanos={}", mutants(), humans());
+                return;
+            }
+        }
+
+        mutants.add(repo.countByRulesIdAndIsMutant(rulesId, true));
+        humans.add(repo.countByRulesIdAndIsMutant(rulesId, false));
+        log.info("Contadores sembrados desde dna_records ({}): Mutantes={}, Humanos={}", rulesId, mutants(), humans());
+    }
+
+    /**
+     * Guarda los contadores en {@code dna_stats}. Corre después de que el write-behind
+     * vació su cola (se detiene antes, como {@code SmartLifecycle}).
+     */
+    @PreDestroy
+    void persist() {
+        if (!persistAggregate) return;
+
+        DnaStatsSnapshot s = new DnaStatsSnapshot();
+        s.setId(DnaStatsSnapshot.SINGLETON_ID);
+        s.setRulesId(rulesId);
+        s.setMutantCount(mutants());
+        s.setHumanCount(humans());
+        s.setClean(true);
+        s.setUpdatedAt(LocalDateTime.now());
+        snapshots.save(s);
+    }
+
+    /** Registro guardado con las reglas {@code rulesId}; los de otros perfiles no cuentan. */
+    public void recordInserted(String rulesId, boolean isMutant) {
+        if (this.rulesId.equals(rulesId)) (isMutant ? mutants : humans).increment();
+    }
+
+    public void recordDeleted(String rulesId, boolean isMutant) {
+        if (this.rulesId.equals(rulesId)) (isMutant ? mutants : humans).decrement();
+    }
+
+
+    public long mutants() {
+        return mutants.sum();
+    }
+
+    public long humans() {
+        return humans.sum();
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Función usada como clave de deduplicación de ADN ({@code mutant.fingerprint.algorithm}).
+ *
+ * <ul>
+ *   <li>{@code SHA256}: criptográfico, 32 bytes. Es el formato histórico de {@code dna_records}.</li>
+ *   <li>{@code MURMUR3_128}: no criptográfico, 16 bytes y varias veces más rápido para N grande.
+ *       Una colisión es improbable por azar pero fabricable a propósito: ver
+ *       {@code mutant.fingerprint.verify-on-hit}.</li>
+ * </ul>
+ *
+ * Los dos generan claves distintas para el mismo ADN, así que el algoritmo se elige por
+ * base de datos: al cambiarlo, los registros viejos no se vuelven a encontrar.
+ */
+public enum FingerprintAlgorithm {
+
+    SHA256 {
+        @Override
+        FingerprintHasher newHasher() {
+            // Un MessageDigest por hilo en vez de getInstance() por request
+            MessageDigest md = SHA256_DIGEST.get();
+            md.reset();
+            return new FingerprintHasher() {
+                @Override
+                public void update(byte[] bytes, int offset, int length) {
+                    md.update(bytes, offset, length);
+                }
+
+                @Override
+                public byte[] digest() {
+                    return md.digest();
+                }
+            };
+        }
+    },
+
+    MURMUR3_128 {
+        @Override
+        FingerprintHasher newHasher() {
+            return new Murmur3Hasher();
+        }
+    };
+
+    private static final ThreadLocal<MessageDigest> SHA256_DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    });
+
+    abstract FingerprintHasher newHasher();
+}
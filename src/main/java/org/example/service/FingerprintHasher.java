@@ -0,0 +1,13 @@
+package org.example.service;
+
+/**
+ * Cálculo incremental del fingerprint de un ADN: se alimenta fila por fila mientras
+ * {@link DnaSample#parse} copia la matriz.
+ */
+interface FingerprintHasher {
+
+    void update(byte[] bytes, int offset, int length);
+
+    /** Digest final. El hasher no se vuelve a usar. */
+    byte[] digest();
+}
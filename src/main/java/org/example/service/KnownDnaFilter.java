@@ -0,0 +1,180 @@
+package org.example.service;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.BloomFilterStats;
+import org.example.repository.DnaRecordRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de los hashes guardados en {@code dna_records} (todos los shards).
+ *
+ * Si dice que un digest no está, el ADN es nuevo seguro y {@link MutantService} pasa
+ * directo a detectar e insertar sin el SELECT por hash. Si dice que puede estar
+ * (aciertos reales o falsos positivos, {@code mutant.bloom.fpp}) se consulta la base
+ * como siempre. Se arma al arrancar leyendo los hashes existentes y se actualiza con cada
+ * ADN nuevo. Lo que inserten otras instancias no se ve hasta el próximo rebuild, pero
+ * eso solo cuesta una detección de más: el insert-or-ignore evita el duplicado.
+ *
+ * Los digests (SHA-256 o Murmur3) ya están bien distribuidos, así que las k posiciones
+ * salen de sus primeros 16 bytes con doble hashing, sin volver a hashear.
+ */
+@Component
+@DependsOn("dnaShardRebalancer")
+@Slf4j
+public class KnownDnaFilter {
+
+    private final DnaRecordRepository repo;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double fpp;
+
+    private volatile Bits current;
+    // Filtro en construcción durante un rebuild: recibe también los ADN nuevos
+    private volatile Bits rebuilding;
+
+    public KnownDnaFilter(DnaRecordRepository repo,
+                          @Value("${mutant.bloom.enabled:true}") boolean enabled,
+                          @Value("${mutant.bloom.expected-insertions:1000000}") long expectedInsertions,
+                          @Value("${mutant.bloom.fpp:0.01}") double fpp) {
+        this.repo = repo;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.fpp = fpp;
+    }
+
+    @PostConstruct
+    void init() {
+        if (enabled) rebuild();
+    }
+
+    /**
+     * @return {@code false} solo si el ADN seguro no está guardado (con el filtro
+     * deshabilitado siempre {@code true}).
+     */
+    public boolean mightContain(DnaDigest digest) {
+        Bits bits = current;
+        return bits == null || bits.mightContain(digest.bytes());
+    }
+
+    public void add(DnaDigest digest) {
+        add(digest.bytes());
+    }
+
+    public void add(byte[] hash) {
+        Bits bits = current;
+        if (bits != null) bits.put(hash);
+
+        Bits next = rebuilding;
+        if (next != null) next.put(hash);
+    }
+
+    /**
+     * Reconstruye el filtro desde la base, dimensionado para el doble de los registros
+     * actuales (o {@code expected-insertions} si es mayor). El filtro anterior sigue
+     * respondiendo hasta que el nuevo está completo.
+     */
+    public synchronized BloomFilterStats rebuild() {
+        if (!enabled) return stats();
+
+        long start = System.nanoTime();
+        Bits next = new Bits(Math.max(expectedInsertions, repo.count() * 2), fpp);
+        rebuilding = next;
+        try {
+            repo.forEachDnaHash(next::put);
+            current = next;
+        } finally {
+            rebuilding = null;
+        }
+
+        BloomFilterStats stats = stats();
+        log.info("Filtro de ADN conocidos reconstruido en {} ms: {} elementos, {} KiB, fpp estimada {}",
+                (System.nanoTime() - start) / 1_000_000, stats.getApproximateElements(),
+                stats.getMemoryBytes() / 1024, stats.getEstimatedFpp());
+        return stats;
+    }
+
+    public BloomFilterStats stats() {
+        Bits bits = current;
+        if (bits == null) {
+            return BloomFilterStats.builder().enabled(false).configuredFpp(fpp).build();
+        }
+
+        return BloomFilterStats.builder()
+                .enabled(true)
+                .bits(bits.size)
+                .hashFunctions(bits.hashes)
+                .capacity(bits.capacity)
+                .configuredFpp(fpp)
+                .approximateElements(bits.elements.sum())
+                .estimatedFpp(bits.estimatedFpp())
+                .memoryBytes(bits.words.length() * (long) Long.BYTES)
+                .build();
+    }
+
+    /** Arreglo de bits con acceso concurrente sin locks. */
+    static final class Bits {
+
+        final long size;
+        final int hashes;
+        final long capacity;
+        final AtomicLongArray words;
+        // Inserciones que prendieron al menos un bit (aproxima los elementos distintos)
+        final LongAdder elements = new LongAdder();
+
+        Bits(long capacity, double fpp) {
+            this.capacity = Math.max(1, capacity);
+            long m = (long) Math.ceil(-this.capacity * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+            this.size = Math.max(64, (m + 63) / 64 * 64);
+            this.hashes = Math.max(1, (int) Math.round((double) size / this.capacity * Math.log(2)));
+            this.words = new AtomicLongArray(Math.toIntExact(size / 64));
+        }
+
+        void put(byte[] hash) {
+            long h1 = getLong(hash, 0);
+            long h2 = getLong(hash, 8);
+            boolean changed = false;
+
+            for (int i = 0; i < hashes; i++) {
+                long bit = index(h1, h2, i);
+                long mask = 1L << bit;
+                long previous = words.getAndAccumulate((int) (bit >>> 6), mask, (w, m) -> w | m);
+                changed |= (previous & mask) == 0;
+            }
+            if (changed) elements.increment();
+        }
+
+        boolean mightContain(byte[] hash) {
+            long h1 = getLong(hash, 0);
+            long h2 = getLong(hash, 8);
+
+            for (int i = 0; i < hashes; i++) {
+                long bit = index(h1, h2, i);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        /** Probabilidad de falso positivo con los elementos cargados hasta ahora. */
+        double estimatedFpp() {
+            return Math.pow(1 - Math.exp(-hashes * (double) elements.sum() / size), hashes);
+        }
+
+        private long index(long h1, long h2, int i) {
+            return ((h1 + i * h2) & Long.MAX_VALUE) % size;
+        }
+
+        private static long getLong(byte[] b, int offset) {
+            long v = 0;
+            for (int i = offset + 7; i >= offset; i--) {
+                v = (v << 8) | (b[i] & 0xffL);
+            }
+            return v;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.service;
+
+/**
+ * MurmurHash3 x64 128 bits (seed 0) incremental: acepta los bytes en trozos de cualquier
+ * largo (una fila por vez) y da el mismo resultado que sobre el arreglo concatenado.
+ * Salida en little-endian, h1 y luego h2 (igual que Guava {@code murmur3_128}).
+ */
+final class Murmur3Hasher implements FingerprintHasher {
+
+    private static final long C1 = 0x87c37b91114253d5L;
+    private static final long C2 = 0x4cf5ad432745937fL;
+
+    private long h1;
+    private long h2;
+    private long length;
+
+    // Bytes que no completaron un bloque de 16 en el último update
+    private final byte[] tail = new byte[16];
+    private int tailLength;
+
+    @Override
+    public void update(byte[] bytes, int offset, int len) {
+        length += len;
+        int end = offset + len;
+
+        // Completar el bloque pendiente
+        if (tailLength > 0) {
+            int take = Math.min(16 - tailLength, len);
+            System.arraycopy(bytes, offset, tail, tailLength, take);
+            tailLength += take;
+            offset += take;
+            if (tailLength < 16) return;
+            block(getLong(tail, 0), getLong(tail, 8));
+            tailLength = 0;
+        }
+
+        // Bloques completos directo desde la entrada
+        while (end - offset >= 16) {
+            block(getLong(bytes, offset), getLong(bytes, offset + 8));
+            offset += 16;
+        }
+
+        tailLength = end - offset;
+        System.arraycopy(bytes, offset, tail, 0, tailLength);
+    }
+
+    @Override
+    public byte[] digest() {
+        long k1 = 0;
+        long k2 = 0;
+        for (int i = tailLength - 1; i >= 8; i--) {
+            k2 = (k2 << 8) | (tail[i] & 0xffL);
+        }
+        for (int i = Math.min(tailLength, 8) - 1; i >= 0; i--) {
+            k1 = (k1 << 8) | (tail[i] & 0xffL);
+        }
+        if (tailLength > 8) {
+            h2 ^= mixK2(k2);
+        }
+        if (tailLength > 0) {
+            h1 ^= mixK1(k1);
+        }
+
+        h1 ^= length;
+        h2 ^= length;
+        h1 += h2;
+        h2 += h1;
+        h1 = fmix(h1);
+        h2 = fmix(h2);
+        h1 += h2;
+        h2 += h1;
+
+        byte[] out = new byte[16];
+        putLong(out, 0, h1);
+        putLong(out, 8, h2);
+        return out;
+    }
+
+    private void block(long k1, long k2) {
+        h1 ^= mixK1(k1);
+        h1 = Long.rotateLeft(h1, 27);
+        h1 += h2;
+        h1 = h1 * 5 + 0x52dce729;
+
+        h2 ^= mixK2(k2);
+        h2 = Long.rotateLeft(h2, 31);
+        h2 += h1;
+        h2 = h2 * 5 + 0x38495ab5;
+    }
+
+    private static long mixK1(long k1) {
+        k1 *= C1;
+        k1 = Long.rotateLeft(k1, 31);
+        return k1 * C2;
+    }
+
+    private static long mixK2(long k2) {
+        k2 *= C2;
+        k2 = Long.rotateLeft(k2, 33);
+        return k2 * C1;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xff51afd7ed558ccdL;
+        k ^= k >>> 33;
+        k *= 0xc4ceb9fe1a85ec53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    private static long getLong(byte[] b, int i) {
+        return (b[i] & 0xffL)
+                | (b[i + 1] & 0xffL) << 8
+                | (b[i + 2] & 0xffL) << 16
+                | (b[i + 3] & 0xffL) << 24
+                | (b[i + 4] & 0xffL) << 32
+                | (b[i + 5] & 0xffL) << 40
+                | (b[i + 6] & 0xffL) << 48
+                | (b[i + 7] & 0xffL) << 56;
+    }
+
+    private static void putLong(byte[] b, int i, long v) {
+        for (int j = 0; j < 8; j++) {
+            b[i + j] = (byte) (v >>> (8 * j));
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package org.example.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.DnaBatchResponse;
+import org.example.entity.DnaRecord;
+import org.example.exception.InvalidDnaException;
+import org.example.repository.DnaRecordRepository;
+import org.example.service.DnaMetrics.Source;
+import org.example.service.DnaMetrics.Stage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+/**
+ * Procesa lotes de ADN (POST /mutant/batch).
+ *
+ * Flujo: parseo + hash en paralelo, deduplicación por digest dentro del lote, caché,
+ * una sola consulta a la base por los hashes que faltan, detección en paralelo de los
+ * nuevos y un único insert en batch. El trabajo de CPU corre en un pool acotado
+ * ({@code mutant.batch.parallelism} hilos) compartido por todos los lotes.
+ */
+@Service
+@Profile("!reactive")
+@Slf4j
+public class MutantBatchService {
+
+    // Máximo de hashes por cláusula IN
+    private static final int LOOKUP_CHUNK = 1000;
+
+    private final RuleProfileRegistry ruleProfiles;
+    private final DnaRecordRepository repo;
+    private final VerdictCache cache;
+    private final DnaRecordWriter writer;
+    private final DbConcurrencyGuard dbGuard;
+    private final DnaFingerprinter fingerprinter;
+    private final KnownDnaFilter knownDna;
+    private final DnaMetrics metrics;
+    private final int maxItems;
+    private final int parallelism;
+    private final ExecutorService pool;
+
+    public MutantBatchService(RuleProfileRegistry ruleProfiles,
+                              DnaRecordRepository repo,
+                              VerdictCache cache,
+                              DnaRecordWriter writer,
+                              DbConcurrencyGuard dbGuard,
+                              DnaFingerprinter fingerprinter,
+                              KnownDnaFilter knownDna,
+                              DnaMetrics metrics,
+                              @Value("${mutant.batch.max-items:10000}") int maxItems,
+                              @Value("${mutant.batch.parallelism:0}") int parallelism) {
+        this.ruleProfiles = ruleProfiles;
+        this.repo = repo;
+        this.cache = cache;
+        this.writer = writer;
+        this.dbGuard = dbGuard;
+        this.fingerprinter = fingerprinter;
+        this.knownDna = knownDna;
+        this.metrics = metrics;
+        this.maxItems = maxItems;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+
+        AtomicInteger threadId = new AtomicInteger();
+        this.pool = Executors.newFixedThreadPool(this.parallelism, r -> {
+            Thread t = new Thread(r, "dna-batch-" + threadId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    /** Cantidad máxima de ADN por lote ({@code mutant.batch.max-items}). */
+    public int maxItems() {
+        return maxItems;
+    }
+
+    /** Procesa el lote con el perfil de reglas por defecto. */
+    public DnaBatchResponse process(List<String[]> items) {
+        return process(items, ruleProfiles.defaultDetector());
+    }
+
+    /** Procesa el lote con un perfil de reglas elegido por el request. */
+    public DnaBatchResponse process(List<String[]> items, RuleDetector rules) {
+        if (items.size() > maxItems) {
+            throw new InvalidDnaException("El lote supera el máximo de " + maxItems + " ADN");
+        }
+
+        final int n = items.size();
+        DnaSample[] samples = new DnaSample[n];
+        String[] errors = new String[n];
+
+        // 1) Validación + hash + matriz, en paralelo
+        long start = System.nanoTime();
+        parallelFor(n, i -> {
+            try {
+                samples[i] = fingerprinter.parse(items.get(i)).withRules(rules.key());
+            } catch (InvalidDnaException e) {
+                errors[i] = e.getMessage();
+            }
+        });
+        metrics.batchStage(Stage.PARSE, start);
+
+        // 2) Deduplicación dentro del lote y caché
+        start = System.nanoTime();
+        Map<DnaDigest, DnaSample> unique = new LinkedHashMap<>();
+        Map<DnaDigest, Boolean> verdicts = new HashMap<>();
+        for (DnaSample s : samples) {
+            if (s == null) continue;
+            metrics.matrixSize(s.matrix().size());
+            if (verdicts.containsKey(s.digest())) continue;
+
+            Boolean cached = cache.get(s.digest());
+            if (cached != null) {
+                verdicts.put(s.digest(), cached);
+                metrics.resolved(Source.CACHE);
+            } else {
+                unique.putIfAbsent(s.digest(), s);
+            }
+        }
+        metrics.batchStage(Stage.CACHE, start);
+
+        // 3) Una consulta a la base por los que no estaban en caché
+        start = System.nanoTime();
+        lookup(unique, verdicts, rules.key());
+        metrics.batchStage(Stage.LOOKUP, start);
+
+        // 4) Detección en paralelo de los ADN nuevos
+        start = System.nanoTime();
+        List<DnaSample> fresh = new ArrayList<>(unique.values());
+        boolean[] detected = new boolean[fresh.size()];
+        parallelFor(fresh.size(), i -> detected[i] = rules.isMutant(fresh.get(i).matrix()));
+        metrics.batchStage(Stage.DETECTION, start);
+
+        // 5) Un único insert en batch y write-through a la caché
+        LocalDateTime now = LocalDateTime.now();
+        List<DnaRecord> records = new ArrayList<>(fresh.size());
+        for (int i = 0; i < fresh.size(); i++) {
+            DnaSample s = fresh.get(i);
+            verdicts.put(s.digest(), detected[i]);
+            metrics.resolved(Source.DETECTION);
+
+            DnaRecord rec = new DnaRecord();
+            rec.setDnaHash(s.digest().bytes());
+            rec.setRulesId(rules.key());
+            rec.setMutant(detected[i]);
+            rec.setCreatedAt(now);
+            records.add(rec);
+        }
+        dbGuard.run(() -> writer.writeBatch(records));
+
+        // Recién con el lote guardado: si el insert falla, un reenvío lo vuelve a detectar y guardar
+        for (int i = 0; i < fresh.size(); i++) {
+            cache.put(fresh.get(i).digest(), detected[i]);
+            knownDna.add(fresh.get(i).digest());
+        }
+
+        return buildResponse(samples, errors, verdicts, unique.keySet(), rules);
+    }
+
+    private void lookup(Map<DnaDigest, DnaSample> pending, Map<DnaDigest, Boolean> verdicts, String rulesId) {
+        if (pending.isEmpty()) return;
+
+        // Solo se consultan los que el filtro no descarta como nuevos
+        List<byte[]> hashes = new ArrayList<>(pending.size());
+        for (DnaDigest d : pending.keySet()) {
+            if (knownDna.mightContain(d)) hashes.add(d.bytes());
+        }
+
+        for (int from = 0; from < hashes.size(); from += LOOKUP_CHUNK) {
+            List<byte[]> chunk = hashes.subList(from, Math.min(from + LOOKUP_CHUNK, hashes.size()));
+            for (DnaRecord rec : dbGuard.call(() -> repo.findByRulesIdAndDnaHashIn(rulesId, chunk))) {
+                DnaDigest digest = new DnaDigest(rec.getDnaHash(), rulesId);
+                verdicts.put(digest, rec.isMutant());
+                cache.put(digest, rec.isMutant());
+                metrics.resolved(Source.DATABASE);
+                pending.remove(digest);
+            }
+        }
+    }
+
+    /**
+     * @param detected digests cuyo veredicto se calculó en este lote; el resto salió de la
+     *                 caché o de la base y pasa por {@link DnaFingerprinter#confirmHit}.
+     */
+    private DnaBatchResponse buildResponse(DnaSample[] samples, String[] errors, Map<DnaDigest, Boolean> verdicts,
+                                           Set<DnaDigest> detected, RuleDetector rules) {
+        List<DnaBatchResponse.Item> results = new ArrayList<>(samples.length);
+        long mutants = 0;
+        long humans = 0;
+        long invalid = 0;
+
+        for (int i = 0; i < samples.length; i++) {
+            if (samples[i] == null) {
+                invalid++;
+                results.add(new DnaBatchResponse.Item(i, null, errors[i]));
+                continue;
+            }
+
+            DnaDigest digest = samples[i].digest();
+            boolean isMutant = verdicts.get(digest);
+            if (!detected.contains(digest)) {
+                isMutant = fingerprinter.confirmHit(samples[i], isMutant, rules);
+            }
+            if (isMutant) mutants++;
+            else humans++;
+            metrics.verdict(isMutant);
+            results.add(new DnaBatchResponse.Item(i, isMutant, null));
+        }
+
+        return DnaBatchResponse.builder()
+                .results(results)
+                .countMutantDna(mutants)
+                .countHumanDna(humans)
+                .countInvalidDna(invalid)
+                .build();
+    }
+
+    /**
+     * Ejecuta {@code body} para 0..n-1 repartiendo rangos contiguos entre los hilos del pool.
+     */
+    private void parallelFor(int n, IntConsumer body) {
+        if (n == 0) return;
+
+        int chunks = Math.min(n, parallelism * 4);
+        int chunkSize = (n + chunks - 1) / chunks;
+        List<CompletableFuture<Void>> futures = new ArrayList<>(chunks);
+
+        for (int from = 0; from < n; from += chunkSize) {
+            int start = from;
+            int end = Math.min(from + chunkSize, n);
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) {
+                    body.accept(i);
+                }
+            }, pool));
+        }
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+}
@@ -1,61 +1,210 @@
 package org.example.service;
 
+import lombok.extern.slf4j.Slf4j;
+import org.example.validation.DnaAlphabet;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import java.util.regex.Pattern;
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
 @Component
 public class MutantDetector {
 
     private static final int SEQ = 4;
-    // Patrón de caracteres válidos (A, T, C, G)
-    private static final Pattern VALID = Pattern.compile("^[ATCG]+$");
+
+    // Filas mínimas por banda en el modo paralelo (menos no compensa el fork)
+    private static final int MIN_BAND_ROWS = 16;
+
+    // La Vector API es un módulo incubator: solo está si la JVM arrancó con
+    // --add-modules jdk.incubator.vector. Sin él no se toca VectorScanner.
+    static final boolean VECTOR_SUPPORTED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final DetectionEngine engine;
+
+    // N a partir del cual el motor escalar reparte la matriz en bandas (0 = nunca)
+    private final int parallelThreshold;
+
+    // Regla para corridas de más de 4 bases; NON_OVERLAPPING solo con RUN_LENGTH
+    private final SequenceCounting counting;
+
+    public MutantDetector() {
+        this(DetectionEngine.SCALAR);
+    }
+
+    public MutantDetector(DetectionEngine engine) {
+        this(engine, 0);
+    }
+
+    public MutantDetector(DetectionEngine engine, int parallelThreshold) {
+        this(engine, parallelThreshold, SequenceCounting.OVERLAPPING);
+    }
+
+    @Autowired
+    public MutantDetector(@Value("${mutant.detector.engine:SCALAR}") DetectionEngine engine,
+                          @Value("${mutant.detector.parallel-threshold:0}") int parallelThreshold,
+                          @Value("${mutant.detector.counting:OVERLAPPING}") SequenceCounting counting) {
+        if (counting == SequenceCounting.NON_OVERLAPPING && engine != DetectionEngine.RUN_LENGTH) {
+            throw new IllegalArgumentException(
+                    "mutant.detector.counting=NON_OVERLAPPING solo lo soporta mutant.detector.engine=RUN_LENGTH");
+        }
+        if (engine == DetectionEngine.VECTOR && !VECTOR_SUPPORTED) {
+            log.warn("mutant.detector.engine=VECTOR requiere --add-modules jdk.incubator.vector; se usa SCALAR");
+            engine = DetectionEngine.SCALAR;
+        }
+        this.engine = engine;
+        this.parallelThreshold = parallelThreshold;
+        this.counting = counting;
+    }
+
+    public DetectionEngine getEngine() {
+        return engine;
+    }
+
+    public SequenceCounting getCounting() {
+        return counting;
+    }
 
     public boolean isMutant(String[] dna) {
         if (dna == null || dna.length < SEQ) return false;
 
+        // MxK: los motores recorren NxN; las rectangulares van fila por fila
+        if (dna[0] != null && dna[0].length() != dna.length) {
+            return isMutantRows(dna);
+        }
+
+        if (engine == DetectionEngine.PACKED) {
+            PackedDnaMatrix packed = PackedDnaMatrix.pack(dna);
+            return packed != null && packed.countSequences(2) > 1;
+        }
+
         final int N = dna.length;
-        char[][] m = new char[N][N];
 
-        // === VALIDACIÓN NxN + caracteres (Optimizaciones) ===
-        for (int i = 0; i < N; i++) {
-            if (dna[i] == null || dna[i].length() != N) return false;
-            if (!VALID.matcher(dna[i]).matches()) return false;
-            m[i] = dna[i].toCharArray(); // Conversión a char[][]
+        // Sin asignaciones: el ADN se valida y copia al buffer del hilo. El modo paralelo
+        // no lo usa porque un hilo del ForkJoinPool que espera bandas puede tomar otra
+        // detección y pisar su propio buffer.
+        if (engine == DetectionEngine.WORKSPACE && !isParallel(N)) {
+            byte[] m = DetectionWorkspace.current().load(dna);
+            return m != null && scanRows(m, N, 0, N, null);
+        }
+
+        // === VALIDACIÓN NxN + caracteres y conversión a matriz plana ===
+        DnaMatrix matrix = DnaMatrix.of(dna);
+        return matrix != null && isMutantScalar(matrix);
+    }
+
+    /**
+     * Variante para ADN ya validado (ver {@link DnaSample#parse}), sin volver a recorrer
+     * los Strings de entrada. WORKSPACE recorre la matriz recibida igual que SCALAR: con
+     * ese motor ya viene armada en el buffer del hilo ({@link DnaFingerprinter#parseInWorkspace}).
+     * Las matrices rectangulares (MxK) se recorren fila por fila con {@link RowStreamScanner},
+     * con cualquier motor.
+     */
+    public boolean isMutantMatrix(DnaMatrix matrix) {
+        if (matrix == null || matrix.size() < SEQ) return false;
+
+        if (!matrix.isSquare()) {
+            return RowStreamScanner.classic(matrix.columns(), counting).scanAll(matrix.bases(), matrix.size()) > 1;
+        }
+
+        if (engine == DetectionEngine.PACKED) {
+            return PackedDnaMatrix.from(matrix).countSequences(2) > 1;
         }
 
+        return isMutantScalar(matrix);
+    }
+
+    /** Valida y recorre un ADN MxK de a una fila, sin copiarlo entero (memoria O(K)). */
+    private boolean isMutantRows(String[] dna) {
+        final int k = dna[0].length();
+        if (k < SEQ) return false;
+
+        RowStreamScanner rows = RowStreamScanner.classic(k, counting);
+        for (String row : dna) {
+            if (row == null || row.length() != k) return false;
+            if (DnaAlphabet.copyRow(row, rows.nextRow(), 0) >= 0) return false;
+            rows.scan();
+        }
+        return rows.count() > 1;
+    }
+
+    // === Motor escalar (byte[] plano, N*N); VECTOR recorre la misma matriz ===
+
+    private boolean isMutantScalar(DnaMatrix matrix) {
+        final int N = matrix.size();
+
+        // Recorre líneas enteras (columnas, diagonales), que no se reparten en bandas de filas
+        if (engine == DetectionEngine.RUN_LENGTH) {
+            return RunLengthScanner.countSequences(matrix.bases(), N, counting, 2) > 1;
+        }
+
+        if (isParallel(N)) {
+            return isMutantParallel(matrix);
+        }
+
+        return scan(matrix.bases(), N, 0, N, null);
+    }
+
+    private boolean scan(byte[] m, int N, int rStart, int rEnd, AtomicInteger shared) {
+        return engine == DetectionEngine.VECTOR
+                ? VectorScanner.scanRows(m, N, rStart, rEnd, shared)
+                : scanRows(m, N, rStart, rEnd, shared);
+    }
+
+    private boolean isParallel(int N) {
+        return parallelThreshold > 0 && N >= parallelThreshold;
+    }
+
+    /**
+     * Recorre las celdas de las filas [rStart, rEnd) buscando secuencias que empiecen en
+     * ellas. Las que bajan (vertical, ↘) leen hasta 3 filas después de rEnd y la ↗ hasta
+     * 3 antes de rStart, así que cada secuencia se cuenta en una sola banda aunque las
+     * bandas lean filas solapadas.
+     *
+     * @param shared contador de todas las bandas en modo paralelo, {@code null} en secuencial.
+     */
+    private boolean scanRows(byte[] m, int N, int rStart, int rEnd, AtomicInteger shared) {
+
         int count = 0;
 
         // === BÚSQUEDA DE SECUENCIAS (Single Pass y Early Termination) ===
-        for (int r = 0; r < N; r++) {
+        for (int r = rStart; r < rEnd; r++) {
+            // Cancelación cooperativa: otra banda ya encontró la segunda secuencia
+            if (shared != null && shared.get() > 1) return false;
+
             for (int c = 0; c < N; c++) {
 
-                char base = m[r][c];
+                int i = r * N + c;
+                byte base = m[i];
 
                 // --- HORIZONTAL ---
                 if (c <= N - SEQ) {
-                    if (checkHorizontal(m, r, c, base)) {
-                        if (++count > 1) return true;
+                    if (checkRun(m, i, 1, base)) {
+                        if (found(shared, ++count)) return true;
                     }
                 }
 
                 // --- VERTICAL ---
                 if (r <= N - SEQ) {
-                    if (checkVertical(m, r, c, base)) {
-                        if (++count > 1) return true;
+                    if (checkRun(m, i, N, base)) {
+                        if (found(shared, ++count)) return true;
                     }
                 }
 
                 // --- DIAGONAL DESCENDENTE ↘ ---
                 if (r <= N - SEQ && c <= N - SEQ) {
-                    if (checkDiagDown(m, r, c, base)) {
-                        if (++count > 1) return true;
+                    if (checkRun(m, i, N + 1, base)) {
+                        if (found(shared, ++count)) return true;
                     }
                 }
 
                 // --- DIAGONAL ASCENDENTE ↗ ---
                 if (r >= SEQ - 1 && c <= N - SEQ) {
-                    if (checkDiagUp(m, r, c, base)) {
-                        if (++count > 1) return true;
+                    if (checkRun(m, i, 1 - N, base)) {
+                        if (found(shared, ++count)) return true;
                     }
                 }
             }
@@ -64,29 +213,62 @@ public class MutantDetector {
         return false;
     }
 
-    // === Comparaciones directas ===
+    // === Modo paralelo (N grande): bandas de filas en el ForkJoinPool común ===
+
+    private boolean isMutantParallel(DnaMatrix matrix) {
+        final int N = matrix.size();
+        final int bandRows = Math.max(MIN_BAND_ROWS, N / (ForkJoinPool.getCommonPoolParallelism() * 4));
 
-    private boolean checkHorizontal(char[][] m, int r, int c, char b) {
-        return m[r][c + 1] == b &&
-                m[r][c + 2] == b &&
-                m[r][c + 3] == b;
+        // Contador compartido: la banda que lo lleva a 2 corta al resto
+        AtomicInteger count = new AtomicInteger();
+        ForkJoinPool.commonPool().invoke(new BandScan(matrix.bases(), N, 0, N, bandRows, count));
+        return count.get() > 1;
     }
 
-    private boolean checkVertical(char[][] m, int r, int c, char b) {
-        return m[r + 1][c] == b &&
-                m[r + 2][c] == b &&
-                m[r + 3][c] == b;
+    private final class BandScan extends RecursiveAction {
+
+        private final byte[] m;
+        private final int n;
+        private final int rStart;
+        private final int rEnd;
+        private final int bandRows;
+        private final AtomicInteger count;
+
+        BandScan(byte[] m, int n, int rStart, int rEnd, int bandRows, AtomicInteger count) {
+            this.m = m;
+            this.n = n;
+            this.rStart = rStart;
+            this.rEnd = rEnd;
+            this.bandRows = bandRows;
+            this.count = count;
+        }
+
+        @Override
+        protected void compute() {
+            if (count.get() > 1) return;
+
+            if (rEnd - rStart <= bandRows) {
+                scan(m, n, rStart, rEnd, count);
+                return;
+            }
+
+            int mid = (rStart + rEnd) >>> 1;
+            invokeAll(new BandScan(m, n, rStart, mid, bandRows, count),
+                    new BandScan(m, n, mid, rEnd, bandRows, count));
+        }
     }
 
-    private boolean checkDiagDown(char[][] m, int r, int c, char b) {
-        return m[r + 1][c + 1] == b &&
-                m[r + 2][c + 2] == b &&
-                m[r + 3][c + 3] == b;
+    // Secuencial: alcanza con el conteo local. Paralelo: suma al contador compartido.
+    private static boolean found(AtomicInteger shared, int localCount) {
+        return shared == null ? localCount > 1 : shared.incrementAndGet() > 1;
     }
 
-    private boolean checkDiagUp(char[][] m, int r, int c, char b) {
-        return m[r - 1][c + 1] == b &&
-                m[r - 2][c + 2] == b &&
-                m[r - 3][c + 3] == b;
+    // === Comparación directa ===
+    // step: 1 (horizontal), N (vertical), N+1 (↘) o 1-N (↗) posiciones en el arreglo plano.
+
+    private boolean checkRun(byte[] m, int i, int step, byte b) {
+        return m[i + step] == b &&
+                m[i + 2 * step] == b &&
+                m[i + 3 * step] == b;
     }
 }
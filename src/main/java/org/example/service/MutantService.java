@@ -1,42 +1,185 @@
 package org.example.service;
 
-import lombok.RequiredArgsConstructor;
 import org.example.entity.DnaRecord;
 import org.example.repository.DnaRecordRepository;
+import org.example.service.DnaMetrics.Source;
+import org.example.service.DnaMetrics.Stage;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.Reader;
 import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.util.HexFormat;
+import java.util.function.BooleanSupplier;
 
 @Service
-@RequiredArgsConstructor
+@Profile("!reactive")
 public class MutantService {
 
-    private final MutantDetector detector;
+    private final RuleProfileRegistry ruleProfiles;
     private final DnaRecordRepository repo;
+    private final VerdictCache cache;
+    private final DnaRecordWriter writer;
+    private final DbConcurrencyGuard dbGuard;
+    private final DnaFingerprinter fingerprinter;
+    private final KnownDnaFilter knownDna;
+    private final DnaMetrics metrics;
+    private final int maxRowColumns;
+
+    // Requests concurrentes con el mismo ADN comparten una sola detección e insert
+    private final SingleFlight<DnaDigest, Boolean> inFlight = new SingleFlight<>();
+
+    public MutantService(RuleProfileRegistry ruleProfiles,
+                         DnaRecordRepository repo,
+                         VerdictCache cache,
+                         DnaRecordWriter writer,
+                         DbConcurrencyGuard dbGuard,
+                         DnaFingerprinter fingerprinter,
+                         KnownDnaFilter knownDna,
+                         DnaMetrics metrics,
+                         @Value("${mutant.rows.max-columns:100000}") int maxRowColumns) {
+        if (maxRowColumns < DnaSample.MIN_SIZE) {
+            throw new IllegalArgumentException("mutant.rows.max-columns debe ser al menos "
+                    + DnaSample.MIN_SIZE + ", es " + maxRowColumns);
+        }
+        this.ruleProfiles = ruleProfiles;
+        this.repo = repo;
+        this.cache = cache;
+        this.writer = writer;
+        this.dbGuard = dbGuard;
+        this.fingerprinter = fingerprinter;
+        this.knownDna = knownDna;
+        this.metrics = metrics;
+        this.maxRowColumns = maxRowColumns;
+    }
 
     public boolean process(String[] dna) {
+        long start = System.nanoTime();
+        // Se detecta en este mismo hilo: con WORKSPACE no hace falta una matriz propia
+        DnaSample sample = fingerprinter.parseInWorkspace(dna);
+        metrics.stage(Stage.PARSE, start);
+
+        return process(sample);
+    }
+
+    /**
+     * Procesa un ADN ya validado y hasheado por {@link DnaFingerprinter#parse}, reutilizando su
+     * matriz para la detección en vez de volver a recorrer los Strings. Usa el perfil de
+     * reglas por defecto.
+     */
+    public boolean process(DnaSample sample) {
+        return process(sample, ruleProfiles.defaultDetector());
+    }
+
+    /**
+     * Igual que {@link #process(DnaSample)} con un perfil de reglas elegido por el request.
+     * Caché, single-flight y registro guardado son por (ADN, perfil).
+     */
+    public boolean process(DnaSample dna, RuleDetector rules) {
+        DnaSample sample = dna.withRules(rules.key());
+        metrics.matrixSize(sample.matrix().size());
 
-        String hash = hashOf(dna);
+        return process(sample.digest(), rules.key(), () -> rules.isMutant(sample.matrix()));
+    }
 
-        var maybeRecord = repo.findByDnaHash(hash);
-        if (maybeRecord.isPresent()) {
-            return maybeRecord.get().isMutant();
+    /**
+     * ADN de POST /mutant/rows (MxK), leído de {@code body} con una fila por línea sin armar
+     * la matriz (ver {@link DnaRowStream}). Las líneas vacías se ignoran y ninguna se lee
+     * más allá de {@code mutant.rows.max-columns} (ver {@link DnaRowReader}). La detección se
+     * hace mientras llegan las filas y entra en la etapa {@code parse}.
+     *
+     * @throws org.example.exception.InvalidDnaException si alguna fila es inválida o más larga
+     *         que el máximo, o llegan menos de 4.
+     */
+    public boolean processRows(Reader body, RuleDetector rules) throws IOException {
+        long start = System.nanoTime();
+        DnaRowStream rows = fingerprinter.newRowStream(rules);
+        DnaRowReader reader = new DnaRowReader(body, maxRowColumns);
+        for (String line = reader.next(); line != null; line = reader.next()) {
+            rows.addRow(line);
         }
+        rows.finish();
+        metrics.stage(Stage.PARSE, start);
+        metrics.matrixSize(rows.rows());
 
-        boolean isMutant = detector.isMutant(dna);
+        return process(rows.digest(), rules.key(), rows::isMutant);
+    }
+
+    /**
+     * Caché, single-flight, base y guardado de un ADN ya hasheado con su perfil.
+     * @param detect veredicto de las reglas del perfil (solo se llama si no está guardado).
+     */
+    private boolean process(DnaDigest digest, String rulesId, BooleanSupplier detect) {
+
+        // Reenvíos: se resuelven en memoria sin ir a la base
+        long start = System.nanoTime();
+        Boolean cached = cache.get(digest);
+        metrics.stage(Stage.CACHE, start);
+
+        boolean isMutant;
+        if (cached != null) {
+            metrics.resolved(Source.CACHE);
+            isMutant = fingerprinter.confirmHit(digest, cached, detect);
+        } else {
+            isMutant = inFlight.execute(digest, () -> resolve(digest, rulesId, detect));
+        }
+
+        metrics.verdict(isMutant);
+        return isMutant;
+    }
+
+    private boolean resolve(DnaDigest digest, String rulesId, BooleanSupplier detect) {
+
+        // Otro request pudo haberlo resuelto entre el chequeo y la entrada al single-flight
+        Boolean cached = cache.get(digest);
+        if (cached != null) {
+            metrics.resolved(Source.CACHE);
+            return fingerprinter.confirmHit(digest, cached, detect);
+        }
+
+        byte[] hash = digest.bytes();
+
+        // Si el filtro dice que nunca se guardó (con ningún perfil), se saltea el SELECT
+        if (knownDna.mightContain(digest)) {
+            long start = System.nanoTime();
+            var maybeRecord = dbGuard.call(() -> repo.findByDnaHashAndRulesId(hash, rulesId));
+            metrics.stage(Stage.LOOKUP, start);
+
+            if (maybeRecord.isPresent()) {
+                boolean isMutant = maybeRecord.get().isMutant();
+                cache.put(digest, isMutant);
+                metrics.resolved(Source.DATABASE);
+                return fingerprinter.confirmHit(digest, isMutant, detect);
+            }
+        }
+
+        long start = System.nanoTime();
+        boolean isMutant = detect.getAsBoolean();
+        metrics.stage(Stage.DETECTION, start);
+        metrics.resolved(Source.DETECTION);
 
         DnaRecord rec = new DnaRecord();
         rec.setDnaHash(hash);
+        rec.setRulesId(rulesId);
         rec.setMutant(isMutant);
         rec.setCreatedAt(LocalDateTime.now());
-        repo.save(rec);
+        // Primero la caché: un reenvío mientras el registro sigue en la cola de escritura
+        // se resuelve en memoria y no se vuelve a insertar
+        cache.put(digest, isMutant);
+        knownDna.add(digest);
+
+        // Con write-behind es el tiempo de encolar; el insert en lote lo mide dna.batch.stage
+        start = System.nanoTime();
+        writer.write(rec);
+        metrics.stage(Stage.PERSISTENCE, start);
 
         return isMutant;
     }
 
-    private String hashOf(String[] dna) {
+    static String hashOf(String[] dna) {
         try {
             MessageDigest md = MessageDigest.getInstance("SHA-256");
             byte[] digest = md.digest(String.join("", dna).getBytes());
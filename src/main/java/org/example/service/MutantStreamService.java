@@ -0,0 +1,170 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.dto.DnaBatchResponse;
+import org.example.dto.DnaRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ingesta masiva en NDJSON (POST /mutant/stream).
+ *
+ * Lee el body de a un registro por vez con el parser incremental de Jackson, junta
+ * bloques de {@code chunk-size} ADN y los procesa con {@link MutantBatchService}
+ * (detección en paralelo + un insert batch por bloque). Hay como mucho
+ * {@code max-in-flight-chunks} bloques en proceso por stream, así la memoria no
+ * depende del tamaño del upload, y los veredictos se escriben en orden a medida que
+ * cada bloque termina.
+ */
+@Service
+@Profile("!reactive")
+@Slf4j
+public class MutantStreamService {
+
+    private final MutantBatchService batchService;
+    private final ObjectMapper mapper;
+    private final int chunkSize;
+    private final int maxInFlight;
+    private final ExecutorService chunkPool;
+
+    public MutantStreamService(MutantBatchService batchService,
+                               ObjectMapper mapper,
+                               @Value("${mutant.stream.chunk-size:500}") int chunkSize,
+                               @Value("${mutant.stream.max-in-flight-chunks:4}") int maxInFlight,
+                               @Value("${mutant.stream.workers:4}") int workers) {
+        // Cada bloque es un lote de MutantBatchService: uno más grande que su máximo fallaría entero
+        if (chunkSize < 1 || chunkSize > batchService.maxItems()) {
+            throw new IllegalArgumentException("mutant.stream.chunk-size debe estar entre 1 y mutant.batch.max-items ("
+                    + batchService.maxItems() + "), es " + chunkSize);
+        }
+        this.batchService = batchService;
+        this.mapper = mapper;
+        this.chunkSize = chunkSize;
+        this.maxInFlight = maxInFlight;
+
+        AtomicInteger threadId = new AtomicInteger();
+        this.chunkPool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "dna-stream-" + threadId.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        chunkPool.shutdown();
+    }
+
+    /**
+     * Clasifica cada línea {@code {"dna": [...]}} de {@code in} y escribe en {@code out}
+     * una línea por ADN: {@code {"index":n,"mutant":true|false}} o {@code {"index":n,"error":"..."}}.
+     */
+    public void process(InputStream in, OutputStream out) throws IOException {
+        Deque<CompletableFuture<Chunk>> window = new ArrayDeque<>(maxInFlight);
+
+        try (JsonGenerator gen = mapper.getFactory().createGenerator(out);
+             MappingIterator<DnaRequest> it = mapper.readerFor(DnaRequest.class).readValues(in)) {
+
+            // Una línea por veredicto (sin el espacio que Jackson pone entre valores raíz)
+            // y el stream de salida lo cierra el contenedor
+            gen.setRootValueSeparator(null);
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            List<String[]> chunk = new ArrayList<>(chunkSize);
+            long offset = 0;
+
+            try {
+                while (it.hasNextValue()) {
+                    DnaRequest req = it.nextValue();
+                    // Una línea "null" es un ADN nulo: error de ese índice, como cualquier ADN inválido
+                    chunk.add(req == null ? null : req.getDna());
+
+                    if (chunk.size() == chunkSize) {
+                        window.add(submit(chunk, offset));
+                        offset += chunk.size();
+                        chunk = new ArrayList<>(chunkSize);
+
+                        // Backpressure: no leer más hasta que termine el bloque más viejo
+                        if (window.size() >= maxInFlight) {
+                            write(gen, window.poll());
+                        }
+                    }
+                    writeCompleted(gen, window);
+                }
+            } catch (JsonProcessingException e) {
+                // Línea mal formada: se informa y se corta la lectura, lo ya leído se procesa igual
+                log.warn("NDJSON inválido en el registro {}: {}", offset + chunk.size(), e.getOriginalMessage());
+                drain(gen, window, chunk, offset);
+                writeError(gen, offset + chunk.size(), "JSON inválido: " + e.getOriginalMessage());
+                return;
+            }
+
+            drain(gen, window, chunk, offset);
+        }
+    }
+
+    private void drain(JsonGenerator gen, Deque<CompletableFuture<Chunk>> window,
+                       List<String[]> chunk, long offset) throws IOException {
+        if (!chunk.isEmpty()) {
+            window.add(submit(chunk, offset));
+        }
+        while (!window.isEmpty()) {
+            write(gen, window.poll());
+        }
+    }
+
+    private CompletableFuture<Chunk> submit(List<String[]> items, long offset) {
+        return CompletableFuture.supplyAsync(() -> new Chunk(offset, batchService.process(items)), chunkPool);
+    }
+
+    /** Escribe los bloques del frente de la ventana que ya terminaron, sin bloquear. */
+    private void writeCompleted(JsonGenerator gen, Deque<CompletableFuture<Chunk>> window) throws IOException {
+        while (!window.isEmpty() && window.peek().isDone()) {
+            write(gen, window.poll());
+        }
+    }
+
+    private void write(JsonGenerator gen, CompletableFuture<Chunk> future) throws IOException {
+        Chunk chunk;
+        try {
+            chunk = future.join();
+        } catch (CompletionException e) {
+            throw new IOException("Error procesando bloque de ADN", e.getCause());
+        }
+
+        for (DnaBatchResponse.Item item : chunk.response().getResults()) {
+            mapper.writeValue(gen, new DnaBatchResponse.Item(
+                    chunk.offset() + item.getIndex(), item.getMutant(), item.getError()));
+            gen.writeRaw('\n');
+        }
+        gen.flush();
+    }
+
+    private void writeError(JsonGenerator gen, long index, String message) throws IOException {
+        mapper.writeValue(gen, new DnaBatchResponse.Item(index, null, message));
+        gen.writeRaw('\n');
+        gen.flush();
+    }
+
+    private record Chunk(long offset, DnaBatchResponse response) {
+    }
+}
@@ -0,0 +1,174 @@
+package org.example.service;
+
+/**
+ * Matriz de ADN empaquetada a 2 bits por base (32 bases por {@code long}).
+ *
+ * Codificación: A=00, C=01, G=10, T=11. La base de la columna {@code c} de cada
+ * fila ocupa los bits {@code 2*(c%32)} y {@code 2*(c%32)+1} de la palabra {@code c/32}.
+ * Las búsquedas de secuencias comparan palabras completas (XOR/AND/shift) en vez
+ * de carácter por carácter, y ocupa 8 veces menos memoria que un {@code char[N][N]}.
+ */
+public final class PackedDnaMatrix {
+
+    private static final int SEQ = 4;
+    private static final int BASES_PER_WORD = 32;
+
+    // Bit bajo de cada campo de 2 bits
+    private static final long LOW_BITS = 0x5555555555555555L;
+
+    // Tabla ASCII → código de 2 bits (-1 = carácter inválido)
+    private static final byte[] CODES = new byte[128];
+
+    static {
+        java.util.Arrays.fill(CODES, (byte) -1);
+        CODES['A'] = 0;
+        CODES['C'] = 1;
+        CODES['G'] = 2;
+        CODES['T'] = 3;
+    }
+
+    private final int n;
+    private final int wordsPerRow;
+    private final long[] words;
+
+    private PackedDnaMatrix(int n, long[] words) {
+        this.n = n;
+        this.wordsPerRow = wordsPerRow(n);
+        this.words = words;
+    }
+
+    /**
+     * Valida (NxN, solo A,T,C,G) y empaqueta el ADN en una sola pasada.
+     * @return la matriz empaquetada, o {@code null} si el ADN es inválido.
+     */
+    public static PackedDnaMatrix pack(String[] dna) {
+        if (dna == null || dna.length == 0) return null;
+
+        final int n = dna.length;
+        final int wpr = wordsPerRow(n);
+        long[] words = new long[n * wpr];
+
+        for (int r = 0; r < n; r++) {
+            String row = dna[r];
+            if (row == null || row.length() != n) return null;
+
+            int offset = r * wpr;
+            for (int c = 0; c < n; c++) {
+                char ch = row.charAt(c);
+                int code = ch < 128 ? CODES[ch] : -1;
+                if (code < 0) return null;
+                words[offset + c / BASES_PER_WORD] |= (long) code << ((c % BASES_PER_WORD) << 1);
+            }
+        }
+
+        return new PackedDnaMatrix(n, words);
+    }
+
+    /** Empaqueta una matriz ya validada. */
+    public static PackedDnaMatrix from(DnaMatrix matrix) {
+        final int n = matrix.size();
+        final int wpr = wordsPerRow(n);
+        final byte[] bases = matrix.bases();
+        long[] words = new long[n * wpr];
+
+        for (int r = 0; r < n; r++) {
+            int offset = r * wpr;
+            int src = r * n;
+            for (int c = 0; c < n; c++) {
+                words[offset + c / BASES_PER_WORD] |= (long) CODES[bases[src + c]] << ((c % BASES_PER_WORD) << 1);
+            }
+        }
+
+        return new PackedDnaMatrix(n, words);
+    }
+
+    public int size() {
+        return n;
+    }
+
+    /**
+     * Cuenta secuencias de 4 bases iguales en las cuatro direcciones, con las mismas
+     * reglas que el recorrido escalar (las secuencias solapadas cuentan por separado).
+     * @param stopAt corta la búsqueda en cuanto el conteo alcanza este valor.
+     * @return el conteo; si se cortó antes, un valor mayor o igual a {@code stopAt}.
+     */
+    public int countSequences(int stopAt) {
+        if (n < SEQ) return 0;
+
+        int count = 0;
+
+        for (int r = 0; r < n; r++) {
+            for (int i = 0; i < wordsPerRow; i++) {
+
+                int firstCol = i * BASES_PER_WORD;
+                // Columnas donde puede empezar una secuencia hacia la derecha (c <= N-4)
+                long startMask = fieldMask(n - SEQ + 1 - firstCol);
+                // Columnas existentes en la palabra (c < N), para las verticales
+                long colMask = fieldMask(n - firstCol);
+
+                long base = word(r, i, 0);
+
+                // --- HORIZONTAL ---
+                long hits = runs(base, word(r, i, 1), word(r, i, 2), word(r, i, 3)) & startMask;
+                count += Long.bitCount(hits);
+
+                if (r <= n - SEQ) {
+                    // --- VERTICAL ---
+                    hits = runs(base, word(r + 1, i, 0), word(r + 2, i, 0), word(r + 3, i, 0)) & colMask;
+                    count += Long.bitCount(hits);
+
+                    // --- DIAGONAL DESCENDENTE ↘ ---
+                    hits = runs(base, word(r + 1, i, 1), word(r + 2, i, 2), word(r + 3, i, 3)) & startMask;
+                    count += Long.bitCount(hits);
+                }
+
+                // --- DIAGONAL ASCENDENTE ↗ ---
+                if (r >= SEQ - 1) {
+                    hits = runs(base, word(r - 1, i, 1), word(r - 2, i, 2), word(r - 3, i, 3)) & startMask;
+                    count += Long.bitCount(hits);
+                }
+
+                if (count >= stopAt) return count;
+            }
+        }
+
+        return count;
+    }
+
+    // === Operaciones a nivel de palabra ===
+
+    /**
+     * Palabra {@code i} de la fila {@code row} desplazada {@code shift} bases hacia la
+     * izquierda, es decir: el campo {@code c} contiene la base de la columna {@code c+shift}.
+     */
+    private long word(int row, int i, int shift) {
+        int idx = row * wordsPerRow + i;
+        long w = words[idx];
+        if (shift == 0) return w;
+
+        long next = (i + 1 < wordsPerRow) ? words[idx + 1] : 0L;
+        int bits = shift << 1;
+        return (w >>> bits) | (next << (Long.SIZE - bits));
+    }
+
+    /** Bit bajo de cada campo en 1 si los dos campos son iguales. */
+    private static long eq(long a, long b) {
+        long d = a ^ b;
+        return ~(d | (d >>> 1)) & LOW_BITS;
+    }
+
+    private static long runs(long a, long b, long c, long d) {
+        return eq(a, b) & eq(b, c) & eq(c, d);
+    }
+
+    /** Máscara con el bit bajo de los primeros {@code valid} campos de la palabra. */
+    private static long fieldMask(int valid) {
+        if (valid >= BASES_PER_WORD) return LOW_BITS;
+        if (valid <= 0) return 0L;
+        return LOW_BITS & ((1L << (valid << 1)) - 1);
+    }
+
+    private static int wordsPerRow(int n) {
+        return (n + BASES_PER_WORD - 1) / BASES_PER_WORD;
+    }
+}
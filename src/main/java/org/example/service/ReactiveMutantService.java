@@ -0,0 +1,134 @@
+package org.example.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.entity.DnaRecord;
+import org.example.repository.ReactiveDnaRecordStore;
+import org.example.service.DnaMetrics.Source;
+import org.example.service.DnaMetrics.Stage;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Versión no bloqueante de {@link MutantService} (perfil {@code reactive}).
+ *
+ * El parseo y la detección corren en {@code detectionScheduler}; la consulta y el insert
+ * van por R2DBC. Usa la misma caché de veredictos y los mismos contadores de /stats, y
+ * como en el stack bloqueante los requests simultáneos con el mismo ADN comparten un solo
+ * {@code Mono} (consulta, detección e insert).
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+public class ReactiveMutantService {
+
+    private final RuleProfileRegistry ruleProfiles;
+    private final ReactiveDnaRecordStore store;
+    private final VerdictCache cache;
+    private final DnaFingerprinter fingerprinter;
+    private final DnaStatsCounters counters;
+    private final DnaMetrics metrics;
+    private final Scheduler detectionScheduler;
+
+    private final ConcurrentMap<DnaDigest, Mono<Boolean>> inFlight = new ConcurrentHashMap<>();
+
+    public Mono<Boolean> process(String[] dna) {
+        return process(dna, ruleProfiles.defaultDetector());
+    }
+
+    /** Como {@link #process(String[])} con un perfil de reglas elegido por el request. */
+    public Mono<Boolean> process(String[] dna, RuleDetector rules) {
+        return Mono.fromCallable(() -> parse(dna))
+                .subscribeOn(detectionScheduler)
+                .flatMap(sample -> process(sample, rules));
+    }
+
+    public Mono<Boolean> process(DnaSample dna, RuleDetector rules) {
+        DnaSample sample = dna.withRules(rules.key());
+        metrics.matrixSize(sample.matrix().size());
+
+        // Reenvíos: se resuelven en memoria sin ir a la base
+        long start = System.nanoTime();
+        Boolean cached = cache.get(sample.digest());
+        metrics.stage(Stage.CACHE, start);
+
+        if (cached != null) {
+            metrics.resolved(Source.CACHE);
+            return Mono.just(verdict(fingerprinter.confirmHit(sample, cached, rules)));
+        }
+
+        // Requests concurrentes con el mismo ADN comparten la consulta, la detección y el insert
+        return Mono.defer(() -> inFlight.computeIfAbsent(sample.digest(), digest -> resolve(sample, rules)
+                        .doFinally(signal -> inFlight.remove(digest))
+                        .cache()))
+                .map(this::verdict);
+    }
+
+    private Mono<Boolean> resolve(DnaSample sample, RuleDetector rules) {
+        return Mono.defer(() -> {
+            // Otro request pudo haberlo resuelto entre el chequeo y la entrada al single-flight
+            Boolean cached = cache.get(sample.digest());
+            if (cached != null) {
+                metrics.resolved(Source.CACHE);
+                return Mono.just(fingerprinter.confirmHit(sample, cached, rules));
+            }
+
+            return store.findVerdict(sample.digest().bytes(), rules.key())
+                    .doOnNext(isMutant -> {
+                        cache.put(sample.digest(), isMutant);
+                        metrics.resolved(Source.DATABASE);
+                    })
+                    .map(isMutant -> fingerprinter.confirmHit(sample, isMutant, rules))
+                    .switchIfEmpty(Mono.defer(() -> detectAndSave(sample, rules)));
+        });
+    }
+
+    private DnaSample parse(String[] dna) {
+        long start = System.nanoTime();
+        DnaSample sample = fingerprinter.parse(dna);
+        metrics.stage(Stage.PARSE, start);
+        return sample;
+    }
+
+    private boolean verdict(boolean isMutant) {
+        metrics.verdict(isMutant);
+        return isMutant;
+    }
+
+    private boolean detect(DnaSample sample, RuleDetector rules) {
+        long start = System.nanoTime();
+        boolean isMutant = rules.isMutant(sample.matrix());
+        metrics.stage(Stage.DETECTION, start);
+        metrics.resolved(Source.DETECTION);
+        return isMutant;
+    }
+
+    private Mono<Boolean> detectAndSave(DnaSample sample, RuleDetector rules) {
+        return Mono.fromCallable(() -> detect(sample, rules))
+                .subscribeOn(detectionScheduler)
+                .flatMap(isMutant -> {
+                    DnaRecord rec = new DnaRecord();
+                    rec.setDnaHash(sample.digest().bytes());
+                    rec.setRulesId(rules.key());
+                    rec.setMutant(isMutant);
+                    rec.setCreatedAt(LocalDateTime.now());
+
+                    // Otra instancia insertó el mismo (hash, perfil) entre el NOT EXISTS y el insert
+                    return store.insertIfAbsent(rec)
+                            .onErrorResume(DuplicateKeyException.class, e -> Mono.just(false))
+                            .doOnNext(inserted -> {
+                                // Recién guardado: si el insert falla, un reenvío lo vuelve a guardar
+                                cache.put(sample.digest(), isMutant);
+                                // El insert R2DBC no pasa por el listener JPA: se cuenta acá
+                                if (inserted) counters.recordInserted(rules.key(), isMutant);
+                            })
+                            .thenReturn(isMutant);
+                });
+    }
+}
@@ -0,0 +1,198 @@
+package org.example.service;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+/**
+ * Detección fila por fila para matrices MxK (rectangulares o no), sin tener la matriz
+ * entera en memoria: {@link #scan} recibe cada fila en orden y la compara solo con la
+ * anterior.
+ *
+ * En vez de guardar las últimas filas, lleva por columna el largo de la corrida que
+ * termina en la fila anterior en cada dirección que baja (vertical, ↘ y ↗ vista desde
+ * abajo), igual que {@link RunLengthScanner}: con la fila anterior y un contador por
+ * columna y dirección alcanza para cualquier largo de secuencia. La memoria es O(K) sin
+ * importar cuántas filas lleguen. Con OVERLAPPING y las reglas clásicas el conteo es el
+ * mismo que el de los motores sobre la matriz completa.
+ *
+ * Cada fila se recorre una vez por dirección del perfil, y solo esas direcciones llevan
+ * contadores; el modo de conteo es el largo al que vuelve la corrida.
+ *
+ * Cada secuencia se cuenta en la fila donde termina. Al llegar a {@code stopAt} deja
+ * de comparar: las filas siguientes ya no cambian el veredicto.
+ */
+final class RowStreamScanner {
+
+    private final int columns;
+    private final int seq;
+    private final int reset;
+    private final int stopAt;
+    private final SequenceDirection[] directions;
+
+    // Fila anterior y largo de la corrida que termina en cada una de sus columnas
+    // (solo de las direcciones del perfil)
+    private byte[] previous;
+    private byte[] current;
+    private final int[] verticalRun;
+    private final int[] downRun;
+    private final int[] upRun;
+
+    private int rows;
+    private int count;
+
+    RowStreamScanner(int columns, int seq, SequenceDirection[] directions,
+                     SequenceCounting counting, int stopAt) {
+        this.columns = columns;
+        this.seq = seq;
+        this.reset = counting.runAfterSequence(seq);
+        this.stopAt = stopAt;
+
+        EnumSet<SequenceDirection> enabled = EnumSet.noneOf(SequenceDirection.class);
+        enabled.addAll(Arrays.asList(directions));
+        this.directions = enabled.toArray(new SequenceDirection[0]);
+        this.previous = new byte[columns];
+        this.current = new byte[columns];
+        this.verticalRun = enabled.contains(SequenceDirection.VERTICAL) ? new int[columns] : null;
+        this.downRun = enabled.contains(SequenceDirection.DIAGONAL_DOWN) ? new int[columns] : null;
+        this.upRun = enabled.contains(SequenceDirection.DIAGONAL_UP) ? new int[columns] : null;
+    }
+
+    /** Las reglas clásicas (4 bases, 4 direcciones, más de una secuencia). */
+    static RowStreamScanner classic(int columns, SequenceCounting counting) {
+        return new RowStreamScanner(columns, 4, SequenceDirection.values(), counting, 2);
+    }
+
+    /**
+     * Buffer donde copiar la próxima fila (K bytes, ya validada) antes de {@link #scan()}.
+     * Se reutiliza: el contenido de la fila anterior sigue en otro arreglo.
+     */
+    byte[] nextRow() {
+        return current;
+    }
+
+    /** Cuenta las secuencias que terminan en la fila copiada en {@link #nextRow()}. */
+    void scan() {
+        if (count < stopAt) {
+            scanRow(current, 0, rows > 0 ? previous : null, 0);
+        }
+        byte[] swap = previous;
+        previous = current;
+        current = swap;
+        rows++;
+    }
+
+    /** Recorre las filas de una matriz ya armada (fila por fila en {@code bases}). */
+    int scanAll(byte[] bases, int rowCount) {
+        for (int r = 0; r < rowCount && count < stopAt; r++) {
+            // Sin copiar: se compara directo contra la fila anterior del mismo arreglo
+            scanRow(bases, r * columns, r > 0 ? bases : null, (r - 1) * columns);
+            rows++;
+        }
+        return count;
+    }
+
+    /**
+     * Fila en {@code row[ro, ro + K)}; la anterior en {@code prev[po, po + K)}, o {@code prev == null}.
+     * Una pasada por dirección del perfil: dentro de cada una no se consulta ninguna opción.
+     */
+    private void scanRow(byte[] row, int ro, byte[] prev, int po) {
+        for (SequenceDirection d : directions) {
+            boolean decided = switch (d) {
+                case HORIZONTAL -> horizontal(row, ro);
+                case VERTICAL -> vertical(row, ro, prev, po);
+                case DIAGONAL_DOWN -> diagonalDown(row, ro, prev, po);
+                case DIAGONAL_UP -> diagonalUp(row, ro, prev, po);
+            };
+            if (decided) return;
+        }
+    }
+
+    // Cada pasada devuelve true si el conteo llegó a stopAt. Al completar una secuencia la
+    // corrida sigue desde reset (ver SequenceCounting#runAfterSequence).
+
+    // --- HORIZONTAL: corrida dentro de la fila ---
+    private boolean horizontal(byte[] row, int ro) {
+        byte left = row[ro];
+        int run = 1;
+        for (int c = 1; c < columns; c++) {
+            byte b = row[ro + c];
+            if (b != left) {
+                left = b;
+                run = 1;
+                continue;
+            }
+            if (++run == seq) {
+                if (++count >= stopAt) return true;
+                run = reset;
+            }
+        }
+        return false;
+    }
+
+    // --- VERTICAL: sigue la corrida de la misma columna ---
+    private boolean vertical(byte[] row, int ro, byte[] prev, int po) {
+        if (prev == null) {
+            Arrays.fill(verticalRun, 1);
+            return false;
+        }
+        for (int c = 0; c < columns; c++) {
+            int run = row[ro + c] == prev[po + c] ? verticalRun[c] + 1 : 1;
+            if (run == seq) {
+                if (++count >= stopAt) return true;
+                run = reset;
+            }
+            verticalRun[c] = run;
+        }
+        return false;
+    }
+
+    // --- DIAGONAL DESCENDENTE ↘: viene de (r-1, c-1); de derecha a izquierda para leer downRun[c-1] antes de pisarlo ---
+    private boolean diagonalDown(byte[] row, int ro, byte[] prev, int po) {
+        if (prev == null) {
+            Arrays.fill(downRun, 1);
+            return false;
+        }
+        for (int c = columns - 1; c > 0; c--) {
+            int run = row[ro + c] == prev[po + c - 1] ? downRun[c - 1] + 1 : 1;
+            if (run == seq) {
+                if (++count >= stopAt) return true;
+                run = reset;
+            }
+            downRun[c] = run;
+        }
+        downRun[0] = 1;
+        return false;
+    }
+
+    // --- DIAGONAL ASCENDENTE ↗: (r, c) sigue hacia (r-1, c+1); de izquierda a derecha ---
+    private boolean diagonalUp(byte[] row, int ro, byte[] prev, int po) {
+        if (prev == null) {
+            Arrays.fill(upRun, 1);
+            return false;
+        }
+        for (int c = 0; c < columns - 1; c++) {
+            int run = row[ro + c] == prev[po + c + 1] ? upRun[c + 1] + 1 : 1;
+            if (run == seq) {
+                if (++count >= stopAt) return true;
+                run = reset;
+            }
+            upRun[c] = run;
+        }
+        upRun[columns - 1] = 1;
+        return false;
+    }
+
+    int count() {
+        return count;
+    }
+
+    /** Filas recibidas. */
+    int rows() {
+        return rows;
+    }
+
+    /** El conteo ya alcanzó {@code stopAt}: el veredicto no cambia con más filas. */
+    boolean decided() {
+        return count >= stopAt;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.service;
+
+/**
+ * Detector compilado para un {@link RuleProfile}: las reglas se resuelven una sola vez al
+ * crearlo, no en cada celda.
+ *
+ * Si el perfil tiene las reglas clásicas usa el {@link MutantDetector} configurado (con
+ * su motor y su modo paralelo). Si no, recorre la matriz con {@link RunLengthScanner}
+ * (o {@link RowStreamScanner} si es MxK): una pasada por cada dirección del perfil, con el
+ * modo de conteo ya traducido al largo al que vuelve la corrida
+ * ({@link SequenceCounting#runAfterSequence}). En cada celda solo se compara la corrida
+ * con el largo de secuencia; corta en cuanto llega al umbral.
+ */
+public final class RuleDetector {
+
+    private final RuleProfile profile;
+    private final MutantDetector classic;
+
+    // Reglas ya resueltas para el recorrido por corridas (sin uso si classic != null)
+    private final int sequenceLength;
+    private final int threshold;
+    private final SequenceDirection[] directions;
+    private final SequenceCounting counting;
+
+    private RuleDetector(RuleProfile profile, MutantDetector classic) {
+        this.profile = profile;
+        this.classic = classic;
+        this.sequenceLength = profile.sequenceLength();
+        this.threshold = profile.threshold();
+        this.directions = profile.directions().toArray(new SequenceDirection[0]);
+        this.counting = profile.counting();
+    }
+
+    /** Compila el perfil; {@code engine} resuelve los perfiles con las reglas clásicas. */
+    public static RuleDetector compile(RuleProfile profile, MutantDetector engine) {
+        return new RuleDetector(profile, profile.hasClassicRules(engine.getCounting()) ? engine : null);
+    }
+
+    /** El perfil clásico: las reglas del motor dado, con su configuración. */
+    public static RuleDetector classic(MutantDetector engine) {
+        return new RuleDetector(RuleProfile.classic(engine.getCounting()), engine);
+    }
+
+    public RuleProfile profile() {
+        return profile;
+    }
+
+    /** Id del perfil, el de {@code ?rules=}. */
+    public String id() {
+        return profile.id();
+    }
+
+    /** Clave de sus veredictos guardados y en caché (ver {@link RuleProfile#key()}). */
+    public String key() {
+        return profile.key();
+    }
+
+    /** Veredicto de un ADN ya validado (ver {@link DnaSample#parse}) con las reglas del perfil. */
+    public boolean isMutant(DnaMatrix matrix) {
+        if (classic != null) return classic.isMutantMatrix(matrix);
+        if (matrix == null) return false;
+
+        if (!matrix.isSquare()) {
+            return rowScanner(matrix.columns()).scanAll(matrix.bases(), matrix.size()) >= threshold;
+        }
+
+        return RunLengthScanner.countSequences(matrix.bases(), matrix.size(),
+                sequenceLength, directions, counting, threshold) >= threshold;
+    }
+
+    /**
+     * Recorrido fila por fila de una matriz de {@code columns} columnas con las reglas del
+     * perfil (las clásicas incluidas); es mutante si el conteo llega a {@link #threshold()}.
+     */
+    RowStreamScanner rowScanner(int columns) {
+        return new RowStreamScanner(columns, sequenceLength, directions, counting, threshold);
+    }
+
+    int threshold() {
+        return threshold;
+    }
+}
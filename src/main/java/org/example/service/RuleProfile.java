@@ -0,0 +1,126 @@
+package org.example.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Reglas de detección con nombre: largo de la secuencia, cuántas secuencias hacen falta
+ * para ser mutante, en qué direcciones se buscan y cómo se cuentan las corridas largas.
+ *
+ * El perfil {@link #CLASSIC_ID} son las reglas del examen (4 bases iguales, más de una
+ * secuencia, las cuatro direcciones). El resto se declara en {@code mutant.rules.profiles}
+ * y {@link RuleProfileRegistry} compila cada uno a un {@link RuleDetector}. La {@link #key()}
+ * se guarda en {@code dna_records.rules_id}, así un mismo ADN tiene un veredicto por perfil.
+ */
+public final class RuleProfile {
+
+    public static final String CLASSIC_ID = "classic";
+
+    // Va en la URL (?rules=); con el "-" y los 8 dígitos del hash la clave entra en
+    // dna_records.rules_id VARCHAR(32)
+    static final int MAX_ID_LENGTH = 23;
+
+    private final String id;
+    private final int sequenceLength;
+    private final int threshold;
+    private final Set<SequenceDirection> directions;
+    private final SequenceCounting counting;
+    private final String key;
+
+    /**
+     * @throws IllegalArgumentException si el id no es [A-Za-z0-9_-] de 1 a 23 caracteres,
+     *                                  {@code sequenceLength < 2}, {@code threshold < 1}
+     *                                  o no hay ninguna dirección.
+     */
+    public RuleProfile(String id, int sequenceLength, int threshold,
+                       Set<SequenceDirection> directions, SequenceCounting counting) {
+        if (id == null || !id.matches("[A-Za-z0-9_-]{1," + MAX_ID_LENGTH + "}")) {
+            throw new IllegalArgumentException("Id de perfil inválido: '" + id + "' (letras, dígitos, '_' o '-', hasta "
+                    + MAX_ID_LENGTH + ")");
+        }
+        if (sequenceLength < 2) {
+            throw new IllegalArgumentException("Perfil " + id + ": sequence-length debe ser al menos 2");
+        }
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Perfil " + id + ": threshold debe ser al menos 1");
+        }
+        if (directions == null || directions.isEmpty()) {
+            throw new IllegalArgumentException("Perfil " + id + ": hace falta al menos una dirección");
+        }
+        this.id = id;
+        this.sequenceLength = sequenceLength;
+        this.threshold = threshold;
+        this.directions = Collections.unmodifiableSet(EnumSet.copyOf(directions));
+        this.counting = counting == null ? SequenceCounting.OVERLAPPING : counting;
+        this.key = isHistoricClassic() ? CLASSIC_ID : id + "-" + rulesHash();
+    }
+
+    /** Reglas clásicas con la regla de conteo del motor configurado. */
+    public static RuleProfile classic(SequenceCounting counting) {
+        return new RuleProfile(CLASSIC_ID, 4, 2, EnumSet.allOf(SequenceDirection.class), counting);
+    }
+
+    public String id() {
+        return id;
+    }
+
+    /** Bases iguales seguidas que forman una secuencia (clásico: 4). */
+    public int sequenceLength() {
+        return sequenceLength;
+    }
+
+    /** Secuencias necesarias para ser mutante (clásico: 2, "más de una"). */
+    public int threshold() {
+        return threshold;
+    }
+
+    public Set<SequenceDirection> directions() {
+        return directions;
+    }
+
+    public SequenceCounting counting() {
+        return counting;
+    }
+
+    /**
+     * Clave de los veredictos del perfil (caché, single-flight y {@code dna_records.rules_id}):
+     * el id y un hash corto de largo, umbral, direcciones y conteo. Redefinir un perfil o
+     * cambiar {@code mutant.detector.counting} da otra clave, así no se sirven veredictos
+     * calculados con las reglas anteriores. El clásico con conteo solapado queda como
+     * {@code "classic"}: es la clave con que se guardaron los registros de antes de los perfiles.
+     */
+    public String key() {
+        return key;
+    }
+
+    /** Mismas reglas que el perfil clásico (el id puede ser otro). */
+    boolean hasClassicRules(SequenceCounting classicCounting) {
+        return sequenceLength == 4 && threshold == 2
+                && directions.size() == SequenceDirection.values().length
+                && counting == classicCounting;
+    }
+
+    private boolean isHistoricClassic() {
+        return id.equals(CLASSIC_ID) && hasClassicRules(SequenceCounting.OVERLAPPING);
+    }
+
+    // CRC32 de las reglas en texto; las direcciones por nombre, sin depender del orden del enum
+    private String rulesHash() {
+        String rules = sequenceLength + "/" + threshold + "/"
+                + directions.stream().map(Enum::name).sorted().collect(Collectors.joining(","))
+                + "/" + counting.name();
+        CRC32 crc = new CRC32();
+        crc.update(rules.getBytes(StandardCharsets.US_ASCII));
+        return String.format("%08x", crc.getValue());
+    }
+
+    @Override
+    public String toString() {
+        return id + "(sequence-length=" + sequenceLength + ", threshold=" + threshold
+                + ", directions=" + directions + ", counting=" + counting + ")";
+    }
+}
@@ -0,0 +1,69 @@
+package org.example.service;
+
+import org.example.exception.UnknownRuleProfileException;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Perfiles de reglas disponibles, ya compilados a {@link RuleDetector} al arrancar.
+ *
+ * El perfil {@link RuleProfile#CLASSIC_ID} siempre existe y no se puede redefinir. El
+ * perfil por defecto ({@code mutant.rules.default-profile}) es el que usan los requests
+ * que no eligen uno; se arma en {@code RuleProfileConfig}.
+ */
+public class RuleProfileRegistry {
+
+    private final Map<String, RuleDetector> detectors = new LinkedHashMap<>();
+    private final RuleDetector defaultDetector;
+
+    /** Solo el perfil clásico. */
+    public RuleProfileRegistry(MutantDetector engine) {
+        this(engine, List.of(), RuleProfile.CLASSIC_ID);
+    }
+
+    /**
+     * @throws IllegalArgumentException si un perfil usa el id clásico o se repite, o si
+     *                                  {@code defaultId} no es ninguno de los perfiles.
+     */
+    public RuleProfileRegistry(MutantDetector engine, Collection<RuleProfile> profiles, String defaultId) {
+        RuleDetector classic = RuleDetector.classic(engine);
+        detectors.put(classic.id(), classic);
+
+        for (RuleProfile profile : profiles) {
+            if (detectors.containsKey(profile.id())) {
+                throw new IllegalArgumentException("Perfil de reglas duplicado o reservado: " + profile.id());
+            }
+            detectors.put(profile.id(), RuleDetector.compile(profile, engine));
+        }
+
+        defaultDetector = detectors.get(defaultId);
+        if (defaultDetector == null) {
+            throw new IllegalArgumentException("mutant.rules.default-profile no existe: " + defaultId);
+        }
+    }
+
+    /** Perfil de los requests que no eligen uno. */
+    public RuleDetector defaultDetector() {
+        return defaultDetector;
+    }
+
+    /**
+     * Detector del perfil pedido; {@code null} o vacío es el perfil por defecto.
+     * @throws UnknownRuleProfileException si no hay un perfil con ese id.
+     */
+    public RuleDetector resolve(String id) {
+        if (id == null || id.isEmpty()) return defaultDetector;
+
+        RuleDetector detector = detectors.get(id);
+        if (detector == null) throw new UnknownRuleProfileException(id, ids());
+        return detector;
+    }
+
+    public Set<String> ids() {
+        return detectors.keySet();
+    }
+}
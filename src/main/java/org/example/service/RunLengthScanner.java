@@ -0,0 +1,125 @@
+package org.example.service;
+
+/**
+ * Recorrido del motor {@link DetectionEngine#RUN_LENGTH}: cada fila, columna y diagonal se
+ * recorre una sola vez llevando el largo de la corrida actual, así que cada celda se
+ * compara una vez por dirección (el recorrido escalar vuelve a leer las 3 bases
+ * siguientes en cada posición de inicio).
+ *
+ * La corrida suma una secuencia al llegar a 4 bases y, según {@link SequenceCounting},
+ * otra con cada base más (solapadas) o cada 4 bases más (sin solapar). Con OVERLAPPING
+ * el conteo es el mismo que el de SCALAR, así que el veredicto también.
+ *
+ * Los perfiles de reglas ({@link RuleDetector}) usan la misma pasada con otro largo de
+ * secuencia y solo las direcciones que eligen: cada dirección es un recorrido aparte y el
+ * modo de conteo es el largo al que vuelve la corrida, así que en cada celda no se consulta
+ * ninguna opción del perfil.
+ */
+final class RunLengthScanner {
+
+    private static final int SEQ = 4;
+
+    private static final SequenceDirection[] ALL = SequenceDirection.values();
+
+    private RunLengthScanner() {
+    }
+
+    /**
+     * Cuenta las secuencias de 4 bases de la matriz plana {@code m} de NxN en las cuatro direcciones.
+     * @param stopAt corta la búsqueda en cuanto el conteo alcanza este valor.
+     * @return el conteo; si se cortó antes, un valor mayor o igual a {@code stopAt}.
+     */
+    static int countSequences(byte[] m, int N, SequenceCounting counting, int stopAt) {
+        return countSequences(m, N, SEQ, ALL, counting, stopAt);
+    }
+
+    /**
+     * Cuenta las secuencias de {@code seq} bases iguales en las direcciones indicadas.
+     * @param stopAt corta la búsqueda en cuanto el conteo alcanza este valor.
+     * @return el conteo; si se cortó antes, un valor mayor o igual a {@code stopAt}.
+     */
+    static int countSequences(byte[] m, int N, int seq, SequenceDirection[] directions,
+                              SequenceCounting counting, int stopAt) {
+        if (N < seq) return 0;
+
+        // El modo de conteo se resuelve acá una vez: en cada celda solo se compara run == seq
+        final int reset = counting.runAfterSequence(seq);
+        int count = 0;
+
+        for (int d = 0; d < directions.length && count < stopAt; d++) {
+            count = switch (directions[d]) {
+                case HORIZONTAL -> horizontal(m, N, seq, reset, count, stopAt);
+                case VERTICAL -> vertical(m, N, seq, reset, count, stopAt);
+                case DIAGONAL_DOWN -> diagonalDown(m, N, seq, reset, count, stopAt);
+                case DIAGONAL_UP -> diagonalUp(m, N, seq, reset, count, stopAt);
+            };
+        }
+
+        return count;
+    }
+
+    // --- HORIZONTAL: una línea por fila ---
+    private static int horizontal(byte[] m, int N, int seq, int reset, int count, int stopAt) {
+        for (int r = 0; r < N && count < stopAt; r++) {
+            count = line(m, r * N, 1, N, seq, reset, count, stopAt);
+        }
+        return count;
+    }
+
+    // --- VERTICAL: una línea por columna ---
+    private static int vertical(byte[] m, int N, int seq, int reset, int count, int stopAt) {
+        for (int c = 0; c < N && count < stopAt; c++) {
+            count = line(m, c, N, N, seq, reset, count, stopAt);
+        }
+        return count;
+    }
+
+    // --- DIAGONAL DESCENDENTE ↘: desde la fila 0 y desde la columna 0 (solo las de seq celdas o más) ---
+    private static int diagonalDown(byte[] m, int N, int seq, int reset, int count, int stopAt) {
+        for (int c = 0; c <= N - seq && count < stopAt; c++) {
+            count = line(m, c, N + 1, N - c, seq, reset, count, stopAt);
+        }
+        for (int r = 1; r <= N - seq && count < stopAt; r++) {
+            count = line(m, r * N, N + 1, N - r, seq, reset, count, stopAt);
+        }
+        return count;
+    }
+
+    // --- DIAGONAL ASCENDENTE ↗: desde la columna 0 y desde la última fila ---
+    private static int diagonalUp(byte[] m, int N, int seq, int reset, int count, int stopAt) {
+        for (int r = seq - 1; r < N && count < stopAt; r++) {
+            count = line(m, r * N, 1 - N, r + 1, seq, reset, count, stopAt);
+        }
+        for (int c = 1; c <= N - seq && count < stopAt; c++) {
+            count = line(m, (N - 1) * N + c, 1 - N, N - c, seq, reset, count, stopAt);
+        }
+        return count;
+    }
+
+    /**
+     * Recorre {@code length} celdas desde {@code start} avanzando {@code step} (1, N, N+1
+     * o 1-N) y suma a {@code count} las secuencias de {@code seq} bases que encuentra.
+     * Al completar una, la corrida sigue desde {@code reset} (ver {@link SequenceCounting#runAfterSequence}).
+     */
+    private static int line(byte[] m, int start, int step, int length, int seq, int reset,
+                            int count, int stopAt) {
+        byte prev = m[start];
+        int run = 1;
+
+        for (int k = 1, i = start + step; k < length; k++, i += step) {
+            byte b = m[i];
+            if (b != prev) {
+                prev = b;
+                run = 1;
+                continue;
+            }
+
+            if (++run == seq) {
+                if (++count >= stopAt) return count;
+                run = reset;
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,30 @@
+package org.example.service;
+
+/**
+ * Cómo se cuentan las secuencias cuando una corrida tiene más de 4 bases iguales.
+ * Se elige con la propiedad {@code mutant.detector.counting}.
+ */
+public enum SequenceCounting {
+
+    /**
+     * Cada posición donde empieza una secuencia de 4 cuenta: una corrida de L bases
+     * son L - 3 secuencias (AAAAA = 2). Es la regla histórica de todos los motores.
+     */
+    OVERLAPPING,
+
+    /**
+     * Las secuencias no comparten bases: una corrida de L bases son L / 4 secuencias
+     * (AAAAA = 1, AAAAAAAA = 2). Solo la implementa {@link DetectionEngine#RUN_LENGTH}.
+     */
+    NON_OVERLAPPING;
+
+    /**
+     * Largo con que sigue una corrida al completar una secuencia de {@code seq} bases:
+     * con {@code seq - 1} la próxima base igual suma otra, con 0 hacen falta {@code seq} más.
+     * Los recorridos por corridas cuentan con un solo {@code run == seq} y el modo queda
+     * resuelto antes de recorrer la matriz.
+     */
+    int runAfterSequence(int seq) {
+        return this == OVERLAPPING ? seq - 1 : 0;
+    }
+}
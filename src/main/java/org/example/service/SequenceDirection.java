@@ -0,0 +1,14 @@
+package org.example.service;
+
+/**
+ * Dirección en la que se buscan las secuencias de bases iguales.
+ * Un {@link RuleProfile} elige cuáles se usan; el perfil clásico usa las cuatro.
+ */
+public enum SequenceDirection {
+    HORIZONTAL,
+    VERTICAL,
+    /** ↘: fila y columna crecen a la vez. */
+    DIAGONAL_DOWN,
+    /** ↗: la fila baja mientras la columna crece. */
+    DIAGONAL_UP
+}
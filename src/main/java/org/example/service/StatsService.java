@@ -3,18 +3,19 @@ package org.example.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.dto.StatsResponse;
-import org.example.repository.DnaRecordRepository;
 import org.springframework.stereotype.Service;
 
 /**
  * Servicio encargado de obtener las estadísticas de la base de datos (Nivel 3).
+ * Lee los contadores mantenidos en {@link DnaStatsCounters}: no consulta la base
+ * en cada request, así el tiempo no crece con el tamaño de la tabla.
  */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StatsService {
 
-    private final DnaRecordRepository dnaRecordRepository;
+    private final DnaStatsCounters counters;
 
     /**
      * Calcula y retorna las estadísticas de las verificaciones de ADN.
@@ -22,12 +23,12 @@ public class StatsService {
      */
     public StatsResponse getStats() {
 
-        long countMutant = dnaRecordRepository.countByIsMutant(true);
-        long countHuman = dnaRecordRepository.countByIsMutant(false);
+        long countMutant = counters.mutants();
+        long countHuman = counters.humans();
 
         double ratio = calculateRatio(countMutant, countHuman);
 
-        log.info("Estadísticas calculadas: Mutantes={}, Humanos={}, Ratio={}", countMutant, countHuman, ratio);
+        log.debug("Estadísticas calculadas: Mutantes={}, Humanos={}, Ratio={}", countMutant, countHuman, ratio);
 
         return StatsResponse.builder()
                 .countMutantDna(countMutant)
@@ -0,0 +1,118 @@
+package org.example.service;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Recorrido del motor {@link DetectionEngine#VECTOR} con la Vector API (jdk.incubator.vector).
+ *
+ * En vez de mirar celda por celda, carga un segmento de {@code LANES} bases de la fila y lo
+ * compara lane a lane contra los tres segmentos vecinos en cada dirección (corrido 1, 2 y 3
+ * columnas, filas o diagonales). El AND de las tres máscaras marca las celdas donde empieza
+ * una secuencia de 4, y {@code trueCount} las suma de una vez. Las columnas que no llenan
+ * un segmento completo se recorren base por base, como SCALAR.
+ *
+ * Cuenta exactamente las mismas secuencias que {@code MutantDetector.scanRows} (incluidas
+ * las solapadas), así que el veredicto es idéntico. Solo se carga si el módulo está en el
+ * arranque ({@code --add-modules jdk.incubator.vector}); ver {@link MutantDetector}.
+ */
+final class VectorScanner {
+
+    private static final int SEQ = 4;
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+
+    private VectorScanner() {
+    }
+
+    /** Bases comparadas por instrucción (32 con AVX2, 64 con AVX-512). */
+    static int lanes() {
+        return LANES;
+    }
+
+    /**
+     * Igual que {@code MutantDetector.scanRows}: busca las secuencias que empiezan en las
+     * filas [rStart, rEnd) y corta en cuanto hay más de una.
+     *
+     * @param shared contador de todas las bandas en modo paralelo, {@code null} en secuencial.
+     */
+    static boolean scanRows(byte[] m, int N, int rStart, int rEnd, AtomicInteger shared) {
+        // Última columna donde puede empezar un segmento completo sin leer fuera de la fila:
+        // horizontal y diagonales leen hasta 3 columnas a la derecha, la vertical ninguna
+        final int lastShifted = N - SEQ + 1 - LANES;
+        final int lastStraight = N - LANES;
+
+        int count = 0;
+
+        for (int r = rStart; r < rEnd; r++) {
+            if (shared != null && shared.get() > 1) return false;
+
+            final int row = r * N;
+            final boolean down = r <= N - SEQ;
+            final boolean up = r >= SEQ - 1;
+
+            int c = 0;
+            for (; c <= lastShifted; c += LANES) {
+                int i = row + c;
+                ByteVector base = ByteVector.fromArray(SPECIES, m, i);
+
+                int k = run(base, m, i, 1).trueCount();
+                if (down) {
+                    k += run(base, m, i, N + 1).trueCount();
+                }
+                if (up) {
+                    k += run(base, m, i, 1 - N).trueCount();
+                }
+                if (k > 0 && (count = add(shared, count, k)) > 1) return true;
+            }
+
+            // Resto de la fila base por base (y N < LANES + 3: la fila entera)
+            for (int t = c; t <= N - SEQ; t++) {
+                int i = row + t;
+                byte b = m[i];
+                int k = (checkRun(m, i, 1, b) ? 1 : 0)
+                        + (down && checkRun(m, i, N + 1, b) ? 1 : 0)
+                        + (up && checkRun(m, i, 1 - N, b) ? 1 : 0);
+                if (k > 0 && (count = add(shared, count, k)) > 1) return true;
+            }
+
+            // Vertical: no se corre de columna, así que el segmento puede llegar hasta el borde
+            if (down) {
+                int v = 0;
+                for (; v <= lastStraight; v += LANES) {
+                    int i = row + v;
+                    int k = run(ByteVector.fromArray(SPECIES, m, i), m, i, N).trueCount();
+                    if (k > 0 && (count = add(shared, count, k)) > 1) return true;
+                }
+                for (; v < N; v++) {
+                    int i = row + v;
+                    if (checkRun(m, i, N, m[i]) && (count = add(shared, count, 1)) > 1) return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    // Lanes donde base == m[i + step] == m[i + 2*step] == m[i + 3*step]
+    private static VectorMask<Byte> run(ByteVector base, byte[] m, int i, int step) {
+        return base.eq(ByteVector.fromArray(SPECIES, m, i + step))
+                .and(base.eq(ByteVector.fromArray(SPECIES, m, i + 2 * step)))
+                .and(base.eq(ByteVector.fromArray(SPECIES, m, i + 3 * step)));
+    }
+
+    private static boolean checkRun(byte[] m, int i, int step, byte b) {
+        return m[i + step] == b &&
+                m[i + 2 * step] == b &&
+                m[i + 3 * step] == b;
+    }
+
+    // Secuencial: conteo local. Paralelo: suma al contador compartido.
+    private static int add(AtomicInteger shared, int localCount, int k) {
+        return shared == null ? localCount + k : shared.addAndGet(k);
+    }
+}
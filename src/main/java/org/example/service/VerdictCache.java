@@ -0,0 +1,79 @@
+package org.example.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Caché en memoria (digest, perfil) → veredicto delante de {@code DnaRecordRepository.findByDnaHashAndRulesId}.
+ *
+ * Usa Caffeine (desalojo W-TinyLFU) acotado por tamaño y TTL, con la clave binaria
+ * {@link DnaDigest} en vez del hash hexadecimal de 64 caracteres. Los ADN nuevos se
+ * cargan al guardarse (write-through), así que un reenvío no vuelve a tocar la base.
+ *
+ * Las métricas ({@code cache.gets}, {@code cache.evictions}, {@code dna.cache.hit.ratio})
+ * se leen de las estadísticas de Caffeine al exportar, no en cada acceso.
+ */
+@Component
+public class VerdictCache implements MeterBinder {
+
+    private final Cache<DnaDigest, Boolean> cache;
+
+    public VerdictCache(@Value("${mutant.cache.max-size:100000}") long maxSize,
+                        @Value("${mutant.cache.ttl:PT10M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /** @return el veredicto guardado, o {@code null} si no está en caché. */
+    public Boolean get(DnaDigest digest) {
+        return cache.getIfPresent(digest);
+    }
+
+    public void put(DnaDigest digest, boolean isMutant) {
+        cache.put(digest, isMutant);
+    }
+
+    /** Olvida el veredicto (por ejemplo, si no se pudo guardar y hay que volver a calcularlo). */
+    public void invalidate(DnaDigest digest) {
+        cache.invalidate(digest);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /** Aplica ya los desalojos pendientes (Caffeine los hace en segundo plano). */
+    public void cleanUp() {
+        cache.cleanUp();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    /** Hits, misses y desalojos acumulados. */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new CaffeineCacheMetrics<>(cache, "verdicts", Tags.empty()).bindTo(registry);
+        Gauge.builder("dna.cache.hit.ratio", this, c -> c.stats().hitRate())
+                .description("Proporción de lookups resueltos por la caché de veredictos")
+                .register(registry);
+    }
+}
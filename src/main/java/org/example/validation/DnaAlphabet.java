@@ -0,0 +1,109 @@
+package org.example.validation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+
+/**
+ * Validación del alfabeto del ADN (A, T, C, G) sin expresiones regulares, compartida por
+ * {@link ValidDnaSequenceValidator}, {@code DnaSample} y {@code MutantDetector}.
+ *
+ * Sobre {@code char}: tabla de 256 entradas, un acceso por carácter. Sobre {@code byte[]}
+ * (la fila ya copiada a la matriz): SWAR, 8 bases por {@code long}. Cada palabra se
+ * compara contra las cuatro letras a la vez y solo si alguna no coincide se busca la
+ * columna exacta. Todos los métodos devuelven la primera columna inválida, o -1.
+ */
+public final class DnaAlphabet {
+
+    private static final boolean[] VALID = new boolean[256];
+
+    static {
+        VALID['A'] = true;
+        VALID['T'] = true;
+        VALID['C'] = true;
+        VALID['G'] = true;
+    }
+
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+    private static final long HIGH = 0x8080808080808080L;
+    private static final long A = 0x4141414141414141L;
+    private static final long C = 0x4343434343434343L;
+    private static final long G = 0x4747474747474747L;
+    private static final long T = 0x5454545454545454L;
+
+    private DnaAlphabet() {
+    }
+
+    public static boolean isBase(char ch) {
+        return ch < 256 && VALID[ch];
+    }
+
+    /** Primera columna de {@code row} que no es A, T, C o G (-1 si no hay). */
+    public static int firstInvalid(String row) {
+        for (int c = 0, n = row.length(); c < n; c++) {
+            if (!isBase(row.charAt(c))) return c;
+        }
+        return -1;
+    }
+
+    /** Como {@link #firstInvalid(String)} sobre {@code chars[offset, offset + length)}. */
+    public static int firstInvalid(char[] chars, int offset, int length) {
+        for (int c = 0; c < length; c++) {
+            if (!isBase(chars[offset + c])) return c;
+        }
+        return -1;
+    }
+
+    /** Como {@link #firstInvalid(String)} sobre {@code bytes[offset, offset + length)}, de a 8 bases. */
+    public static int firstInvalid(byte[] bytes, int offset, int length) {
+        int c = 0;
+        for (; c + Long.BYTES <= length; c += Long.BYTES) {
+            long w = (long) LONGS.get(bytes, offset + c);
+            long ok = zeroBytes(w ^ A) | zeroBytes(w ^ C) | zeroBytes(w ^ G) | zeroBytes(w ^ T);
+            if (ok != HIGH) {
+                // Little endian: el byte de la columna más baja es el menos significativo
+                return c + (Long.numberOfTrailingZeros(~ok & HIGH) >>> 3);
+            }
+        }
+        for (; c < length; c++) {
+            if (!VALID[bytes[offset + c] & 0xFF]) return c;
+        }
+        return -1;
+    }
+
+    /**
+     * Copia {@code row} a {@code dst} desde {@code offset} y la valida. La copia no
+     * ramifica por carácter; la validación se hace después sobre los bytes copiados.
+     * @return la primera columna inválida, o -1 si la fila es válida.
+     */
+    public static int copyRow(String row, byte[] dst, int offset) {
+        final int n = row.length();
+        int wide = 0;
+        for (int c = 0; c < n; c++) {
+            char ch = row.charAt(c);
+            wide |= ch;
+            dst[offset + c] = (byte) ch;
+        }
+        // Algún carácter fuera de ASCII: el byte copiado podría parecer una base válida
+        return wide >= 128 ? firstInvalid(row) : firstInvalid(dst, offset, n);
+    }
+
+    /** Como {@link #copyRow(String, byte[], int)} desde {@code chars[srcOffset, srcOffset + length)}. */
+    public static int copyRow(char[] chars, int srcOffset, int length, byte[] dst, int offset) {
+        int wide = 0;
+        for (int c = 0; c < length; c++) {
+            char ch = chars[srcOffset + c];
+            wide |= ch;
+            dst[offset + c] = (byte) ch;
+        }
+        return wide >= 128 ? firstInvalid(chars, srcOffset, length) : firstInvalid(dst, offset, length);
+    }
+
+    /** 0x80 en cada byte de {@code x} que vale 0, 0x00 en el resto (sin acarreo entre bytes). */
+    private static long zeroBytes(long x) {
+        long t = (x & LOW7) + LOW7;
+        return ~(t | x | LOW7);
+    }
+}
@@ -10,7 +10,7 @@ import java.lang.annotation.*;
 @Target({ ElementType.FIELD })
 @Retention(RetentionPolicy.RUNTIME)
 public @interface ValidDnaSequence {
-    String message() default "ADN inválido: debe ser NxN y contener solo A,T,C,G";
+    String message() default "ADN inválido: debe ser MxK (M, K >= 4) y contener solo A,T,C,G";
     Class<?>[] groups() default {};
     Class<? extends Payload>[] payload() default {};
 }
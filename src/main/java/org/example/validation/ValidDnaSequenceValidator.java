@@ -6,8 +6,6 @@ import jakarta.validation.ConstraintValidatorContext;
 // Implementa la interfaz para la anotación @ValidDnaSequence
 public class ValidDnaSequenceValidator implements ConstraintValidator<ValidDnaSequence, String[]> {
 
-    // Patrón regex para verificar que SOLO existan caracteres A, T, C, G
-    private static final String VALID_CHARS_PATTERN = "^[ATCG]+$";
     private static final int MIN_SIZE = 4;
 
     @Override
@@ -18,29 +16,52 @@ public class ValidDnaSequenceValidator implements ConstraintValidator<ValidDnaSe
     @Override
     public boolean isValid(String[] dna, ConstraintValidatorContext context) {
 
-        // --- 1. Verificación básica (Null, Vacío o Demasiado Pequeño) ---
-        if (dna == null || dna.length < MIN_SIZE) {
-            return false;
+        // --- 1. Verificación básica (Vacío o Demasiado Pequeño) ---
+        // El null lo informa @NotNull; acá solo daría un segundo error para el mismo campo
+        if (dna == null) {
+            return true;
         }
+        if (dna.length < MIN_SIZE) {
+            return reject(context, "tiene " + dna.length + " filas, el mínimo es " + MIN_SIZE);
+        }
+
+        final int M = dna.length; // M = número de filas
 
-        final int N = dna.length; // N = número de filas
+        // K = largo de la primera fila: matrices MxK (casi siempre M = K)
+        if (dna[0] == null || dna[0].length() < MIN_SIZE) {
+            return reject(context, "dna[0] tiene menos de " + MIN_SIZE + " bases");
+        }
+        final int K = dna[0].length();
 
-        // --- 2. Validación de Caracteres y Formato NxN ---
-        for (String row : dna) {
+        // --- 2. Validación de Caracteres y Formato MxK ---
+        for (int r = 0; r < M; r++) {
+            String row = dna[r];
 
-            // Si alguna fila es nula o no tiene la longitud N (matriz no cuadrada)
-            if (row == null || row.length() != N) {
-                // Se podría usar ConstraintValidatorContext.buildConstraintViolationWithTemplate()
-                return false;
+            // Si alguna fila es nula o no tiene el largo de la primera
+            if (row == null || row.length() != K) {
+                return reject(context, "dna[" + r + "] no tiene largo " + K);
             }
 
-            // Verifica que el contenido de la fila solo sean caracteres válidos (A, T, C, G)
-            if (!row.matches(VALID_CHARS_PATTERN)) {
-                return false;
+            // Solo A, T, C, G: tabla de 256 entradas, corta en el primer carácter inválido
+            int column = DnaAlphabet.firstInvalid(row);
+            if (column >= 0) {
+                return reject(context, "dna[" + r + "][" + column + "] no es A, T, C ni G");
             }
         }
 
-        // Si todas las filas pasan las validaciones NxN y ATCG, es válido.
+        // Si todas las filas pasan las validaciones MxK y ATCG, es válido.
         return true;
     }
-}
\ No newline at end of file
+
+    /**
+     * Agrega la posición del problema al mensaje de la anotación. Solo índices: el
+     * template se interpola, así que no se copia texto del request.
+     */
+    private static boolean reject(ConstraintValidatorContext context, String detail) {
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(
+                        context.getDefaultConstraintMessageTemplate() + " (" + detail + ")")
+                .addConstraintViolation();
+        return false;
+    }
+}
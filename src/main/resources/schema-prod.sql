@@ -0,0 +1,43 @@
+-- Esquema explicito del perfil "prod" (H2 en archivo). Hibernate solo lo valida
+-- (ddl-auto=validate), asi los cambios de la entidad no alteran la base en silencio.
+
+-- Mismo incremento que allocationSize de DnaRecord (ids reservados de a 50)
+CREATE SEQUENCE IF NOT EXISTS dna_records_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS dna_records (
+    id         BIGINT       NOT NULL PRIMARY KEY,
+    dna_hash   VARBINARY(32) NOT NULL,
+    rules_id   VARCHAR(32)  DEFAULT 'classic' NOT NULL,
+    is_mutant  BOOLEAN      NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT uk_dna_records_dna_hash_rules UNIQUE (dna_hash, rules_id)
+);
+
+-- Bases creadas antes de los perfiles de reglas: los registros existentes son del
+-- perfil clasico y el hash pasa a ser unico por perfil
+ALTER TABLE dna_records ADD COLUMN IF NOT EXISTS rules_id VARCHAR(32) DEFAULT 'classic' NOT NULL;
+ALTER TABLE dna_records DROP CONSTRAINT IF EXISTS uk_dna_records_dna_hash;
+ALTER TABLE dna_records ADD CONSTRAINT IF NOT EXISTS uk_dna_records_dna_hash_rules UNIQUE (dna_hash, rules_id);
+
+-- Conteo por veredicto al sembrar los contadores de /stats (countByRulesIdAndIsMutant)
+CREATE INDEX IF NOT EXISTS idx_dna_records_is_mutant ON dna_records (is_mutant);
+
+CREATE TABLE IF NOT EXISTS dna_stats (
+    id           BIGINT       NOT NULL PRIMARY KEY,
+    rules_id     VARCHAR(32),
+    mutant_count BIGINT       NOT NULL,
+    human_count  BIGINT       NOT NULL,
+    clean        BOOLEAN      NOT NULL,
+    updated_at   TIMESTAMP(6) NOT NULL
+);
+
+-- Snapshots de antes de contar por perfil: sin rules_id no se usan y se recuenta
+ALTER TABLE dna_stats ADD COLUMN IF NOT EXISTS rules_id VARCHAR(32);
+
+-- Reparto en shards con que se guardaron los registros (mutant.storage.shards). Las tablas
+-- dna_records_<i> las crea DnaShardRebalancer al arrancar; sin fila = solo dna_records.
+CREATE TABLE IF NOT EXISTS dna_shards (
+    id          INT          NOT NULL PRIMARY KEY,
+    shard_count INT          NOT NULL,
+    updated_at  TIMESTAMP(6) NOT NULL
+);
@@ -2,6 +2,10 @@ package org.example.controller;
 
 import org.example.entity.DnaRecord;
 import org.example.repository.DnaRecordRepository;
+import org.example.service.DnaRecordWriter;
+import org.example.service.RuleProfile;
+import org.example.service.RuleProfileRegistry;
+import org.example.service.VerdictCache;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,10 +14,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.example.dto.DnaRequest;
 import org.example.dto.StatsResponse;
 import org.example.dto.ErrorResponse;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.hamcrest.Matchers.containsString;
@@ -25,7 +32,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 /**
  * Test de integración de los endpoints /mutant y /stats.
  */
-@SpringBootTest
+@SpringBootTest(properties = {
+        "mutant.rules.profiles.horizontal5.sequence-length=5",
+        "mutant.rules.profiles.horizontal5.threshold=1",
+        "mutant.rules.profiles.horizontal5.directions=HORIZONTAL"
+})
 @AutoConfigureMockMvc
 class MutantControllerTest {
 
@@ -35,6 +46,15 @@ class MutantControllerTest {
     @Autowired
     private DnaRecordRepository dnaRecordRepository;
 
+    @Autowired
+    private VerdictCache verdictCache;
+
+    @Autowired
+    private DnaRecordWriter dnaRecordWriter;
+
+    @Autowired
+    private RuleProfileRegistry ruleProfiles;
+
     // Requests JSON de uso común
     private final String MUTANTE = json("""
         ["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"]
@@ -56,10 +76,11 @@ class MutantControllerTest {
     """);
 
 
-    /** Limpio la base después de cada test para evitar interferencias. */
+    /** Limpio la base y la caché después de cada test para evitar interferencias. */
     @AfterEach
     void limpiarBase() {
         dnaRecordRepository.deleteAll();
+        verdictCache.invalidateAll();
     }
 
     // POST /mutant
@@ -99,6 +120,34 @@ class MutantControllerTest {
                 "No debería guardar dos veces el mismo ADN");
     }
 
+    @Test
+    @DisplayName("Perfil de reglas: el mismo ADN tiene un veredicto y un registro por perfil")
+    void perfilDeReglasPorRequest() throws Exception {
+
+        postDna(MUTANTE).andExpect(status().isOk());
+        // Sin corridas horizontales de 5: humano con el perfil, aunque el clásico ya lo guardó como mutante
+        postDna(MUTANTE, "horizontal5").andExpect(status().isForbidden());
+        postDna(MUTANTE, "horizontal5").andExpect(status().isForbidden());
+        postDna(MUTANTE, "classic").andExpect(status().isOk());
+
+        assertEquals(2, dnaRecordRepository.count());
+        assertEquals(java.util.Set.of("classic", ruleProfiles.resolve("horizontal5").key()), dnaRecordRepository.findAll().stream()
+                .map(DnaRecord::getRulesId)
+                .collect(java.util.stream.Collectors.toSet()));
+    }
+
+    @Test
+    @DisplayName("Perfil de reglas desconocido → 400 con los perfiles disponibles")
+    void perfilDeReglasDesconocido() throws Exception {
+
+        postDna(MUTANTE, "strict")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("'strict'")))
+                .andExpect(jsonPath("$.message", containsString("horizontal5")));
+
+        assertEquals(0, dnaRecordRepository.count());
+    }
+
     @Test
     @DisplayName("Detecta mutante con diagonal ascendente")
     void mutanteDiagonalAscendente() throws Exception {
@@ -139,12 +188,12 @@ class MutantControllerTest {
 
 
     @Test
-    @DisplayName("Devuelve 400 si el ADN no es NxN")
-    void devuelveBadRequestSiElAdnNoEsNxN() throws Exception {
+    @DisplayName("Devuelve 400 si el ADN tiene menos de 4 filas")
+    void devuelveBadRequestSiElAdnEsMenorA4x4() throws Exception {
 
         postDna(NO_CUADRADO)
                 .andExpect(status().isBadRequest())
-                .andExpect(jsonPath("$.message", containsString("debe ser NxN")));
+                .andExpect(jsonPath("$.message", containsString("debe ser MxK")));
 
         assertEquals(0, dnaRecordRepository.count());
     }
@@ -158,6 +207,22 @@ class MutantControllerTest {
                 .andExpect(jsonPath("$.message", containsString("solo A")));
     }
 
+    @Test
+    @DisplayName("El error de caracter inválido indica fila y columna")
+    void errorIndicaFilaYColumna() throws Exception {
+
+        postDna(CON_CARACTER_INVALIDO)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.row", is(0)))
+                .andExpect(jsonPath("$.column", is(2)))
+                .andExpect(jsonPath("$.message", containsString("dna[0][2] = 'X'")));
+
+        // Sin posición (el array falta): no se incluyen los campos
+        postDna("{ }")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.row").doesNotExist());
+    }
+
     @Test
     @DisplayName("Devuelve 400 si el campo dna es null o falta")
     void devuelveBadRequestDnaNull() throws Exception {
@@ -180,6 +245,122 @@ class MutantControllerTest {
     }
 
 
+    // POST /mutant/batch
+
+    @Test
+    @DisplayName("Lote: devuelve un veredicto por ítem y guarda cada ADN una vez")
+    void loteDevuelveVeredictosYGuarda() throws Exception {
+
+        String lote = """
+            { "items": [
+                ["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"],
+                ["ATGCGA","CAGTGC","TTATTT","AGACGG","GCGTCA","TCACTG"],
+                ["ATGC","CAGT","TTAT"],
+                ["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"]
+            ] }
+        """;
+
+        mockMvc.perform(post("/mutant/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(lote))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].mutant", is(true)))
+                .andExpect(jsonPath("$.results[1].mutant", is(false)))
+                .andExpect(jsonPath("$.results[2].error", containsString("debe ser MxK")))
+                .andExpect(jsonPath("$.count_mutant_dna", is(2)))
+                .andExpect(jsonPath("$.count_human_dna", is(1)))
+                .andExpect(jsonPath("$.count_invalid_dna", is(1)));
+
+        assertEquals(2, dnaRecordRepository.count());
+    }
+
+    @Test
+    @DisplayName("Lote vacío devuelve 400")
+    void loteVacioDevuelveBadRequest() throws Exception {
+
+        mockMvc.perform(post("/mutant/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"items\": [] }"))
+                .andExpect(status().isBadRequest());
+    }
+
+
+    // POST /mutant/stream
+
+    @Test
+    @DisplayName("Stream NDJSON: una línea de veredicto por ADN, en orden")
+    void streamNdjsonDevuelveUnaLineaPorAdn() throws Exception {
+
+        String body = """
+            {"dna":["ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"]}
+            {"dna":["ATGCGA","CAGTGC","TTATTT","AGACGG","GCGTCA","TCACTG"]}
+            {"dna":["ATGC","CAGT","TTAT"]}
+            """;
+
+        MvcResult started = mockMvc.perform(post("/mutant/stream")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String out = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = out.strip().split("\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].contains("\"index\":0") && lines[0].contains("\"mutant\":true"));
+        assertTrue(lines[1].contains("\"index\":1") && lines[1].contains("\"mutant\":false"));
+        assertTrue(lines[2].contains("\"index\":2") && lines[2].contains("debe ser MxK"));
+
+        assertEquals(2, dnaRecordRepository.count());
+    }
+
+
+    // POST /mutant/rows
+
+    @Test
+    @DisplayName("Filas: ADN MxK en text/plain, una fila por línea")
+    void filasRectangulares() throws Exception {
+
+        // 8x4: vertical de T en la columna 1 y horizontal de C en la fila 6
+        postRows("ATGC\nCTGA\nGTCA\nATAG\nGCAC\nACGT\nCCCC\nTAGA\n").andExpect(status().isOk());
+        postRows("ATGC\nCAGT\nTTAT\nAGAC\nCATG\n").andExpect(status().isForbidden());
+
+        assertEquals(2, dnaRecordRepository.count());
+        assertEquals(1, dnaRecordRepository.countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, true));
+    }
+
+    @Test
+    @DisplayName("Filas: el mismo ADN por /mutant/rows y por /mutant es un solo registro")
+    void filasMismoRegistroQueJson() throws Exception {
+
+        postRows("ATGCGA\r\nCAGTGC\r\nTTATGT\r\nAGAAGG\r\nCCCCTA\r\nTCACTG").andExpect(status().isOk());
+        postDna(MUTANTE).andExpect(status().isOk());
+
+        assertEquals(1, dnaRecordRepository.count());
+    }
+
+    @Test
+    @DisplayName("Filas: 400 con la posición de la fila inválida")
+    void filasInvalidas() throws Exception {
+
+        postRows("ATGC\nCAGT\nTTXT\nAGAC\n")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.row", is(2)))
+                .andExpect(jsonPath("$.column", is(2)));
+        postRows("ATGC\nCAGT\n")
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message", containsString("debe ser MxK")));
+        // Más larga que mutant.rows.max-columns: se corta sin leer el resto de la línea
+        postRows("ATGC\n" + "A".repeat(100_001))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.row", is(1)));
+
+        assertEquals(0, dnaRecordRepository.count());
+    }
+
+
     // GET /stats
 
 
@@ -190,6 +371,10 @@ class MutantControllerTest {
         dnaRecordRepository.save(nuevoRegistro("h1", true));
         dnaRecordRepository.save(nuevoRegistro("h2", true));
         dnaRecordRepository.save(nuevoRegistro("h3", false));
+        // El mismo ADN con otro perfil no cuenta: /stats es del perfil por defecto
+        DnaRecord otroPerfil = nuevoRegistro("h1", true);
+        otroPerfil.setRulesId(ruleProfiles.resolve("horizontal5").key());
+        dnaRecordRepository.save(otroPerfil);
 
         mockMvc.perform(get("/stats")
                         .contentType(MediaType.APPLICATION_JSON))
@@ -244,20 +429,21 @@ class MutantControllerTest {
     @DisplayName("Cobertura: Cubre DnaRecord equals, hashCode, getters y setters")
     void testDnaRecordCoverage() {
         LocalDateTime now = LocalDateTime.now();
+        final byte[] HASH_TEST = "hash_test".getBytes(StandardCharsets.UTF_8);
 
         DnaRecord r1 = new DnaRecord();
         r1.setId(1L);
-        r1.setDnaHash("hash_test");
+        r1.setDnaHash(HASH_TEST);
         r1.setMutant(true);
         r1.setCreatedAt(now);
 
         assertEquals(1L, r1.getId());
-        assertEquals("hash_test", r1.getDnaHash());
+        assertArrayEquals(HASH_TEST, r1.getDnaHash());
         assertTrue(r1.isMutant());
         assertEquals(now, r1.getCreatedAt());
 
         DnaRecord r2 = new DnaRecord();
-        r2.setDnaHash("hash_test");
+        r2.setDnaHash(HASH_TEST);
         r2.setMutant(true);
         r2.setCreatedAt(now);
 
@@ -265,7 +451,7 @@ class MutantControllerTest {
         assertNotEquals(r1, r2);
 
         DnaRecord r3 = new DnaRecord();
-        r3.setDnaHash("otro_hash");
+        r3.setDnaHash("otro_hash".getBytes(StandardCharsets.UTF_8));
         assertNotEquals(r1.hashCode(), r3.hashCode());
 
         assertNotNull(r1.toString());
@@ -391,19 +577,42 @@ class MutantControllerTest {
         return "{ \"dna\": " + array + " }";
     }
 
-    /** Helper simple para no repetir código en POST /mutant. */
+    /**
+     * Helper simple para no repetir código en POST /mutant.
+     * Espera a que el write-behind guarde el registro para poder consultar la base.
+     */
     private org.springframework.test.web.servlet.ResultActions postDna(String json)
             throws Exception {
+        return postDna(json, null);
+    }
+
+    /** POST /mutant/rows con {@code rows} como body text/plain. */
+    private org.springframework.test.web.servlet.ResultActions postRows(String rows) throws Exception {
+        var result = mockMvc.perform(post("/mutant/rows")
+                .contentType(MediaType.TEXT_PLAIN)
+                .content(rows));
+        assertTrue(dnaRecordWriter.flush(Duration.ofSeconds(5)), "El write-behind no terminó de guardar");
+        return result;
+    }
+
+    /** Igual que {@link #postDna(String)} eligiendo el perfil de reglas ({@code ?rules=}). */
+    private org.springframework.test.web.servlet.ResultActions postDna(String json, String rules)
+            throws Exception {
+
+        var request = post("/mutant");
+        if (rules != null) request.param("rules", rules);
 
-        return mockMvc.perform(post("/mutant")
+        var result = mockMvc.perform(request
                 .contentType(MediaType.APPLICATION_JSON)
                 .content(json));
+        assertTrue(dnaRecordWriter.flush(Duration.ofSeconds(5)), "El write-behind no terminó de guardar");
+        return result;
     }
 
     /** Crea un registro básico para pruebas de stats. */
     private DnaRecord nuevoRegistro(String hash, boolean mutante) {
         DnaRecord r = new DnaRecord();
-        r.setDnaHash(hash);
+        r.setDnaHash(hash.getBytes(StandardCharsets.UTF_8));
         r.setMutant(mutante);
         r.setCreatedAt(LocalDateTime.now());
         return r;
@@ -0,0 +1,74 @@
+package org.example.dto;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bean Validation sobre el body del perfil reactivo ({@code @Valid DnaRequest}).
+ */
+class DnaRequestValidationTest {
+
+    private static ValidatorFactory factory;
+    private static Validator validator;
+
+    @BeforeAll
+    static void setup() {
+        factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+    }
+
+    @AfterAll
+    static void tearDown() {
+        factory.close();
+    }
+
+    @Test
+    @DisplayName("ADN MxK con bases válidas: sin errores")
+    void adnValido() {
+        assertTrue(validator.validate(request("ATGCGA", "CAGTGC", "TTATGT", "AGAAGG")).isEmpty());
+        assertTrue(validator.validate(request("ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Base inválida: un solo error con la posición")
+    void baseInvalida() {
+        Set<ConstraintViolation<DnaRequest>> errors = validator.validate(request("ATGC", "ATXC", "ATGC", "ATGC"));
+
+        assertEquals(1, errors.size());
+        assertTrue(errors.iterator().next().getMessage().contains("dna[1][2]"));
+    }
+
+    @Test
+    @DisplayName("Filas de distinto largo o muy pocas: rechazadas")
+    void formatoInvalido() {
+        assertEquals(1, validator.validate(request("ATGC", "ATG", "ATGC", "ATGC")).size());
+        assertEquals(1, validator.validate(request("ATGC", "ATGC", "ATGC")).size());
+        assertEquals(1, validator.validate(request("ATG", "ATG", "ATG", "ATG")).size());
+        assertEquals(1, validator.validate(request("ATGC", null, "ATGC", "ATGC")).size());
+    }
+
+    @Test
+    @DisplayName("dna null: solo el error de @NotNull")
+    void dnaNull() {
+        Set<ConstraintViolation<DnaRequest>> errors = validator.validate(new DnaRequest());
+
+        assertEquals(1, errors.size());
+        assertEquals("El array de ADN no puede ser nulo.", errors.iterator().next().getMessage());
+    }
+
+    private static DnaRequest request(String... dna) {
+        DnaRequest req = new DnaRequest();
+        req.setDna(dna);
+        return req;
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.example.exception.InvalidDnaException;
+import org.example.service.DnaFingerprinter;
+import org.example.service.DnaMetrics;
+import org.example.service.DnaSample;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaSampleDeserializerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new SimpleModule()
+            .addDeserializer(DnaSample.class, new DnaSampleDeserializer(new DnaFingerprinter(), new DnaMetrics())));
+
+    private DnaSample leer(String json) throws Exception {
+        // Desde bytes, como llega el body del request
+        return mapper.readValue(json.getBytes(StandardCharsets.UTF_8), DnaSample.class);
+    }
+
+    @Test
+    @DisplayName("Arma la misma matriz y el mismo hash que DnaSample.parse")
+    void mismoResultadoQueParse() throws Exception {
+        String[] dna = {"ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"};
+
+        DnaSample leido = leer("{\"dna\":[\"" + String.join("\",\"", dna) + "\"]}");
+        DnaSample esperado = DnaSample.parse(dna);
+
+        assertEquals(esperado.digest(), leido.digest());
+        assertEquals(6, leido.matrix().size());
+        for (int r = 0; r < 6; r++) {
+            for (int c = 0; c < 6; c++) {
+                assertEquals(esperado.matrix().at(r, c), leido.matrix().at(r, c));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Matriz grande: crece fila por fila hasta N*N")
+    void matrizGrande() throws Exception {
+        int n = 200;
+        String[] dna = new String[n];
+        StringBuilder json = new StringBuilder("{\"dna\":[");
+        for (int r = 0; r < n; r++) {
+            dna[r] = "ATCG".repeat(n / 4);
+            json.append(r > 0 ? ",\"" : "\"").append(dna[r]).append('"');
+        }
+        json.append("]}");
+
+        assertEquals(DnaSample.parse(dna).digest(), leer(json.toString()).digest());
+    }
+
+    @Test
+    @DisplayName("Matriz MxK: mismas filas y fingerprint que DnaSample.parse")
+    void matrizRectangular() throws Exception {
+        String[] dna = {"ATGC", "CAGT", "TTAT", "AGAC", "AGAC"};
+
+        DnaSample s = leer("{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\",\"AGAC\",\"AGAC\"]}");
+
+        assertEquals(5, s.matrix().size());
+        assertEquals(4, s.matrix().columns());
+        assertEquals(DnaSample.parse(dna).digest(), s.digest());
+    }
+
+    @Test
+    @DisplayName("Ignora otros campos, antes o después de dna")
+    void ignoraCamposDesconocidos() throws Exception {
+        DnaSample s = leer("""
+                {"id": {"x": [1, 2]}, "dna": ["ATGC","CAGT","TTAT","AGAC"], "extra": "x"}
+                """);
+
+        assertEquals(4, s.matrix().size());
+    }
+
+    @Test
+    @DisplayName("Rechaza ADN con filas de distinto largo, caracteres inválidos o menor a 4x4")
+    void rechazaAdnInvalido() {
+        for (String json : new String[]{
+                "{\"dna\":[\"ATGC\",\"CAGT\",\"TTAT\"]}",
+                "{\"dna\":[\"ATG\",\"CAG\",\"TTA\",\"AGA\",\"AGA\"]}",
+                "{\"dna\":[\"ATGC\",\"CAGT\",\"TTA\",\"AGAC\"]}",
+                "{\"dna\":[\"ATGC\",\"CAXT\",\"TTAT\",\"AGAC\"]}",
+                "{\"dna\":[\"AAA\",\"AAA\",\"AAA\"]}",
+                "{\"dna\":[\"ATGC\",null,\"TTAT\",\"AGAC\"]}",
+                "{\"dna\":[]}",
+                "{\"dna\":\"ATGC\"}"}) {
+            InvalidDnaException e = assertThrows(InvalidDnaException.class, () -> leer(json), json);
+            assertTrue(e.getMessage().startsWith(DnaSample.INVALID_MESSAGE), e.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Informa la fila y la columna del carácter inválido")
+    void informaPosicion() {
+        InvalidDnaException e = assertThrows(InvalidDnaException.class,
+                () -> leer("{\"dna\":[\"ATGC\",\"CAGT\",\"TTAX\",\"AGAC\"]}"));
+
+        assertEquals(2, e.getRow());
+        assertEquals(3, e.getColumn());
+        assertTrue(e.getMessage().contains("dna[2][3] = 'X'"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Sin campo dna o con dna null informa que falta el array")
+    void dnaFaltanteONull() {
+        assertEquals(DnaSampleDeserializer.NULL_MESSAGE,
+                assertThrows(InvalidDnaException.class, () -> leer("{ }")).getMessage());
+        assertEquals(DnaSampleDeserializer.NULL_MESSAGE,
+                assertThrows(InvalidDnaException.class, () -> leer("{\"dna\": null}")).getMessage());
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaHashBinaryMigrationTest {
+
+    private static final String HASH_1 = "00112233445566778899aabbccddeeff00112233445566778899aabbccddeeff";
+    private static final String HASH_2 = "ffeeddccbbaa99887766554433221100ffeeddccbbaa99887766554433221100";
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setup() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:migration_test", "sa", "", true);
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Convierte los hashes hexadecimales existentes a binario y mantiene la unicidad")
+    void migraTablaConHashHex() {
+        jdbc.execute("""
+                CREATE TABLE dna_records (
+                    id BIGINT PRIMARY KEY,
+                    dna_hash VARCHAR(64) NOT NULL UNIQUE,
+                    is_mutant BOOLEAN NOT NULL,
+                    created_at TIMESTAMP NOT NULL)
+                """);
+        jdbc.update("INSERT INTO dna_records VALUES (1, ?, TRUE, CURRENT_TIMESTAMP)", HASH_1);
+        jdbc.update("INSERT INTO dna_records VALUES (2, ?, FALSE, CURRENT_TIMESTAMP)", HASH_2);
+
+        new DnaHashBinaryMigration(jdbc, true).migrate();
+
+        byte[] stored = jdbc.queryForObject("SELECT dna_hash FROM dna_records WHERE id = 1", byte[].class);
+        assertArrayEquals(HexFormat.of().parseHex(HASH_1), stored);
+        assertEquals(1, jdbc.queryForObject(
+                "SELECT COUNT(*) FROM dna_records WHERE dna_hash = ?", Integer.class, HexFormat.of().parseHex(HASH_2)));
+
+        assertThrows(DuplicateKeyException.class, () -> jdbc.update(
+                "INSERT INTO dna_records VALUES (3, ?, TRUE, CURRENT_TIMESTAMP)", (Object) stored));
+    }
+
+    @Test
+    @DisplayName("Sin tabla o con la columna ya binaria no hace nada")
+    void sinCambios() {
+        assertDoesNotThrow(() -> new DnaHashBinaryMigration(jdbc, true).migrate());
+
+        jdbc.execute("CREATE TABLE dna_records (id BIGINT PRIMARY KEY, dna_hash VARBINARY(32) NOT NULL UNIQUE)");
+        new DnaHashBinaryMigration(jdbc, true).migrate();
+
+        assertEquals("BINARY VARYING", jdbc.queryForObject("""
+                SELECT data_type FROM information_schema.columns
+                WHERE table_name = 'DNA_RECORDS' AND column_name = 'DNA_HASH'
+                """, String.class));
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaRecordRulesMigrationTest {
+
+    private static final byte[] HASH = HexFormat.of().parseHex(
+            "00112233445566778899aabbccddeeff00112233445566778899aabbccddeeff");
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void setup() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:rules_migration_test", "sa", "", true);
+        jdbc = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbc.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Agrega rules_id como perfil clásico y hace único (dna_hash, rules_id)")
+    void migraTablaSinPerfiles() {
+        jdbc.execute("""
+                CREATE TABLE dna_records (
+                    id BIGINT PRIMARY KEY,
+                    dna_hash VARBINARY(32) NOT NULL UNIQUE,
+                    is_mutant BOOLEAN NOT NULL,
+                    created_at TIMESTAMP NOT NULL)
+                """);
+        jdbc.update("INSERT INTO dna_records VALUES (1, ?, TRUE, CURRENT_TIMESTAMP)", (Object) HASH);
+
+        new DnaRecordRulesMigration(jdbc, true).migrate();
+        // Idempotente: la segunda corrida no falla ni duplica la restricción
+        new DnaRecordRulesMigration(jdbc, true).migrate();
+
+        assertEquals("classic", jdbc.queryForObject("SELECT rules_id FROM dna_records WHERE id = 1", String.class));
+
+        jdbc.update("INSERT INTO dna_records (id, dna_hash, rules_id, is_mutant, created_at) "
+                + "VALUES (2, ?, 'horizontal5', FALSE, CURRENT_TIMESTAMP)", (Object) HASH);
+        assertThrows(DuplicateKeyException.class, () -> jdbc.update(
+                "INSERT INTO dna_records (id, dna_hash, rules_id, is_mutant, created_at) "
+                        + "VALUES (3, ?, 'horizontal5', TRUE, CURRENT_TIMESTAMP)", (Object) HASH));
+    }
+
+    @Test
+    @DisplayName("Sin tabla o deshabilitada no hace nada")
+    void sinCambios() {
+        assertDoesNotThrow(() -> new DnaRecordRulesMigration(jdbc, true).migrate());
+
+        jdbc.execute("CREATE TABLE dna_records (id BIGINT PRIMARY KEY, dna_hash VARBINARY(32) NOT NULL UNIQUE)");
+        new DnaRecordRulesMigration(jdbc, false).migrate();
+
+        assertEquals(0, jdbc.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.columns
+                WHERE table_name = 'DNA_RECORDS' AND column_name = 'RULES_ID'
+                """, Integer.class));
+    }
+}
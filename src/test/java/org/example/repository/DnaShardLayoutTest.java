@@ -0,0 +1,78 @@
+package org.example.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaShardLayoutTest {
+
+    @Test
+    @DisplayName("Un shard: todo va a dna_records")
+    void unShard() {
+        DnaShardLayout layout = new DnaShardLayout(1);
+
+        assertEquals("dna_records", layout.table(0));
+        assertEquals("dna_records", layout.tableOf(new byte[]{(byte) 0xFF, (byte) 0xFF}));
+        assertTrue(layout.owns("DNA_RECORDS"));
+    }
+
+    @Test
+    @DisplayName("El prefijo de 16 bits se corta en tramos consecutivos, uno por shard")
+    void rangosPorPrefijo() {
+        DnaShardLayout layout = new DnaShardLayout(4);
+
+        assertEquals(0, layout.shardOf(new byte[]{0x00, 0x00}));
+        assertEquals(0, layout.shardOf(new byte[]{0x3F, (byte) 0xFF}));
+        assertEquals(1, layout.shardOf(new byte[]{0x40, 0x00}));
+        assertEquals(3, layout.shardOf(new byte[]{(byte) 0xFF, (byte) 0xFF}));
+        assertEquals("dna_records_1", layout.tableOf(new byte[]{0x40, 0x00}));
+
+        DnaShardLayout seven = new DnaShardLayout(7);
+        int previous = 0;
+        for (int prefix = 0; prefix < 1 << 16; prefix++) {
+            int shard = seven.shardOf(new byte[]{(byte) (prefix >>> 8), (byte) prefix});
+            assertTrue(shard == previous || shard == previous + 1, "prefijo " + prefix);
+            previous = shard;
+        }
+        assertEquals(6, previous);
+    }
+
+    @Test
+    @DisplayName("Hashes aleatorios quedan parejos entre shards")
+    void repartoParejo() {
+        DnaShardLayout layout = new DnaShardLayout(8);
+        Random rnd = new Random(3);
+        int[] counts = new int[8];
+        byte[] hash = new byte[32];
+        for (int i = 0; i < 80_000; i++) {
+            rnd.nextBytes(hash);
+            counts[layout.shardOf(hash)]++;
+        }
+
+        for (int count : counts) {
+            assertTrue(Math.abs(count - 10_000) < 500, "shard con " + count + " registros");
+        }
+    }
+
+    @Test
+    @DisplayName("owns distingue las tablas del reparto de las que sobran")
+    void tablasDelReparto() {
+        DnaShardLayout four = new DnaShardLayout(4);
+
+        assertTrue(four.owns("dna_records_3"));
+        assertFalse(four.owns("dna_records_4"));
+        assertFalse(four.owns("dna_records"));
+        assertEquals(new DnaShardLayout(4), four);
+        assertNotEquals(new DnaShardLayout(2), four);
+    }
+
+    @Test
+    @DisplayName("Cantidad de shards fuera de 1..256: error de configuración")
+    void cantidadInvalida() {
+        assertThrows(IllegalArgumentException.class, () -> new DnaShardLayout(0));
+        assertThrows(IllegalArgumentException.class, () -> new DnaShardLayout(257));
+    }
+}
@@ -0,0 +1,193 @@
+package org.example.repository;
+
+import org.example.entity.DnaRecord;
+import org.example.service.RuleProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shards de dna_records sobre H2 en memoria, sin Spring: ruteo por prefijo del hash,
+ * unicidad local a cada shard y cambio de cantidad de shards con los registros adentro.
+ */
+class DnaShardRebalancerTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbc;
+    private final List<DnaShardRouter> routers = new ArrayList<>();
+
+    @BeforeEach
+    void setup() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:shard_test", "sa", "", true);
+        jdbc = new JdbcTemplate(dataSource);
+        // Lo que crean Hibernate o schema-prod.sql
+        jdbc.execute("CREATE SEQUENCE dna_records_seq START WITH 1 INCREMENT BY 50");
+        jdbc.execute("""
+                CREATE TABLE dna_records (
+                    id BIGINT NOT NULL PRIMARY KEY,
+                    dna_hash VARBINARY(32) NOT NULL,
+                    rules_id VARCHAR(32) DEFAULT 'classic' NOT NULL,
+                    is_mutant BOOLEAN NOT NULL,
+                    created_at TIMESTAMP(6) NOT NULL,
+                    CONSTRAINT uk_dna_records_dna_hash_rules UNIQUE (dna_hash, rules_id))
+                """);
+    }
+
+    @AfterEach
+    void tearDown() {
+        routers.forEach(DnaShardRouter::shutdown);
+        jdbc.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    @DisplayName("Inserts y búsquedas van al shard del hash; la unicidad es por shard")
+    void ruteoPorPrefijo() {
+        rebalancer(4, false).rebalance();
+        DnaRecordRepositoryCustomImpl repo = repo(4);
+
+        DnaRecord a = record(hash(0x0000, 1), "classic", true);
+        DnaRecord b = record(hash(0xFFFF, 2), "classic", false);
+        DnaRecord c = record(hash(0x8000, 3), "classic", true);
+
+        assertArrayEquals(new int[]{1, 1, 0, 1}, repo.insertAllIfAbsent(List.of(a, b, a, c)));
+        assertEquals(1, rows("dna_records_0"));
+        assertEquals(0, rows("dna_records_1"));
+        assertEquals(1, rows("dna_records_2"));
+        assertEquals(1, rows("dna_records_3"));
+        assertEquals(0, rows("dna_records"));
+
+        assertFalse(repo.findByDnaHashAndRulesId(b.getDnaHash(), "classic").orElseThrow().isMutant());
+        assertTrue(repo.findByDnaHashAndRulesId(b.getDnaHash(), "horizontal5").isEmpty());
+        assertEquals(3, repo.findByRulesIdAndDnaHashIn("classic",
+                List.of(a.getDnaHash(), b.getDnaHash(), c.getDnaHash(), hash(0x1234, 4))).size());
+
+        assertEquals(2, repo.countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, true));
+        assertEquals(1, repo.countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, false));
+        assertEquals(3, repo.count());
+
+        // La restricción única vive en cada shard
+        assertThrows(DuplicateKeyException.class, () -> jdbc.update(
+                "INSERT INTO dna_records_3 (id, dna_hash, rules_id, is_mutant, created_at) "
+                        + "VALUES (-1, ?, 'classic', TRUE, CURRENT_TIMESTAMP)", (Object) b.getDnaHash()));
+    }
+
+    @Test
+    @DisplayName("Resharding 1 → 4 → 2 → 1 conserva todos los registros en el shard que les toca")
+    void reshardingConservaRegistros() {
+        Random rnd = new Random(5);
+        List<DnaRecord> records = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            byte[] hash = hash(rnd.nextInt(1 << 16), i);
+            records.add(record(hash, "classic", i % 3 == 0));
+            // El mismo ADN con otro perfil es otro registro
+            if (i % 10 == 0) records.add(record(hash, "horizontal5", false));
+        }
+        repo(1).insertAllIfAbsent(records);
+        long mutants = repo(1).countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, true);
+
+        for (int shards : new int[]{4, 2, 1}) {
+            rebalancer(shards, true).rebalance();
+            DnaRecordRepositoryCustomImpl repo = repo(shards);
+            DnaShardLayout layout = new DnaShardLayout(shards);
+
+            assertEquals(records.size(), repo.count(), shards + " shards");
+            assertEquals(mutants, repo.countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, true), shards + " shards");
+            for (DnaRecord rec : records) {
+                assertEquals(1, jdbc.queryForObject("SELECT COUNT(*) FROM " + layout.tableOf(rec.getDnaHash())
+                                + " WHERE dna_hash = ? AND rules_id = ?", Integer.class, rec.getDnaHash(), rec.getRulesId()),
+                        shards + " shards");
+                assertEquals(rec.isMutant(),
+                        repo.findByDnaHashAndRulesId(rec.getDnaHash(), rec.getRulesId()).orElseThrow().isMutant());
+            }
+            assertEquals(shards, recordedShards());
+        }
+
+        // Volviendo a una sola tabla no quedan shards sueltos
+        assertFalse(tableExists("dna_records_0"));
+        assertFalse(tableExists("dna_records_3"));
+    }
+
+    @Test
+    @DisplayName("Sin reshard=true no arranca si los registros están en otro reparto")
+    void exigeReshard() {
+        repo(1).insertAllIfAbsent(List.of(record(hash(0xFFFF, 1), "classic", true)));
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> rebalancer(4, false).rebalance());
+        assertTrue(e.getMessage().contains("mutant.storage.reshard=true"));
+        assertEquals(1, rows("dna_records"));
+    }
+
+    @Test
+    @DisplayName("Base vacía: registra el reparto nuevo sin pedir reshard")
+    void baseVacia() {
+        rebalancer(4, false).rebalance();
+        assertEquals(4, recordedShards());
+
+        assertDoesNotThrow(() -> rebalancer(4, false).rebalance());
+
+        // Con registros en los 4 shards, pasar a 8 ya necesita moverlos
+        repo(4).insertAllIfAbsent(List.of(record(hash(0x0001, 1), "classic", false)));
+        assertThrows(IllegalStateException.class, () -> rebalancer(8, false).rebalance());
+    }
+
+    // Helpers
+
+    private DnaShardRouter router(int shards) {
+        DnaShardRouter router = new DnaShardRouter(shards, 4);
+        routers.add(router);
+        return router;
+    }
+
+    private DnaRecordRepositoryCustomImpl repo(int shards) {
+        return new DnaRecordRepositoryCustomImpl(jdbc, router(shards));
+    }
+
+    // Lotes chicos para recorrer cada tabla en varias transacciones
+    private DnaShardRebalancer rebalancer(int shards, boolean reshard) {
+        return new DnaShardRebalancer(jdbc, new DataSourceTransactionManager(dataSource), router(shards), reshard, 7);
+    }
+
+    private static DnaRecord record(byte[] hash, String rulesId, boolean mutant) {
+        DnaRecord rec = new DnaRecord();
+        rec.setDnaHash(hash);
+        rec.setRulesId(rulesId);
+        rec.setMutant(mutant);
+        rec.setCreatedAt(LocalDateTime.now());
+        return rec;
+    }
+
+    /** Hash de 32 bytes con los 2 primeros fijados en {@code prefix} (el que decide el shard). */
+    private static byte[] hash(int prefix, int seed) {
+        byte[] hash = new byte[32];
+        new Random(seed).nextBytes(hash);
+        hash[0] = (byte) (prefix >>> 8);
+        hash[1] = (byte) prefix;
+        return hash;
+    }
+
+    private long rows(String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    private int recordedShards() {
+        return jdbc.queryForObject("SELECT shard_count FROM dna_shards WHERE id = 1", Integer.class);
+    }
+
+    private boolean tableExists(String table) {
+        return jdbc.queryForObject("SELECT COUNT(*) FROM information_schema.tables WHERE UPPER(table_name) = UPPER(?)",
+                Integer.class, table) > 0;
+    }
+}
@@ -0,0 +1,90 @@
+package org.example.repository;
+
+import org.example.entity.DnaRecord;
+import org.example.service.RuleProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Arranca con el perfil "prod" (H2 en archivo): schema-prod.sql crea las tablas y
+ * Hibernate las valida contra las entidades.
+ */
+@SpringBootTest
+@ActiveProfiles("prod")
+class ProdSchemaTest {
+
+    private static final Path DB_FILE = Path.of(System.getProperty("java.io.tmpdir"),
+            "mutants-prod-test-" + UUID.randomUUID(), "mutants");
+
+    @DynamicPropertySource
+    static void dbFile(DynamicPropertyRegistry registry) {
+        registry.add("mutant.db.file", DB_FILE::toString);
+    }
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private DnaRecordRepository repo;
+
+    @AfterEach
+    void limpiarBase() {
+        repo.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Crea el índice por veredicto en la base en archivo")
+    void creaIndiceIsMutant() {
+        Integer indices = jdbc.queryForObject("""
+                SELECT COUNT(*) FROM information_schema.indexes
+                WHERE UPPER(index_name) = 'IDX_DNA_RECORDS_IS_MUTANT'
+                """, Integer.class);
+
+        assertEquals(1, indices);
+        assertTrue(jdbc.queryForObject("SELECT DATABASE_PATH()", String.class).contains("mutants-prod-test-"));
+    }
+
+    @Test
+    @DisplayName("Inserta con la secuencia del esquema explícito e ignora duplicados")
+    void insertaConSecuenciaDelEsquema() {
+        DnaRecord rec = new DnaRecord();
+        rec.setDnaHash(new byte[32]);
+        rec.setMutant(true);
+        rec.setCreatedAt(LocalDateTime.now());
+
+        assertArrayEquals(new int[]{1, 0}, repo.insertAllIfAbsent(List.of(rec, rec)));
+        assertEquals(1, repo.countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, true));
+    }
+
+    @Test
+    @DisplayName("El mismo ADN se guarda una vez por perfil de reglas")
+    void unRegistroPorPerfil() {
+        DnaRecord classic = new DnaRecord();
+        classic.setDnaHash(new byte[32]);
+        classic.setMutant(true);
+        classic.setCreatedAt(LocalDateTime.now());
+
+        DnaRecord other = new DnaRecord();
+        other.setDnaHash(new byte[32]);
+        other.setRulesId("horizontal5");
+        other.setMutant(false);
+        other.setCreatedAt(LocalDateTime.now());
+
+        assertArrayEquals(new int[]{1, 1, 0}, repo.insertAllIfAbsent(List.of(classic, other, other)));
+        assertTrue(repo.findByDnaHashAndRulesId(new byte[32], "horizontal5").isPresent());
+    }
+}
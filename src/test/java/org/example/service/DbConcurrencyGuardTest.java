@@ -0,0 +1,96 @@
+package org.example.service;
+
+import org.example.exception.DatabaseBusyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DbConcurrencyGuardTest {
+
+    @Test
+    @DisplayName("Devuelve el resultado y libera el lugar, aunque el trabajo falle")
+    void liberaElLugar() {
+        DbConcurrencyGuard guard = new DbConcurrencyGuard(2, Duration.ofMillis(100));
+
+        assertEquals("ok", guard.call(() -> "ok"));
+        assertThrows(IllegalStateException.class, () -> guard.run(() -> {
+            throw new IllegalStateException("boom");
+        }));
+        assertEquals(2, guard.available());
+    }
+
+    @Test
+    @DisplayName("Nunca hay más de max-concurrency hilos adentro a la vez")
+    void acotaLaConcurrencia() throws Exception {
+        DbConcurrencyGuard guard = new DbConcurrencyGuard(3, Duration.ofSeconds(5));
+        AtomicInteger inside = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            for (int i = 0; i < 64; i++) {
+                pool.submit(() -> guard.run(() -> {
+                    max.accumulateAndGet(inside.incrementAndGet(), Math::max);
+                    sleep(2);
+                    inside.decrementAndGet();
+                }));
+            }
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+
+        assertTrue(max.get() <= 3, "Máximo observado: " + max.get());
+        assertEquals(3, guard.available());
+    }
+
+    @Test
+    @DisplayName("Sin lugar dentro del timeout lanza DatabaseBusyException")
+    void timeoutLanzaExcepcion() throws Exception {
+        DbConcurrencyGuard guard = new DbConcurrencyGuard(1, Duration.ofMillis(50));
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> holder = pool.submit(() -> guard.run(() -> {
+                entered.countDown();
+                await(release);
+            }));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            assertThrows(DatabaseBusyException.class, () -> guard.call(() -> "no"));
+
+            release.countDown();
+            holder.get(5, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, guard.available());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
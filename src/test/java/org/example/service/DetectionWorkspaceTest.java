@@ -0,0 +1,52 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DetectionWorkspaceTest {
+
+    @Test
+    @DisplayName("Reutiliza el mismo buffer mientras el ADN entra")
+    void reutilizaBuffer() {
+        DetectionWorkspace ws = new DetectionWorkspace();
+
+        byte[] primero = ws.load(new String[]{"ATGC", "CAGT", "TTAT", "AGAC"});
+        byte[] segundo = ws.load(new String[]{"GGGG", "CAGT", "TTAT", "AGAC"});
+
+        assertSame(primero, segundo);
+        assertEquals('G', segundo[0]);
+    }
+
+    @Test
+    @DisplayName("Crece a demanda pero no retiene matrices más grandes que el máximo")
+    void creceHastaElMaximo() {
+        DetectionWorkspace ws = new DetectionWorkspace();
+
+        ws.load(filas(100, 'A'));
+        assertTrue(ws.capacity() >= 100 * 100);
+
+        int n = 1100; // 1100*1100 > 1 MiB
+        byte[] grande = ws.load(filas(n, 'C'));
+        assertEquals(n * n, grande.length);
+        assertTrue(ws.capacity() <= DetectionWorkspace.MAX_RETAINED_BYTES);
+    }
+
+    @Test
+    @DisplayName("ADN inválido devuelve null")
+    void invalido() {
+        DetectionWorkspace ws = new DetectionWorkspace();
+
+        assertNull(ws.load(new String[]{"ATGC", "CAXT", "TTAT", "AGAC"}));
+        assertNull(ws.load(new String[]{"ATGC", "CAG", "TTAT", "AGAC"}));
+        assertNull(ws.load(new String[]{"ATGC", null, "TTAT", "AGAC"}));
+    }
+
+    private static String[] filas(int n, char base) {
+        String row = String.valueOf(base).repeat(n);
+        String[] dna = new String[n];
+        java.util.Arrays.fill(dna, row);
+        return dna;
+    }
+}
@@ -0,0 +1,96 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaFingerprinterTest {
+
+    private final String[] ADN_MUTANTE = {
+            "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"
+    };
+
+    @Test
+    @DisplayName("Parsea con el algoritmo configurado")
+    void usaElAlgoritmoConfigurado() {
+        DnaFingerprinter murmur = new DnaFingerprinter(new MutantDetector(), FingerprintAlgorithm.MURMUR3_128, false);
+
+        assertEquals(16, murmur.parse(ADN_MUTANTE).digest().bytes().length);
+        assertEquals(32, new DnaFingerprinter().parse(ADN_MUTANTE).digest().bytes().length);
+    }
+
+    @Test
+    @DisplayName("Sin verify-on-hit devuelve el veredicto guardado tal cual")
+    void sinVerificacion() {
+        DnaFingerprinter fingerprinter = new DnaFingerprinter();
+        DnaSample sample = fingerprinter.parse(ADN_MUTANTE);
+
+        assertFalse(fingerprinter.confirmHit(sample, false));
+    }
+
+    @Test
+    @DisplayName("Con verify-on-hit una colisión devuelve el veredicto real")
+    void conVerificacion() {
+        DnaFingerprinter fingerprinter =
+                new DnaFingerprinter(new MutantDetector(), FingerprintAlgorithm.MURMUR3_128, true);
+        DnaSample sample = fingerprinter.parse(ADN_MUTANTE);
+
+        // Veredicto guardado por otro ADN con el mismo fingerprint
+        assertTrue(fingerprinter.confirmHit(sample, false));
+        assertTrue(fingerprinter.confirmHit(sample, true));
+    }
+
+    @Test
+    @DisplayName("WORKSPACE: parse y builder arman la matriz en el buffer del hilo; parse sigue reservando")
+    void workspaceReutilizaElBuffer() {
+        DnaFingerprinter workspace =
+                new DnaFingerprinter(new MutantDetector(DetectionEngine.WORKSPACE), FingerprintAlgorithm.SHA256, false);
+        DnaSample esperado = DnaSample.parse(ADN_MUTANTE);
+
+        // El builder reserva lugar para 64 filas: el buffer ya queda con ese tamaño
+        DnaSampleBuilder builder = workspace.newSample();
+        for (String row : ADN_MUTANTE) {
+            builder.addRow(row.toCharArray(), 0, row.length());
+        }
+        DnaSample primero = builder.build();
+        assertEquals(esperado.digest(), primero.digest());
+
+        DnaSample segundo = workspace.parseInWorkspace(ADN_MUTANTE);
+        assertEquals(esperado.digest(), segundo.digest());
+        assertTrue(new MutantDetector().isMutantMatrix(segundo.matrix()));
+        assertSame(primero.matrix().bases(), segundo.matrix().bases());
+        assertSame(segundo.matrix().bases(), workspace.parseInWorkspace(ADN_MUTANTE).matrix().bases());
+
+        // Lote y reactivo: cada matriz es propia
+        assertNotSame(workspace.parse(ADN_MUTANTE).matrix().bases(), workspace.parse(ADN_MUTANTE).matrix().bases());
+        // Con otro motor no hay buffer compartido
+        assertNotSame(new DnaFingerprinter().parseInWorkspace(ADN_MUTANTE).matrix().bases(),
+                new DnaFingerprinter().parseInWorkspace(ADN_MUTANTE).matrix().bases());
+    }
+
+    @Test
+    @DisplayName("WORKSPACE: el builder conserva las filas al crecer el buffer")
+    void workspaceBuilderCrece() {
+        DnaFingerprinter workspace =
+                new DnaFingerprinter(new MutantDetector(DetectionEngine.WORKSPACE), FingerprintAlgorithm.SHA256, false);
+        String[] alto = new String[300];
+        for (int r = 0; r < alto.length; r++) {
+            alto[r] = "ATGC".substring(r % 4) + "ATGC".substring(0, r % 4);
+        }
+
+        DnaSampleBuilder builder = workspace.newSample();
+        for (String row : alto) {
+            builder.addRow(row.toCharArray(), 0, row.length());
+        }
+        DnaSample sample = builder.build();
+
+        DnaSample esperado = DnaSample.parse(alto);
+        assertEquals(esperado.digest(), sample.digest());
+        for (int r = 0; r < alto.length; r++) {
+            for (int c = 0; c < 4; c++) {
+                assertEquals(esperado.matrix().at(r, c), sample.matrix().at(r, c));
+            }
+        }
+    }
+}
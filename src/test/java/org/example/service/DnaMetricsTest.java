@@ -0,0 +1,59 @@
+package org.example.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.service.DnaMetrics.Source;
+import org.example.service.DnaMetrics.Stage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DnaMetrics metrics = new DnaMetrics(registry);
+
+    @Test
+    @DisplayName("Registra todos los medidores al crearse, antes de la primera medición")
+    void registraMedidoresAlCrearse() {
+        for (Stage stage : Stage.values()) {
+            assertEquals(0, registry.get("dna.stage").tag("stage", stage.name().toLowerCase()).timer().count());
+            assertEquals(0, registry.get("dna.batch.stage").tag("stage", stage.name().toLowerCase()).timer().count());
+        }
+        for (Source source : Source.values()) {
+            assertNotNull(registry.get("dna.resolutions").tag("source", source.name().toLowerCase()).counter());
+        }
+        assertNotNull(registry.get("dna.matrix.size").summary());
+    }
+
+    @Test
+    @DisplayName("Separa las etapas de un ADN de las de un lote")
+    void separaEtapasDeAdnYDeLote() {
+        long start = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5);
+
+        metrics.stage(Stage.DETECTION, start);
+        metrics.batchStage(Stage.DETECTION, start);
+        metrics.batchStage(Stage.DETECTION, start);
+
+        assertEquals(1, registry.get("dna.stage").tag("stage", "detection").timer().count());
+        assertEquals(2, registry.get("dna.batch.stage").tag("stage", "detection").timer().count());
+        assertTrue(registry.get("dna.stage").tag("stage", "detection").timer().totalTime(TimeUnit.MILLISECONDS) >= 5);
+    }
+
+    @Test
+    @DisplayName("Cuenta veredictos por resultado y tamaños de matriz")
+    void cuentaVeredictosYTamanos() {
+        metrics.verdict(true);
+        metrics.verdict(false);
+        metrics.verdict(false);
+        metrics.matrixSize(6);
+        metrics.matrixSize(1000);
+
+        assertEquals(1.0, registry.get("dna.verdicts").tag("result", "mutant").counter().count());
+        assertEquals(2.0, registry.get("dna.verdicts").tag("result", "human").counter().count());
+        assertEquals(2, registry.get("dna.matrix.size").summary().count());
+        assertEquals(1000.0, registry.get("dna.matrix.size").summary().max());
+    }
+}
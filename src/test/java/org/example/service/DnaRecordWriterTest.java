@@ -0,0 +1,211 @@
+package org.example.service;
+
+import org.example.entity.DnaRecord;
+import org.example.exception.DatabaseBusyException;
+import org.example.repository.DnaRecordRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DnaRecordWriterTest {
+
+    @Mock
+    private DnaRecordRepository repo;
+
+    @Mock
+    private DnaStatsCounters counters;
+
+    private final VerdictCache cache = new VerdictCache(1000, Duration.ofMinutes(1));
+
+    private DnaRecordWriter writer(boolean writeBehind) {
+        return writer(writeBehind, new DbConcurrencyGuard(10, Duration.ofSeconds(1)));
+    }
+
+    private DnaRecordWriter writer(boolean writeBehind, DbConcurrencyGuard guard) {
+        return new DnaRecordWriter(repo, counters, cache, guard, new DnaMetrics(), writeBehind, 1000, 50,
+                Duration.ofMillis(20), Duration.ofMillis(100), 3, Duration.ofMillis(1));
+    }
+
+    private DnaRecord registro(int i) {
+        DnaRecord r = new DnaRecord();
+        r.setDnaHash(("hash" + i).getBytes(StandardCharsets.UTF_8));
+        r.setMutant(i % 2 == 0);
+        r.setCreatedAt(LocalDateTime.now());
+        return r;
+    }
+
+    @Test
+    @DisplayName("Sin write-behind guarda en el momento")
+    void modoSincronico() {
+        DnaRecordWriter w = writer(false);
+        w.start();
+
+        when(repo.insertAllIfAbsent(anyList())).thenReturn(new int[]{1});
+
+        DnaRecord rec = registro(1);
+        w.write(rec);
+
+        verify(repo).insertAllIfAbsent(List.of(rec));
+        verify(counters).recordInserted(RuleProfile.CLASSIC_ID, false);
+    }
+
+    @Test
+    @DisplayName("Con write-behind agrupa los registros en lotes")
+    void agrupaEnLotes() throws Exception {
+        AtomicInteger guardados = new AtomicInteger();
+        when(repo.insertAllIfAbsent(anyList())).thenAnswer(inv -> {
+            int size = ((List<?>) inv.getArgument(0)).size();
+            guardados.addAndGet(size);
+            return filled(size, 1);
+        });
+
+        DnaRecordWriter w = writer(true);
+        w.start();
+
+        for (int i = 0; i < 120; i++) {
+            w.write(registro(i));
+        }
+
+        assertTrue(w.flush(Duration.ofSeconds(5)));
+        assertEquals(120, guardados.get());
+        assertEquals(0, w.pending());
+        verify(counters, times(60)).recordInserted(RuleProfile.CLASSIC_ID, true);
+        verify(counters, times(60)).recordInserted(RuleProfile.CLASSIC_ID, false);
+
+        w.stop();
+    }
+
+    @Test
+    @DisplayName("Al detenerse guarda todo lo que quedaba en la cola")
+    void vaciaLaColaAlDetenerse() throws Exception {
+        AtomicInteger guardados = new AtomicInteger();
+        when(repo.insertAllIfAbsent(anyList())).thenAnswer(inv -> {
+            int size = ((List<?>) inv.getArgument(0)).size();
+            guardados.addAndGet(size);
+            return filled(size, 1);
+        });
+
+        DnaRecordWriter w = writer(true);
+        w.start();
+        for (int i = 0; i < 30; i++) {
+            w.write(registro(i));
+        }
+
+        w.stop();
+
+        assertEquals(30, guardados.get());
+        assertEquals(0, w.pending());
+    }
+
+    @Test
+    @DisplayName("Los hashes ya guardados se ignoran y no suman en /stats")
+    void ignoraDuplicados() throws Exception {
+        when(repo.insertAllIfAbsent(anyList())).thenReturn(new int[]{0});
+
+        DnaRecordWriter w = writer(false);
+        w.write(registro(1));
+
+        verify(counters, never()).recordInserted(anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Si el lote choca con un insert concurrente, reintenta uno por uno")
+    void reintentaIndividualmente() throws Exception {
+        when(repo.insertAllIfAbsent(anyList())).thenAnswer(inv -> {
+            List<?> batch = inv.getArgument(0);
+            if (batch.size() > 1) throw new DuplicateKeyException("duplicado");
+            return new int[]{1};
+        });
+
+        DnaRecordWriter w = writer(true);
+        w.start();
+        w.write(registro(1));
+        w.write(registro(2));
+
+        assertTrue(w.flush(Duration.ofSeconds(5)));
+        verify(counters, times(2)).recordInserted(anyString(), anyBoolean());
+
+        w.stop();
+    }
+
+    @Test
+    @DisplayName("Si el lote falla por la conexión, lo reintenta sin perder registros")
+    void reintentaErroresTransitorios() throws Exception {
+        AtomicInteger intentos = new AtomicInteger();
+        when(repo.insertAllIfAbsent(anyList())).thenAnswer(inv -> {
+            if (intentos.incrementAndGet() == 1) throw new DataAccessResourceFailureException("conexión perdida");
+            return filled(((List<?>) inv.getArgument(0)).size(), 1);
+        });
+
+        DnaRecordWriter w = writer(true);
+        w.start();
+        w.write(registro(1));
+        w.write(registro(2));
+
+        assertTrue(w.flush(Duration.ofSeconds(5)));
+        verify(counters, times(2)).recordInserted(anyString(), anyBoolean());
+        assertEquals(0, w.dropped());
+
+        w.stop();
+    }
+
+    @Test
+    @DisplayName("Agotados los reintentos, cuenta los registros descartados y los saca de la caché")
+    void descartaYOlvidaElVeredicto() throws Exception {
+        when(repo.insertAllIfAbsent(anyList())).thenThrow(new DataAccessResourceFailureException("base caída"));
+
+        DnaRecord rec = registro(1);
+        DnaDigest digest = new DnaDigest(rec.getDnaHash(), rec.getRulesId());
+        cache.put(digest, false);
+
+        DnaRecordWriter w = writer(true);
+        w.start();
+        w.write(rec);
+
+        assertTrue(w.flush(Duration.ofSeconds(5)));
+        assertEquals(1, w.dropped());
+        assertNull(cache.get(digest));
+        verify(counters, never()).recordInserted(anyString(), anyBoolean());
+
+        w.stop();
+    }
+
+    @Test
+    @DisplayName("El guardado sincrónico respeta el límite de accesos a la base")
+    void guardadoSincronicoConGuard() {
+        DbConcurrencyGuard guard = new DbConcurrencyGuard(1, Duration.ofMillis(10));
+        DnaRecordWriter w = writer(false, guard);
+
+        DnaRecord rec = registro(1);
+        DnaDigest digest = new DnaDigest(rec.getDnaHash(), rec.getRulesId());
+        cache.put(digest, false);
+
+        // La base ya está ocupada por otro hilo: no se llega a tocar el repositorio
+        guard.run(() -> assertThrows(DatabaseBusyException.class, () -> w.write(rec)));
+
+        verify(repo, never()).insertAllIfAbsent(anyList());
+        assertNull(cache.get(digest));
+    }
+
+    private static int[] filled(int size, int value) {
+        int[] rows = new int[size];
+        java.util.Arrays.fill(rows, value);
+        return rows;
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.service;
+
+import org.example.exception.InvalidDnaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaRowReaderTest {
+
+    @Test
+    @DisplayName("Corta en \\n, \\r\\n y \\r, saltea líneas vacías y acepta la última sin salto")
+    void finesDeLinea() throws IOException {
+        assertEquals(List.of("ATGC", "CAGT", "TTAT", "AGAC"),
+                rows(new StringReader("ATGC\r\nCAGT\n\n\rTTAT\rAGAC"), 100));
+        assertEquals(List.of(), rows(new StringReader("\n\r\n"), 100));
+    }
+
+    @Test
+    @DisplayName("Filas que cruzan varios bloques de lectura llegan enteras")
+    void filasEntreBloques() throws IOException {
+        String larga = "ACGT".repeat(5_000);
+        // Un Reader que entrega de a pocos caracteres, como un socket lento
+        Reader lento = new StringReader(larga + "\n" + larga + "\n") {
+            @Override
+            public int read(char[] cbuf, int off, int len) throws IOException {
+                return super.read(cbuf, off, Math.min(len, 7));
+            }
+        };
+
+        assertEquals(List.of(larga, larga), rows(lento, larga.length()));
+    }
+
+    @Test
+    @DisplayName("Una fila más larga que el máximo se rechaza sin leer el resto del body")
+    void filaDemasiadoLarga() throws IOException {
+        Reader sinFin = new Reader() {
+            private long read;
+
+            @Override
+            public int read(char[] cbuf, int off, int len) {
+                // Un body sin saltos de línea que no termina nunca
+                if (read > 1_000_000) fail("Siguió leyendo después del máximo");
+                Arrays.fill(cbuf, off, off + len, 'A');
+                read += len;
+                return len;
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        DnaRowReader reader = new DnaRowReader(new StringReader("ATGC\n" + "A".repeat(101)), 100);
+        assertEquals("ATGC", reader.next());
+
+        InvalidDnaException e = assertThrows(InvalidDnaException.class, reader::next);
+        assertTrue(e.getMessage().contains("dna[1]"), e.getMessage());
+        assertThrows(InvalidDnaException.class, () -> new DnaRowReader(sinFin, 100_000).next());
+        assertEquals(List.of("A".repeat(100)), rows(new StringReader("A".repeat(100)), 100));
+    }
+
+    private static List<String> rows(Reader in, int maxColumns) throws IOException {
+        DnaRowReader reader = new DnaRowReader(in, maxColumns);
+        List<String> rows = new ArrayList<>();
+        for (String row = reader.next(); row != null; row = reader.next()) rows.add(row);
+        return rows;
+    }
+}
@@ -0,0 +1,101 @@
+package org.example.service;
+
+import org.example.exception.InvalidDnaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaRowStreamTest {
+
+    private final MutantDetector detector = new MutantDetector();
+    private final RuleDetector classic = RuleDetector.classic(detector);
+
+    private static final String[] MUTANTE = {
+            "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"
+    };
+
+    // 8x4: vertical de T en la columna 1 y horizontal de C en la fila 6
+    private static final String[] MUTANTE_8X4 = {
+            "ATGC", "CTGA", "GTCA", "ATAG", "GCAC", "ACGT", "CCCC", "TAGA"
+    };
+
+    @Test
+    @DisplayName("Mismo fingerprint y veredicto que DnaSample.parse, NxN y MxK")
+    void mismoResultadoQueParse() {
+        for (String[] dna : new String[][]{MUTANTE, MUTANTE_8X4}) {
+            DnaRowStream rows = stream(dna, classic);
+            DnaSample sample = DnaSample.parse(dna);
+
+            assertEquals(sample.digest(), rows.digest());
+            assertEquals(detector.isMutantMatrix(sample.matrix()), rows.isMutant());
+            assertTrue(rows.isMutant());
+            assertEquals(dna.length, rows.rows());
+            assertEquals(dna[0].length(), rows.columns());
+        }
+    }
+
+    @Test
+    @DisplayName("Una 4x8 y una 8x4 con las mismas bases no comparten fingerprint")
+    void laFormaEntraEnElFingerprint() {
+        String[] ancho = {"ATGCCTGA", "GTCAATAG", "GCACACGT", "CCCCTAGA"};
+
+        assertNotEquals(DnaSample.parse(MUTANTE_8X4).digest(), DnaSample.parse(ancho).digest());
+        assertNotEquals(stream(MUTANTE_8X4, classic).digest(), stream(ancho, classic).digest());
+    }
+
+    @Test
+    @DisplayName("El veredicto se decide en la fila que completa la segunda secuencia")
+    void decideAntesDelFinal() {
+        DnaRowStream rows = new DnaFingerprinter().newRowStream(classic);
+        for (int r = 0; r < 7; r++) {
+            rows.addRow(MUTANTE_8X4[r]);
+            assertEquals(r == 6, rows.isDecided(), "fila " + r);
+        }
+        rows.addRow(MUTANTE_8X4[7]);
+        rows.finish();
+        assertTrue(rows.isMutant());
+    }
+
+    @Test
+    @DisplayName("Con un perfil de reglas usa sus reglas y su id en el fingerprint")
+    void perfilDeReglas() {
+        RuleProfile soloHorizontal = new RuleProfile("h4", 4, 1,
+                EnumSet.of(SequenceDirection.HORIZONTAL), SequenceCounting.OVERLAPPING);
+        RuleDetector rules = RuleDetector.compile(soloHorizontal, detector);
+
+        DnaRowStream rows = stream(MUTANTE_8X4, rules);
+
+        assertTrue(rows.isMutant());
+        assertEquals("h4", rows.digest().rules());
+        assertFalse(stream(new String[]{"ATGC", "CTGA", "GTCA", "ATAG", "GTAC"}, rules).isMutant());
+    }
+
+    @Test
+    @DisplayName("Filas inválidas: posición del error y mínimo de 4x4")
+    void invalidos() {
+        DnaRowStream rows = new DnaFingerprinter().newRowStream(classic);
+        rows.addRow("ATGC");
+        InvalidDnaException largo = assertThrows(InvalidDnaException.class, () -> rows.addRow("ATGCA"));
+        assertEquals(1, largo.getRow());
+
+        InvalidDnaException base = assertThrows(InvalidDnaException.class, () -> rows.addRow("ATNC"));
+        assertEquals(1, base.getRow());
+        assertEquals(2, base.getColumn());
+
+        assertThrows(InvalidDnaException.class, () -> stream(new String[]{"ATGC", "CAGT", "TTAT"}, classic));
+        assertThrows(InvalidDnaException.class, () -> stream(new String[]{"ATG", "CAG", "TTA", "AGA"}, classic));
+        assertThrows(InvalidDnaException.class, () -> stream(new String[]{}, classic));
+    }
+
+    private static DnaRowStream stream(String[] dna, RuleDetector rules) {
+        DnaRowStream rows = new DnaFingerprinter().newRowStream(rules);
+        for (String row : dna) {
+            rows.addRow(row);
+        }
+        rows.finish();
+        return rows;
+    }
+}
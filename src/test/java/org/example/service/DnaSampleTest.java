@@ -0,0 +1,85 @@
+package org.example.service;
+
+import org.example.exception.InvalidDnaException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaSampleTest {
+
+    private final String[] ADN_MUTANTE = {
+            "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"
+    };
+
+    @Test
+    @DisplayName("El hash de la pasada única coincide con el hash histórico")
+    void hashCompatible() {
+        DnaSample sample = DnaSample.parse(ADN_MUTANTE);
+
+        assertEquals(MutantService.hashOf(ADN_MUTANTE), sample.hash());
+    }
+
+    @Test
+    @DisplayName("La matriz copiada conserva las bases fila por fila")
+    void matrizCopiada() {
+        DnaMatrix m = DnaSample.parse(ADN_MUTANTE).matrix();
+
+        assertEquals(6, m.size());
+        for (int r = 0; r < 6; r++) {
+            for (int c = 0; c < 6; c++) {
+                assertEquals(ADN_MUTANTE[r].charAt(c), (char) m.at(r, c));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Detectar sobre la matriz da el mismo veredicto que sobre los Strings")
+    void mismoVeredicto() {
+        MutantDetector detector = new MutantDetector();
+        String[] humano = {"ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"};
+
+        assertTrue(detector.isMutantMatrix(DnaSample.parse(ADN_MUTANTE).matrix()));
+        assertFalse(detector.isMutantMatrix(DnaSample.parse(humano).matrix()));
+    }
+
+    @Test
+    @DisplayName("Acepta matrices MxK: K sale de la primera fila")
+    void rectangular() {
+        String[] alto = {"ATGC", "CTGA", "GTCA", "ATAG", "GCAC", "ACGT", "CCCC", "TAGA"};
+        DnaMatrix m = DnaSample.parse(alto).matrix();
+
+        assertEquals(8, m.size());
+        assertEquals(4, m.columns());
+        assertFalse(m.isSquare());
+        assertEquals('C', (char) m.at(6, 3));
+        assertTrue(new MutantDetector().isMutantMatrix(m));
+    }
+
+    @Test
+    @DisplayName("ADN inválido lanza InvalidDnaException")
+    void invalidos() {
+        assertThrows(InvalidDnaException.class, () -> DnaSample.parse(null));
+        assertThrows(InvalidDnaException.class, () -> DnaSample.parse(new String[]{"AAA", "AAA", "AAA"}));
+        assertThrows(InvalidDnaException.class, () -> DnaSample.parse(new String[]{"ATGC", "CAGT", "TTAT"}));
+        assertThrows(InvalidDnaException.class, () -> DnaSample.parse(new String[]{"ATGC", "CAXT", "TTAT", "AGAC"}));
+        assertThrows(InvalidDnaException.class, () -> DnaSample.parse(new String[]{"ATGC", null, "TTAT", "AGAC"}));
+        assertThrows(InvalidDnaException.class, () -> DnaSample.parse(new String[]{"ATG", "CAG", "TTA", "AGA", "AGA"}));
+    }
+
+    @Test
+    @DisplayName("El error indica la fila y la columna del problema")
+    void errorConPosicion() {
+        InvalidDnaException caracter = assertThrows(InvalidDnaException.class,
+                () -> DnaSample.parse(new String[]{"ATGC", "CAGT", "TTAT", "AGAN"}));
+        assertEquals(3, caracter.getRow());
+        assertEquals(3, caracter.getColumn());
+        assertTrue(caracter.getMessage().startsWith(DnaSample.INVALID_MESSAGE));
+        assertTrue(caracter.getMessage().contains("dna[3][3] = 'N'"));
+
+        InvalidDnaException largo = assertThrows(InvalidDnaException.class,
+                () -> DnaSample.parse(new String[]{"ATGC", "CAGTA", "TTAT", "AGAC"}));
+        assertEquals(1, largo.getRow());
+        assertNull(largo.getColumn());
+    }
+}
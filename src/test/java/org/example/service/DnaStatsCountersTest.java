@@ -0,0 +1,155 @@
+package org.example.service;
+
+import org.example.entity.DnaStatsSnapshot;
+import org.example.repository.DnaRecordRepository;
+import org.example.repository.DnaStatsSnapshotRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DnaStatsCountersTest {
+
+    @Mock
+    private DnaRecordRepository repo;
+
+    @Mock
+    private DnaStatsSnapshotRepository snapshots;
+
+    @Test
+    @DisplayName("Se siembra con COUNT(*) y después suma inserts y resta deletes")
+    void siembraYActualiza() {
+        when(repo.countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, true)).thenReturn(3L);
+        when(repo.countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, false)).thenReturn(5L);
+
+        DnaStatsCounters counters = counters(false);
+        counters.seed();
+
+        counters.recordInserted(RuleProfile.CLASSIC_ID, true);
+        counters.recordInserted(RuleProfile.CLASSIC_ID, false);
+        counters.recordInserted(RuleProfile.CLASSIC_ID, false);
+        counters.recordDeleted(RuleProfile.CLASSIC_ID, true);
+
+        assertEquals(3, counters.mutants());
+        assertEquals(7, counters.humans());
+        verifyNoInteractions(snapshots);
+    }
+
+    @Test
+    @DisplayName("Con un snapshot de apagado ordenado no recuenta la tabla")
+    void siembraDesdeSnapshot() {
+        DnaStatsSnapshot s = new DnaStatsSnapshot();
+        s.setId(DnaStatsSnapshot.SINGLETON_ID);
+        s.setRulesId(RuleProfile.CLASSIC_ID);
+        s.setMutantCount(40);
+        s.setHumanCount(100);
+        s.setClean(true);
+        s.setUpdatedAt(LocalDateTime.now());
+        when(snapshots.findById(DnaStatsSnapshot.SINGLETON_ID)).thenReturn(Optional.of(s));
+
+        DnaStatsCounters counters = counters(true);
+        counters.seed();
+
+        assertEquals(40, counters.mutants());
+        assertEquals(100, counters.humans());
+        verify(repo, never()).countByRulesIdAndIsMutant(anyString(), anyBoolean());
+        // Queda marcado como no confiable hasta el próximo apagado ordenado
+        verify(snapshots).save(argThat(snap -> !snap.isClean()));
+    }
+
+    @Test
+    @DisplayName("Si el último apagado no fue ordenado, recuenta la tabla")
+    void snapshotSucioRecuenta() {
+        DnaStatsSnapshot s = new DnaStatsSnapshot();
+        s.setMutantCount(40);
+        s.setHumanCount(100);
+        s.setClean(false);
+        when(snapshots.findById(DnaStatsSnapshot.SINGLETON_ID)).thenReturn(Optional.of(s));
+        when(repo.countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, true)).thenReturn(41L);
+        when(repo.countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, false)).thenReturn(102L);
+
+        DnaStatsCounters counters = counters(true);
+        counters.seed();
+
+        assertEquals(41, counters.mutants());
+        assertEquals(102, counters.humans());
+    }
+
+    @Test
+    @DisplayName("Al apagar guarda los contadores como snapshot limpio")
+    void guardaSnapshotAlApagar() {
+        DnaStatsCounters counters = counters(true);
+        counters.recordInserted(RuleProfile.CLASSIC_ID, true);
+        counters.recordInserted(RuleProfile.CLASSIC_ID, false);
+
+        counters.persist();
+
+        verify(snapshots).save(argThat(snap -> snap.isClean() && RuleProfile.CLASSIC_ID.equals(snap.getRulesId())
+                && snap.getMutantCount() == 1 && snap.getHumanCount() == 1));
+    }
+
+    @Test
+    @DisplayName("Sin persistencia del agregado, no escribe dna_stats")
+    void sinPersistencia() {
+        DnaStatsCounters counters = counters(false);
+
+        counters.persist();
+
+        verify(snapshots, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Solo cuenta el perfil por defecto: los registros de otros perfiles no suman")
+    void soloPerfilPorDefecto() {
+        RuleProfile horizontal5 = new RuleProfile("horizontal5", 5, 1,
+                EnumSet.of(SequenceDirection.HORIZONTAL), SequenceCounting.OVERLAPPING);
+        RuleProfileRegistry registry = new RuleProfileRegistry(new MutantDetector(), List.of(horizontal5), "horizontal5");
+        DnaStatsCounters counters = new DnaStatsCounters(repo, snapshots, registry, false);
+
+        counters.seed();
+        counters.recordInserted(horizontal5.key(), true);
+        counters.recordInserted(RuleProfile.CLASSIC_ID, true);
+        counters.recordInserted(RuleProfile.CLASSIC_ID, false);
+        counters.recordDeleted(RuleProfile.CLASSIC_ID, false);
+
+        assertEquals(1, counters.mutants());
+        assertEquals(0, counters.humans());
+        verify(repo).countByRulesIdAndIsMutant(horizontal5.key(), true);
+        verify(repo).countByRulesIdAndIsMutant(horizontal5.key(), false);
+    }
+
+    @Test
+    @DisplayName("Un snapshot limpio de otras reglas (o sin reglas) no se usa: recuenta la tabla")
+    void snapshotDeOtroPerfilRecuenta() {
+        DnaStatsSnapshot s = new DnaStatsSnapshot();
+        s.setMutantCount(40);
+        s.setHumanCount(100);
+        s.setClean(true);
+        when(snapshots.findById(DnaStatsSnapshot.SINGLETON_ID)).thenReturn(Optional.of(s));
+        when(repo.countByRulesIdAndIsMutant(RuleProfile.CLASSIC_ID, true)).thenReturn(7L);
+
+        DnaStatsCounters counters = counters(true);
+        counters.seed();
+
+        assertEquals(7, counters.mutants());
+        assertEquals(0, counters.humans());
+    }
+
+    private DnaStatsCounters counters(boolean persistAggregate) {
+        return new DnaStatsCounters(repo, snapshots, new RuleProfileRegistry(new MutantDetector()), persistAggregate);
+    }
+}
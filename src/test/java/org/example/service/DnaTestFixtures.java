@@ -0,0 +1,52 @@
+package org.example.service;
+
+import java.util.Random;
+
+/**
+ * Matrices de ADN compartidas por los tests de los detectores y scanners
+ * (en los benchmarks, {@code DnaFixtures}).
+ */
+final class DnaTestFixtures {
+
+    private static final char[] BASES = {'A', 'T', 'C', 'G'};
+
+    private DnaTestFixtures() {
+    }
+
+    /** NxN de {@link #random(Random, int, int)}. */
+    static String[] random(Random rnd, int n) {
+        return random(rnd, n, n);
+    }
+
+    /** Filas aleatorias con pocas bases distintas (2 a 4) para que aparezcan corridas largas. */
+    static String[] random(Random rnd, int m, int k) {
+        int alphabet = 2 + rnd.nextInt(3);
+        String[] dna = new String[m];
+        for (int r = 0; r < m; r++) {
+            StringBuilder sb = new StringBuilder(k);
+            for (int c = 0; c < k; c++) {
+                sb.append(BASES[rnd.nextInt(alphabet)]);
+            }
+            dna[r] = sb.toString();
+        }
+        return dna;
+    }
+
+    /** NxN de {@link #humanPattern(int, int)}. */
+    static String[] humanPattern(int n) {
+        return humanPattern(n, n);
+    }
+
+    /** Patrón periódico que no tiene 4 bases iguales en ninguna dirección. */
+    static String[] humanPattern(int m, int k) {
+        String[] dna = new String[m];
+        for (int r = 0; r < m; r++) {
+            StringBuilder sb = new StringBuilder(k);
+            for (int c = 0; c < k; c++) {
+                sb.append(BASES[(c + 2 * r) % 4]);
+            }
+            dna[r] = sb.toString();
+        }
+        return dna;
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FingerprintAlgorithmTest {
+
+    private final String[] ADN_MUTANTE = {
+            "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"
+    };
+
+    @Test
+    @DisplayName("Murmur3-128: coincide con los valores de referencia")
+    void murmurValoresDeReferencia() {
+        assertEquals("00000000000000000000000000000000", murmur(""));
+        assertEquals("6c1b07bc7bbc4be347939ac4a93c437a", murmur("The quick brown fox jumps over the lazy dog"));
+        assertEquals("c902e99e1f4899cde7b68789a3a15d69", murmur("The quick brown fox jumps over the lazy dog."));
+    }
+
+    @Test
+    @DisplayName("Murmur3-128: el resultado no depende de cómo se corten los bytes")
+    void murmurIncremental() {
+        Random rnd = new Random(42);
+        byte[] data = new byte[1000];
+        rnd.nextBytes(data);
+
+        FingerprintHasher entero = FingerprintAlgorithm.MURMUR3_128.newHasher();
+        entero.update(data, 0, data.length);
+        byte[] esperado = entero.digest();
+
+        for (int chunk : new int[]{1, 3, 7, 15, 16, 17, 100}) {
+            FingerprintHasher porPartes = FingerprintAlgorithm.MURMUR3_128.newHasher();
+            for (int off = 0; off < data.length; off += chunk) {
+                porPartes.update(data, off, Math.min(chunk, data.length - off));
+            }
+            assertArrayEquals(esperado, porPartes.digest(), "Trozos de " + chunk);
+        }
+    }
+
+    @Test
+    @DisplayName("SHA-256 reutilizado por hilo sigue coincidiendo con el hash histórico")
+    void sha256Compatible() {
+        DnaSample primero = DnaSample.parse(ADN_MUTANTE, FingerprintAlgorithm.SHA256);
+        DnaSample segundo = DnaSample.parse(ADN_MUTANTE, FingerprintAlgorithm.SHA256);
+
+        assertEquals(MutantService.hashOf(ADN_MUTANTE), primero.hash());
+        assertEquals(primero.digest(), segundo.digest());
+        assertEquals(32, primero.digest().bytes().length);
+    }
+
+    @Test
+    @DisplayName("Murmur3-128 sobre el ADN: 16 bytes, igual al hash de las filas concatenadas")
+    void murmurSobreAdn() {
+        DnaSample sample = DnaSample.parse(ADN_MUTANTE, FingerprintAlgorithm.MURMUR3_128);
+
+        assertEquals(16, sample.digest().bytes().length);
+        assertEquals(murmur(String.join("", ADN_MUTANTE)), sample.hash());
+    }
+
+    private static String murmur(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        FingerprintHasher hasher = FingerprintAlgorithm.MURMUR3_128.newHasher();
+        hasher.update(bytes, 0, bytes.length);
+        return HexFormat.of().formatHex(hasher.digest());
+    }
+}
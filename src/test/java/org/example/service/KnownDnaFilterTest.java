@@ -0,0 +1,90 @@
+package org.example.service;
+
+import org.example.dto.BloomFilterStats;
+import org.example.repository.DnaRecordRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class KnownDnaFilterTest {
+
+    @Mock
+    private DnaRecordRepository repo;
+
+    private final Random rnd = new Random(42);
+
+    @Test
+    @DisplayName("Se reconstruye desde la base: todo lo guardado da 'puede estar'")
+    void rebuildDesdeLaBase() {
+        List<byte[]> guardados = digests(500);
+        when(repo.count()).thenReturn(500L);
+        doAnswer(inv -> {
+            Consumer<byte[]> action = inv.getArgument(0);
+            guardados.forEach(action);
+            return null;
+        }).when(repo).forEachDnaHash(any());
+
+        KnownDnaFilter filter = new KnownDnaFilter(repo, true, 1000, 0.01);
+        filter.init();
+
+        for (byte[] h : guardados) {
+            assertTrue(filter.mightContain(new DnaDigest(h)));
+        }
+        assertEquals(500, filter.stats().getApproximateElements(), 5);
+    }
+
+    @Test
+    @DisplayName("Los ADN agregados se encuentran y la tasa de falsos positivos respeta la configurada")
+    void falsosPositivos() {
+        KnownDnaFilter filter = new KnownDnaFilter(repo, true, 10_000, 0.01);
+        filter.init();
+
+        List<byte[]> agregados = digests(10_000);
+        agregados.forEach(filter::add);
+        agregados.forEach(h -> assertTrue(filter.mightContain(new DnaDigest(h))));
+
+        int falsos = 0;
+        for (byte[] h : digests(10_000)) {
+            if (filter.mightContain(new DnaDigest(h))) falsos++;
+        }
+        assertTrue(falsos < 200, "Falsos positivos: " + falsos);
+
+        BloomFilterStats stats = filter.stats();
+        assertTrue(stats.isEnabled());
+        assertEquals(stats.getBits() / 8, stats.getMemoryBytes());
+        assertTrue(stats.getEstimatedFpp() < 0.02, "FPP estimada: " + stats.getEstimatedFpp());
+    }
+
+    @Test
+    @DisplayName("Deshabilitado: nunca descarta y no lee la base")
+    void deshabilitado() {
+        KnownDnaFilter filter = new KnownDnaFilter(repo, false, 1000, 0.01);
+        filter.init();
+
+        assertTrue(filter.mightContain(new DnaDigest(digests(1).get(0))));
+        assertFalse(filter.stats().isEnabled());
+        verifyNoInteractions(repo);
+    }
+
+    private List<byte[]> digests(int n) {
+        List<byte[]> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            byte[] d = new byte[32];
+            rnd.nextBytes(d);
+            out.add(d);
+        }
+        return out;
+    }
+}
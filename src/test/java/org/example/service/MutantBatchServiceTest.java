@@ -0,0 +1,141 @@
+package org.example.service;
+
+import org.example.dto.DnaBatchResponse;
+import org.example.entity.DnaRecord;
+import org.example.exception.InvalidDnaException;
+import org.example.repository.DnaRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MutantBatchServiceTest {
+
+    @Mock
+    private DnaRecordRepository repo;
+
+    @Mock
+    private DnaRecordWriter writer;
+
+    private VerdictCache cache;
+    private MutantBatchService service;
+
+    private final String[] ADN_MUTANTE = {
+            "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"
+    };
+
+    private final String[] ADN_HUMANO = {
+            "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"
+    };
+
+    private final String[] ADN_INVALIDO = {"ATGC", "CAGT", "TTAT"};
+
+    @BeforeEach
+    void setup() {
+        cache = new VerdictCache(1000, Duration.ofMinutes(1));
+        service = new MutantBatchService(new RuleProfileRegistry(new MutantDetector()), repo, cache, writer,
+                new DbConcurrencyGuard(10, Duration.ofSeconds(1)), new DnaFingerprinter(),
+                new KnownDnaFilter(repo, false, 1000, 0.01), new DnaMetrics(), 100, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    @DisplayName("Lote mixto: veredicto por ítem, totales y un solo insert sin duplicados")
+    void loteMixto() {
+        when(repo.findByRulesIdAndDnaHashIn(eq(RuleProfile.CLASSIC_ID), anyCollection())).thenReturn(Collections.emptyList());
+
+        DnaBatchResponse res = service.process(List.of(ADN_MUTANTE, ADN_HUMANO, ADN_INVALIDO, ADN_MUTANTE));
+
+        assertEquals(4, res.getResults().size());
+        assertEquals(Boolean.TRUE, res.getResults().get(0).getMutant());
+        assertEquals(Boolean.FALSE, res.getResults().get(1).getMutant());
+        assertNull(res.getResults().get(2).getMutant());
+        assertNotNull(res.getResults().get(2).getError());
+        assertEquals(Boolean.TRUE, res.getResults().get(3).getMutant());
+
+        assertEquals(2, res.getCountMutantDna());
+        assertEquals(1, res.getCountHumanDna());
+        assertEquals(1, res.getCountInvalidDna());
+
+        // El mutante repetido se guarda una sola vez
+        verify(repo).findByRulesIdAndDnaHashIn(eq(RuleProfile.CLASSIC_ID), anyCollection());
+        verify(writer).writeBatch(argThat(records -> records.size() == 2));
+    }
+
+    @Test
+    @DisplayName("Los ADN ya guardados salen de la base y no se vuelven a insertar")
+    void usaLaBase() {
+        DnaRecord guardado = new DnaRecord();
+        guardado.setDnaHash(DnaSample.parse(ADN_MUTANTE).digest().bytes());
+        guardado.setMutant(true);
+        guardado.setCreatedAt(LocalDateTime.now());
+        when(repo.findByRulesIdAndDnaHashIn(eq(RuleProfile.CLASSIC_ID), anyCollection())).thenReturn(List.of(guardado));
+
+        DnaBatchResponse res = service.process(List.of(ADN_MUTANTE, ADN_HUMANO));
+
+        assertEquals(1, res.getCountMutantDna());
+        assertEquals(1, res.getCountHumanDna());
+        verify(writer).writeBatch(argThat(records ->
+                records.size() == 1 && !records.get(0).isMutant()));
+        assertEquals(Boolean.TRUE, cache.get(DnaSample.parse(ADN_MUTANTE).digest()));
+    }
+
+    @Test
+    @DisplayName("Los ADN en caché no consultan la base")
+    void usaLaCache() {
+        cache.put(DnaSample.parse(ADN_MUTANTE).digest(), true);
+
+        DnaBatchResponse res = service.process(List.of(ADN_MUTANTE, ADN_MUTANTE));
+
+        assertEquals(2, res.getCountMutantDna());
+        verify(repo, never()).findByRulesIdAndDnaHashIn(eq(RuleProfile.CLASSIC_ID), anyCollection());
+        verify(writer).writeBatch(argThat(List::isEmpty));
+    }
+
+    @Test
+    @DisplayName("Si el insert falla los veredictos no quedan en caché y el reenvío vuelve a la base")
+    void insertFallidoNoQuedaEnCache() {
+        when(repo.findByRulesIdAndDnaHashIn(eq(RuleProfile.CLASSIC_ID), anyCollection())).thenReturn(Collections.emptyList());
+        doThrow(new DataAccessResourceFailureException("base caída"))
+                .doNothing()
+                .when(writer).writeBatch(anyList());
+
+        assertThrows(DataAccessResourceFailureException.class, () -> service.process(List.of(ADN_MUTANTE, ADN_HUMANO)));
+        assertNull(cache.get(DnaSample.parse(ADN_MUTANTE).digest()));
+
+        DnaBatchResponse res = service.process(List.of(ADN_MUTANTE, ADN_HUMANO));
+
+        assertEquals(1, res.getCountMutantDna());
+        verify(repo, times(2)).findByRulesIdAndDnaHashIn(eq(RuleProfile.CLASSIC_ID), anyCollection());
+        verify(writer, times(2)).writeBatch(argThat(records -> records.size() == 2));
+        assertEquals(Boolean.TRUE, cache.get(DnaSample.parse(ADN_MUTANTE).digest()));
+    }
+
+    @Test
+    @DisplayName("Un lote más grande que el máximo se rechaza")
+    void loteDemasiadoGrande() {
+        List<String[]> items = Collections.nCopies(101, ADN_HUMANO);
+
+        assertThrows(InvalidDnaException.class, () -> service.process(items));
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import static org.example.service.DnaTestFixtures.humanPattern;
 import static org.junit.jupiter.api.Assertions.*;
 
 
@@ -229,14 +230,26 @@ public class MutantDetectorTest {
     }
 
     @Test
-    @DisplayName("Inválido: matriz no es NxN")
-    void noNxN() {
+    @DisplayName("Inválido: menos de 4 filas")
+    void menosDeCuatroFilas() {
         String[] dna = {
                 "ATGC",
                 "CAGT",
                 "TTAT" // Solo 3 filas
         };
-        assertFalse(detector.isMutant(dna), "Matriz no cuadrada (3x4) debe ser inválida.");
+        assertFalse(detector.isMutant(dna), "Una matriz de 3 filas (3x4) debe ser inválida: el mínimo es 4.");
+    }
+
+    @Test
+    @DisplayName("Válido: matriz no cuadrada 4x6")
+    void rectangular4x6() {
+        String[] dna = {
+                "AAAAGC", // AAAA horizontal
+                "CAGTGC",
+                "TTATGT",
+                "AGACGG"  // GGGG vertical en la columna 4
+        };
+        assertTrue(detector.isMutant(dna), "Una matriz MxK de 4x6 es válida y debe detectarse como mutante.");
     }
 
     @Test
@@ -298,4 +311,131 @@ public class MutantDetectorTest {
     }
 
 
-}
\ No newline at end of file
+    // 4) MODO PARALELO (bandas de filas)
+
+    @Test
+    @DisplayName("Paralelo: una secuencia que cruza el límite entre bandas se cuenta una sola vez")
+    void paraleloSecuenciaEntreBandasSeCuentaUnaVez() {
+        MutantDetector paralelo = new MutantDetector(DetectionEngine.SCALAR, 4);
+
+        // Vertical AAAA en las filas 14..17 (cruza el corte de la fila 16)
+        String[] dna = humanPattern(64);
+        plantar(dna, 14, 1, 1, 0, 'A');
+
+        assertFalse(detector.isMutant(dna));
+        assertFalse(paralelo.isMutant(dna), "Una sola secuencia no debe contarse en las dos bandas");
+    }
+
+    @Test
+    @DisplayName("Paralelo: dos secuencias en bandas distintas → mutante")
+    void paraleloDosSecuenciasEnBandasDistintas() {
+        MutantDetector paralelo = new MutantDetector(DetectionEngine.SCALAR, 4);
+
+        String[] dna = humanPattern(64);
+        plantar(dna, 14, 1, 1, 0, 'A');   // vertical, filas 14..17
+        plantar(dna, 33, 10, -1, 1, 'G'); // diagonal ↗, filas 33..30
+
+        assertTrue(detector.isMutant(dna));
+        assertTrue(paralelo.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Paralelo: mismos veredictos que el recorrido secuencial en matrices aleatorias")
+    void paraleloMismoVeredictoQueSecuencial() {
+        MutantDetector paralelo = new MutantDetector(DetectionEngine.SCALAR, 4);
+        char[] bases = {'A', 'T', 'C', 'G'};
+        java.util.Random rnd = new java.util.Random(7);
+
+        for (int n : new int[]{4, 17, 33, 64, 100}) {
+            for (int k = 0; k < 50; k++) {
+                String[] dna = humanPattern(n);
+                // Unas pocas bases al azar para que aparezcan 0, 1 o más secuencias
+                for (int j = 0; j < n / 4; j++) {
+                    plantar(dna, rnd.nextInt(n), rnd.nextInt(n), 0, 0, bases[rnd.nextInt(4)]);
+                }
+                assertEquals(detector.isMutant(dna), paralelo.isMutant(dna),
+                        "Veredicto distinto para N=" + n + ": " + String.join(",", dna));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Workspace: mismos veredictos que SCALAR, reutilizando el buffer entre tamaños")
+    void workspaceMismoVeredictoQueScalar() {
+        MutantDetector workspace = new MutantDetector(DetectionEngine.WORKSPACE);
+        char[] bases = {'A', 'T', 'C', 'G'};
+        java.util.Random rnd = new java.util.Random(11);
+
+        // De mayor a menor: lo que queda del ADN anterior en el buffer no debe influir
+        for (int n : new int[]{100, 33, 17, 6, 4}) {
+            for (int k = 0; k < 50; k++) {
+                String[] dna = humanPattern(n);
+                for (int j = 0; j < n / 4; j++) {
+                    plantar(dna, rnd.nextInt(n), rnd.nextInt(n), 0, 0, bases[rnd.nextInt(4)]);
+                }
+                assertEquals(detector.isMutant(dna), workspace.isMutant(dna),
+                        "Veredicto distinto para N=" + n + ": " + String.join(",", dna));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Workspace: ADN inválido → humano")
+    void workspaceInvalido() {
+        MutantDetector workspace = new MutantDetector(DetectionEngine.WORKSPACE);
+
+        assertFalse(workspace.isMutant(null));
+        assertFalse(workspace.isMutant(new String[]{"AAAA", "AAAA", "AAXA", "AAAA"}));
+        assertFalse(workspace.isMutant(new String[]{"AAAA", "AAAA", "AAA", "AAAA"}));
+        assertTrue(workspace.isMutant(new String[]{"AAAA", "AAAA", "CTGA", "TGCA"}));
+    }
+
+    @Test
+    @DisplayName("Vector: sin el módulo incubator usa SCALAR")
+    void vectorSinModuloUsaScalar() {
+        MutantDetector vector = new MutantDetector(DetectionEngine.VECTOR);
+
+        DetectionEngine esperado = MutantDetector.VECTOR_SUPPORTED ? DetectionEngine.VECTOR : DetectionEngine.SCALAR;
+        assertEquals(esperado, vector.getEngine());
+        assertTrue(vector.isMutant(new String[]{"AAAA", "CCCC", "TGAT", "GATC"}));
+    }
+
+    @Test
+    @DisplayName("Vector: mismos veredictos que SCALAR, con y sin segmentos completos y en paralelo")
+    void vectorMismoVeredictoQueScalar() {
+        MutantDetector vector = new MutantDetector(DetectionEngine.VECTOR);
+        MutantDetector vectorParalelo = new MutantDetector(DetectionEngine.VECTOR, 4);
+        char[] bases = {'A', 'T', 'C', 'G'};
+        java.util.Random rnd = new java.util.Random(13);
+
+        // Menores, iguales y mayores que un segmento (hasta 64 bases con AVX-512) y N >= 256
+        for (int n : new int[]{4, 6, 17, 35, 36, 67, 68, 100, 300}) {
+            for (int k = 0; k < 30; k++) {
+                String[] dna = humanPattern(n);
+                for (int j = 0; j < n / 4; j++) {
+                    plantar(dna, rnd.nextInt(n), rnd.nextInt(n), 0, 0, bases[rnd.nextInt(4)]);
+                }
+                // Una secuencia en cada borde de la matriz, para pasar por las colas de cada fila
+                if (k % 3 == 0) plantar(dna, rnd.nextInt(n - 3), n - 4, 0, 1, 'A');
+                if (k % 3 == 1) plantar(dna, n - 4, rnd.nextInt(n), 1, 0, 'C');
+                if (k % 5 == 0) plantar(dna, n - 1, n - 4, -1, 1, 'G');
+
+                boolean esperado = detector.isMutant(dna);
+                String detalle = "Veredicto distinto para N=" + n + ": " + String.join(",", dna);
+                assertEquals(esperado, vector.isMutant(dna), detalle);
+                assertEquals(esperado, vectorParalelo.isMutant(dna), detalle);
+            }
+        }
+    }
+
+    // Helpers
+
+    /** Escribe 4 veces {@code base} desde (r, c) avanzando (dr, dc); con (0, 0) escribe una sola celda. */
+    private static void plantar(String[] dna, int r, int c, int dr, int dc, char base) {
+        for (int k = 0; k < 4; k++) {
+            char[] row = dna[r + k * dr].toCharArray();
+            row[c + k * dc] = base;
+            dna[r + k * dr] = new String(row);
+        }
+    }
+}
@@ -1,20 +1,25 @@
 package org.example.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.entity.DnaRecord;
 import org.example.repository.DnaRecordRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 
@@ -33,9 +38,38 @@ class MutantServiceTest {
     @Mock
     private MutantDetector detector;
 
-    @InjectMocks
+    @Mock
+    private VerdictCache verdictCache;
+
+    @Mock
+    private DnaRecordWriter writer;
+
+    @Spy
+    private DbConcurrencyGuard dbGuard = new DbConcurrencyGuard(10, Duration.ofSeconds(1));
+
+    @Spy
+    private DnaFingerprinter fingerprinter = new DnaFingerprinter();
+
+    @Mock
+    private KnownDnaFilter knownDna;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Spy
+    private DnaMetrics metrics = new DnaMetrics(registry);
+
     private MutantService mutantService;
 
+    @BeforeEach
+    void setup() {
+        // El perfil clásico delega en el detector mockeado
+        mutantService = new MutantService(new RuleProfileRegistry(detector), dnaRecordRepository, verdictCache,
+                writer, dbGuard, fingerprinter, knownDna, metrics, 100_000);
+
+        // Por defecto el filtro no descarta nada: se consulta la base como antes
+        lenient().when(knownDna.mightContain(any(DnaDigest.class))).thenReturn(true);
+    }
+
     // ADN de ejemplo
     private final String[] ADN_MUTANTE = {
             "ATGCGA","CAGTGC","TTATGT","AGAAGG","CCCCTA","TCACTG"
@@ -45,7 +79,7 @@ class MutantServiceTest {
             "ATGCGA","CAGTGC","TTATTT","AGACGG","GCGTCA","TCACTG"
     };
 
-    private final String HASH_EJEMPLO = "fakehash12345";
+    private final byte[] HASH_EJEMPLO = "fakehash12345".getBytes(StandardCharsets.UTF_8);
 
     //Crea un registro para simular en la base
     private DnaRecord crearRegistro(boolean esMutante) {
@@ -60,27 +94,121 @@ class MutantServiceTest {
     @Test
     @DisplayName("Si ya estaba guardado como mutante, devuelve true sin analizar")
     void cuandoYaEstaGuardadoMutante() {
-        when(dnaRecordRepository.findByDnaHash(anyString()))
+        when(dnaRecordRepository.findByDnaHashAndRulesId(any(byte[].class), eq(RuleProfile.CLASSIC_ID)))
                 .thenReturn(Optional.of(crearRegistro(true)));
 
         boolean resultado = mutantService.process(ADN_MUTANTE);
 
         assertTrue(resultado);
-        verify(detector, never()).isMutant(any());
-        verify(dnaRecordRepository, never()).save(any());
+        verify(detector, never()).isMutantMatrix(any(DnaMatrix.class));
+        verify(writer, never()).write(any());
     }
 
     @Test
     @DisplayName("Si ya estaba guardado como humano, devuelve false sin analizar")
     void cuandoYaEstaGuardadoHumano() {
-        when(dnaRecordRepository.findByDnaHash(anyString()))
+        when(dnaRecordRepository.findByDnaHashAndRulesId(any(byte[].class), eq(RuleProfile.CLASSIC_ID)))
                 .thenReturn(Optional.of(crearRegistro(false)));
 
         boolean resultado = mutantService.process(ADN_HUMANO);
 
         assertFalse(resultado);
-        verify(detector, never()).isMutant(any());
-        verify(dnaRecordRepository, never()).save(any());
+        verify(detector, never()).isMutantMatrix(any(DnaMatrix.class));
+        verify(writer, never()).write(any());
+    }
+
+
+    @Test
+    @DisplayName("Perfil de reglas: otra clave de caché, otra consulta y el registro lleva la clave del perfil")
+    void perfilDeReglasNoMezclaVeredictos() {
+        RuleDetector horizontal5 = RuleDetector.compile(new RuleProfile("horizontal5", 5, 1,
+                EnumSet.of(SequenceDirection.HORIZONTAL), SequenceCounting.OVERLAPPING), detector);
+        String key = horizontal5.key();
+        when(dnaRecordRepository.findByDnaHashAndRulesId(any(byte[].class), eq(key)))
+                .thenReturn(Optional.empty());
+
+        // Mutante con las reglas clásicas, pero sin ninguna corrida horizontal de 5
+        assertFalse(mutantService.process(DnaSample.parse(ADN_MUTANTE), horizontal5));
+
+        verify(detector, never()).isMutantMatrix(any(DnaMatrix.class));
+        verify(verdictCache).get(argThat(d -> d.rules().equals(key)));
+        verify(verdictCache).put(argThat(d -> d.rules().equals(key)), eq(false));
+        verify(writer).write(argThat(r -> key.equals(r.getRulesId()) && !r.isMutant()));
+    }
+
+    @Test
+    @DisplayName("Cambiar mutant.detector.counting no reutiliza los veredictos calculados con el otro conteo")
+    void conteoEsParteDeLaClave() {
+        // Una sola corrida de 5: dos secuencias solapadas (mutante), una sin solapar (humano)
+        String[] corridaDeCinco = {"AAAAAT", "CGTACG", "TCATGC", "GCATGA", "CGTACG", "ATGCAT"};
+        VerdictCache cache = new VerdictCache(100, Duration.ofMinutes(1));
+        lenient().when(dnaRecordRepository.findByDnaHashAndRulesId(any(byte[].class), eq(RuleProfile.CLASSIC_ID)))
+                .thenReturn(Optional.of(crearRegistro(true)));
+
+        MutantService solapado = new MutantService(new RuleProfileRegistry(new MutantDetector()),
+                dnaRecordRepository, cache, writer, dbGuard, fingerprinter, knownDna, metrics, 100_000);
+        assertTrue(solapado.process(corridaDeCinco));
+
+        MutantService sinSolapar = new MutantService(new RuleProfileRegistry(
+                new MutantDetector(DetectionEngine.RUN_LENGTH, 0, SequenceCounting.NON_OVERLAPPING)),
+                dnaRecordRepository, cache, writer, dbGuard, fingerprinter, knownDna, metrics, 100_000);
+        assertFalse(sinSolapar.process(corridaDeCinco));
+
+        verify(writer).write(argThat(r -> r.getRulesId().startsWith(RuleProfile.CLASSIC_ID + "-") && !r.isMutant()));
+    }
+
+    @Test
+    @DisplayName("Si está en la caché, no consulta la base ni analiza")
+    void cuandoEstaEnCache() {
+        when(verdictCache.get(any(DnaDigest.class))).thenReturn(true);
+
+        boolean resultado = mutantService.process(ADN_MUTANTE);
+
+        assertTrue(resultado);
+        verify(dnaRecordRepository, never()).findByDnaHashAndRulesId(any(byte[].class), eq(RuleProfile.CLASSIC_ID));
+        verify(detector, never()).isMutantMatrix(any(DnaMatrix.class));
+        verify(writer, never()).write(any());
+    }
+
+    @Test
+    @DisplayName("Si el filtro descarta el ADN como nuevo, no consulta la base")
+    void adnNuevoSegunFiltro() {
+        when(knownDna.mightContain(any(DnaDigest.class))).thenReturn(false);
+        when(detector.isMutantMatrix(any(DnaMatrix.class))).thenReturn(true);
+
+        assertTrue(mutantService.process(ADN_MUTANTE));
+
+        verify(dnaRecordRepository, never()).findByDnaHashAndRulesId(any(byte[].class), eq(RuleProfile.CLASSIC_ID));
+        verify(knownDna).add(any(DnaDigest.class));
+        verify(writer).write(any());
+    }
+
+    @Test
+    @DisplayName("Registra las etapas, el tamaño de matriz y el veredicto de un ADN nuevo")
+    void registraMetricasDeAdnNuevo() {
+        when(dnaRecordRepository.findByDnaHashAndRulesId(any(byte[].class), eq(RuleProfile.CLASSIC_ID))).thenReturn(Optional.empty());
+        when(detector.isMutantMatrix(any(DnaMatrix.class))).thenReturn(true);
+
+        mutantService.process(ADN_MUTANTE);
+
+        for (String stage : new String[]{"parse", "cache", "lookup", "detection", "persistence"}) {
+            assertEquals(1, registry.get("dna.stage").tag("stage", stage).timer().count(), stage);
+        }
+        assertEquals(1.0, registry.get("dna.verdicts").tag("result", "mutant").counter().count());
+        assertEquals(0.0, registry.get("dna.verdicts").tag("result", "human").counter().count());
+        assertEquals(1.0, registry.get("dna.resolutions").tag("source", "detection").counter().count());
+        assertEquals(6.0, registry.get("dna.matrix.size").summary().max());
+    }
+
+    @Test
+    @DisplayName("Si estaba guardado en la base, lo carga en la caché")
+    void cargaEnCacheDesdeLaBase() {
+        when(dnaRecordRepository.findByDnaHashAndRulesId(any(byte[].class), eq(RuleProfile.CLASSIC_ID)))
+                .thenReturn(Optional.of(crearRegistro(true)));
+
+        mutantService.process(ADN_MUTANTE);
+
+        verify(verdictCache).put(any(DnaDigest.class), eq(true));
     }
 
 
@@ -88,39 +216,34 @@ class MutantServiceTest {
         @Test
     @DisplayName("Detecta mutante, lo guarda y devuelve true")
     void detectaMutanteYLoGuarda() {
-        when(dnaRecordRepository.findByDnaHash(anyString()))
+        when(dnaRecordRepository.findByDnaHashAndRulesId(any(byte[].class), eq(RuleProfile.CLASSIC_ID)))
                 .thenReturn(Optional.empty());
 
-        when(detector.isMutant(ADN_MUTANTE)).thenReturn(true);
-
-        when(dnaRecordRepository.save(any()))
-                .thenAnswer(inv -> inv.getArgument(0));
+        when(detector.isMutantMatrix(any(DnaMatrix.class))).thenReturn(true);
 
         boolean resultado = mutantService.process(ADN_MUTANTE);
 
         assertTrue(resultado);
-        verify(detector).isMutant(ADN_MUTANTE);
-        verify(dnaRecordRepository).save(argThat(r ->
+        verify(detector).isMutantMatrix(any(DnaMatrix.class));
+        verify(writer).write(argThat(r ->
                 r.isMutant() && r.getDnaHash() != null
         ));
+        verify(verdictCache).put(any(DnaDigest.class), eq(true));
     }
 
     @Test
     @DisplayName("Detecta humano, lo guarda y devuelve false")
     void detectaHumanoYLoGuarda() {
-        when(dnaRecordRepository.findByDnaHash(anyString()))
+        when(dnaRecordRepository.findByDnaHashAndRulesId(any(byte[].class), eq(RuleProfile.CLASSIC_ID)))
                 .thenReturn(Optional.empty());
 
-        when(detector.isMutant(ADN_HUMANO)).thenReturn(false);
-
-        when(dnaRecordRepository.save(any()))
-                .thenAnswer(inv -> inv.getArgument(0));
+        when(detector.isMutantMatrix(any(DnaMatrix.class))).thenReturn(false);
 
         boolean resultado = mutantService.process(ADN_HUMANO);
 
         assertFalse(resultado);
-        verify(detector).isMutant(ADN_HUMANO);
-        verify(dnaRecordRepository).save(argThat(r ->
+        verify(detector).isMutantMatrix(any(DnaMatrix.class));
+        verify(writer).write(argThat(r ->
                 !r.isMutant() && r.getDnaHash() != null
         ));
     }
@@ -134,10 +257,10 @@ class MutantServiceTest {
     @Test
     @DisplayName("Si algo falla al procesar, no debería tirar excepción")
     void noFallaCuandoElHashDaProblemas() {
-        when(dnaRecordRepository.findByDnaHash(anyString()))
+        when(dnaRecordRepository.findByDnaHashAndRulesId(any(byte[].class), eq(RuleProfile.CLASSIC_ID)))
                 .thenReturn(Optional.empty());
 
-        when(detector.isMutant(any())).thenReturn(true);
+        when(detector.isMutantMatrix(any(DnaMatrix.class))).thenReturn(true);
 
         assertDoesNotThrow(() -> mutantService.process(ADN_MUTANTE));
     }
@@ -151,12 +274,12 @@ class MutantServiceTest {
 
         // --- 1. DnaRecord (Entity)
         DnaRecord rec1 = new DnaRecord();
-        rec1.setDnaHash("A");
+        rec1.setDnaHash(new byte[]{1});
         rec1.setMutant(true);
         rec1.setCreatedAt(now); // Cubre el getter y setter
 
         DnaRecord rec2 = new DnaRecord();
-        rec2.setDnaHash("A");
+        rec2.setDnaHash(new byte[]{1});
         rec2.setMutant(true);
         rec2.setCreatedAt(now);
 
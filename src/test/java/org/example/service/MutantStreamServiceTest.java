@@ -0,0 +1,122 @@
+package org.example.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.repository.DnaRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MutantStreamServiceTest {
+
+    @Mock
+    private DnaRecordRepository repo;
+
+    @Mock
+    private DnaRecordWriter writer;
+
+    private MutantBatchService batchService;
+    private MutantStreamService service;
+
+    private static final String MUTANTE =
+            "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATGT\",\"AGAAGG\",\"CCCCTA\",\"TCACTG\"]}";
+    private static final String HUMANO =
+            "{\"dna\":[\"ATGCGA\",\"CAGTGC\",\"TTATTT\",\"AGACGG\",\"GCGTCA\",\"TCACTG\"]}";
+
+    @BeforeEach
+    void setup() {
+        VerdictCache cache = new VerdictCache(1000, Duration.ofMinutes(1));
+        batchService = new MutantBatchService(new RuleProfileRegistry(new MutantDetector()), repo, cache, writer,
+                new DbConcurrencyGuard(10, Duration.ofSeconds(1)), new DnaFingerprinter(),
+                new KnownDnaFilter(repo, false, 1000, 0.01), new DnaMetrics(), 100, 2);
+        // Bloques chicos para que un stream corto ya use varios bloques en vuelo
+        service = new MutantStreamService(batchService, new ObjectMapper(), 2, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        batchService.shutdown();
+    }
+
+    private String[] run(String ndjson) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.process(new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8).strip().split("\n");
+    }
+
+    @Test
+    @DisplayName("Devuelve los veredictos en orden con el índice global y persiste por bloque")
+    void veredictosEnOrden() throws Exception {
+        when(repo.findByRulesIdAndDnaHashIn(eq(RuleProfile.CLASSIC_ID), anyCollection())).thenReturn(Collections.emptyList());
+
+        String[] lines = run(String.join("\n", MUTANTE, HUMANO, "{\"dna\":[\"ATGC\"]}", HUMANO, MUTANTE));
+
+        assertEquals(5, lines.length);
+        assertEquals("{\"index\":0,\"mutant\":true}", lines[0]);
+        assertEquals("{\"index\":1,\"mutant\":false}", lines[1]);
+        assertTrue(lines[2].startsWith("{\"index\":2,\"error\":"));
+        assertEquals("{\"index\":3,\"mutant\":false}", lines[3]);
+        assertEquals("{\"index\":4,\"mutant\":true}", lines[4]);
+
+        // 5 registros en bloques de 2 → 3 bloques
+        verify(writer, times(3)).writeBatch(anyList());
+    }
+
+    @Test
+    @DisplayName("Una línea mal formada corta el stream con un error, pero lo anterior se responde")
+    void lineaMalFormada() throws Exception {
+        when(repo.findByRulesIdAndDnaHashIn(eq(RuleProfile.CLASSIC_ID), anyCollection())).thenReturn(Collections.emptyList());
+
+        String[] lines = run(MUTANTE + "\n{\"dna\": [\"ATGC\"\n");
+
+        assertEquals(2, lines.length);
+        assertEquals("{\"index\":0,\"mutant\":true}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"index\":1,\"error\":\"JSON inválido"));
+    }
+
+    @Test
+    @DisplayName("Una línea null es un error de ese índice y el stream sigue")
+    void lineaNull() throws Exception {
+        when(repo.findByRulesIdAndDnaHashIn(eq(RuleProfile.CLASSIC_ID), anyCollection())).thenReturn(Collections.emptyList());
+
+        String[] lines = run(String.join("\n", MUTANTE, "null", HUMANO));
+
+        assertEquals(3, lines.length);
+        assertEquals("{\"index\":0,\"mutant\":true}", lines[0]);
+        assertTrue(lines[1].startsWith("{\"index\":1,\"error\":\"ADN inválido"));
+        assertEquals("{\"index\":2,\"mutant\":false}", lines[2]);
+    }
+
+    @Test
+    @DisplayName("Un chunk-size mayor que el máximo del lote no arranca")
+    void chunkMayorQueElLote() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MutantStreamService(batchService, new ObjectMapper(), 101, 2, 2));
+    }
+
+    @Test
+    @DisplayName("Un body vacío no escribe nada")
+    void bodyVacio() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        service.process(new ByteArrayInputStream(new byte[0]), out);
+
+        assertEquals(0, out.size());
+        verifyNoInteractions(repo, writer);
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.example.service.DnaTestFixtures.humanPattern;
+import static org.example.service.DnaTestFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedDnaMatrixTest {
+
+    private final MutantDetector scalar = new MutantDetector(DetectionEngine.SCALAR);
+    private final MutantDetector packed = new MutantDetector(DetectionEngine.PACKED);
+
+    @Test
+    @DisplayName("Empaquetado: ADN inválido devuelve null")
+    void empaquetadoInvalido() {
+        assertNull(PackedDnaMatrix.pack(null));
+        assertNull(PackedDnaMatrix.pack(new String[]{}));
+        assertNull(PackedDnaMatrix.pack(new String[]{"ATGC", "CAGT", "TTAT"}));
+        assertNull(PackedDnaMatrix.pack(new String[]{"ATGC", "CAXT", "TTAT", "AGAC"}));
+        assertNull(PackedDnaMatrix.pack(new String[]{"ATGC", null, "TTAT", "AGAC"}));
+    }
+
+    @Test
+    @DisplayName("Empaquetado: cuenta una secuencia por dirección")
+    void cuentaCadaDireccion() {
+        // Horizontal
+        assertEquals(1, PackedDnaMatrix.pack(new String[]{"AAAA", "TGCG", "GATT", "CGCA"}).countSequences(10));
+        // Vertical
+        assertEquals(1, PackedDnaMatrix.pack(new String[]{"ATGC", "ACGT", "AGTC", "ATCG"}).countSequences(10));
+        // Diagonal descendente
+        assertEquals(1, PackedDnaMatrix.pack(new String[]{"GTCA", "CGTT", "TAGC", "ACTG"}).countSequences(10));
+        // Diagonal ascendente
+        assertEquals(1, PackedDnaMatrix.pack(new String[]{"TTCG", "CAGT", "TGAC", "GCTA"}).countSequences(10));
+    }
+
+    @Test
+    @DisplayName("Empaquetado: secuencias que cruzan el límite entre palabras de 64 bits")
+    void secuenciasEntrePalabras() {
+        int n = 40;
+        String[] dna = humanPattern(n);
+        // AAAA horizontal en las columnas 30..33 de la fila 0 y GGGG en 29..32 de la fila 5
+        dna[0] = dna[0].substring(0, 30) + "AAAA" + dna[0].substring(34);
+        dna[5] = dna[5].substring(0, 29) + "GGGG" + dna[5].substring(33);
+
+        assertEquals(scalar.isMutant(dna), packed.isMutant(dna));
+        assertTrue(packed.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Motor empaquetado: mismos veredictos que el escalar en matrices aleatorias")
+    void mismoVeredictoQueEscalar() {
+        Random rnd = new Random(42);
+        int[] sizes = {4, 5, 6, 7, 31, 32, 33, 63, 64, 65, 100};
+
+        for (int n : sizes) {
+            for (int k = 0; k < 200; k++) {
+                String[] dna = random(rnd, n);
+                assertEquals(scalar.isMutant(dna), packed.isMutant(dna),
+                        "Veredicto distinto para N=" + n + ": " + String.join(",", dna));
+                assertEquals(scalar.isMutant(dna), packed.isMutantMatrix(DnaMatrix.of(dna)),
+                        "Veredicto distinto desde DnaMatrix para N=" + n);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Motor empaquetado: matriz grande sin secuencias es humano")
+    void matrizGrandeHumana() {
+        String[] dna = humanPattern(200);
+        assertFalse(scalar.isMutant(dna));
+        assertFalse(packed.isMutant(dna));
+        assertEquals(0, PackedDnaMatrix.pack(dna).countSequences(Integer.MAX_VALUE));
+    }
+}
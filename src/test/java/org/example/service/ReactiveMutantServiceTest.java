@@ -0,0 +1,179 @@
+package org.example.service;
+
+import org.example.exception.InvalidDnaException;
+import org.example.repository.ReactiveDnaRecordStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveMutantServiceTest {
+
+    @Mock
+    private ReactiveDnaRecordStore store;
+
+    @Mock
+    private DnaStatsCounters counters;
+
+    private Scheduler scheduler;
+    private VerdictCache cache;
+    private RuleProfileRegistry ruleProfiles;
+    private ReactiveMutantService service;
+
+    private final String[] ADN_MUTANTE = {
+            "ATGCGA", "CAGTGC", "TTATGT", "AGAAGG", "CCCCTA", "TCACTG"
+    };
+
+    private final String[] ADN_HUMANO = {
+            "ATGCGA", "CAGTGC", "TTATTT", "AGACGG", "GCGTCA", "TCACTG"
+    };
+
+    @BeforeEach
+    void setup() {
+        scheduler = Schedulers.newParallel("test-detect", 2);
+        cache = new VerdictCache(1000, Duration.ofMinutes(1));
+        ruleProfiles = new RuleProfileRegistry(new MutantDetector());
+        service = new ReactiveMutantService(ruleProfiles, store, cache, new DnaFingerprinter(), counters,
+                new DnaMetrics(), scheduler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.dispose();
+    }
+
+    @Test
+    @DisplayName("ADN nuevo: detecta, inserta y cuenta en /stats")
+    void adnNuevo() {
+        when(store.findVerdict(any(byte[].class), eq(RuleProfile.CLASSIC_ID))).thenReturn(Mono.empty());
+        when(store.insertIfAbsent(any())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.process(ADN_MUTANTE))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(store).insertIfAbsent(argThat(rec -> rec.isMutant() && rec.getDnaHash().length == 32));
+        verify(counters).recordInserted(RuleProfile.CLASSIC_ID, true);
+    }
+
+    @Test
+    @DisplayName("ADN ya guardado: devuelve el veredicto de la base sin insertar")
+    void adnGuardado() {
+        when(store.findVerdict(any(byte[].class), eq(RuleProfile.CLASSIC_ID))).thenReturn(Mono.just(false));
+
+        StepVerifier.create(service.process(ADN_HUMANO))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(store, never()).insertIfAbsent(any());
+        verifyNoInteractions(counters);
+    }
+
+    @Test
+    @DisplayName("Si otro request lo insertó primero no se cuenta dos veces")
+    void insertConcurrente() {
+        when(store.findVerdict(any(byte[].class), eq(RuleProfile.CLASSIC_ID))).thenReturn(Mono.empty());
+        when(store.insertIfAbsent(any())).thenReturn(Mono.just(false));
+
+        StepVerifier.create(service.process(ADN_HUMANO))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(counters, never()).recordInserted(anyString(), anyBoolean());
+    }
+
+    @Test
+    @DisplayName("Insert con clave duplicada: devuelve el veredicto sin error y sin contarlo")
+    void insertDuplicado() {
+        when(store.findVerdict(any(byte[].class), eq(RuleProfile.CLASSIC_ID))).thenReturn(Mono.empty());
+        when(store.insertIfAbsent(any())).thenReturn(Mono.error(new DuplicateKeyException("uk_dna_records_dna_hash_rules")));
+
+        StepVerifier.create(service.process(ADN_MUTANTE))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(counters, never()).recordInserted(anyString(), anyBoolean());
+        assertEquals(Boolean.TRUE, cache.get(DnaSample.parse(ADN_MUTANTE).digest()));
+    }
+
+    @Test
+    @DisplayName("Si el insert falla el veredicto no queda en caché y el reenvío vuelve a la base")
+    void insertFallido() {
+        when(store.findVerdict(any(byte[].class), eq(RuleProfile.CLASSIC_ID))).thenReturn(Mono.empty());
+        when(store.insertIfAbsent(any()))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("base caída")))
+                .thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.process(ADN_MUTANTE))
+                .expectError(DataAccessResourceFailureException.class)
+                .verify();
+        assertNull(cache.get(DnaSample.parse(ADN_MUTANTE).digest()));
+
+        StepVerifier.create(service.process(ADN_MUTANTE)).expectNext(true).verifyComplete();
+        verify(store, times(2)).insertIfAbsent(any());
+        verify(counters).recordInserted(RuleProfile.CLASSIC_ID, true);
+    }
+
+    @Test
+    @DisplayName("Requests simultáneos con el mismo ADN comparten una consulta y un insert")
+    void requestsSimultaneos() {
+        Sinks.One<Boolean> insert = Sinks.one();
+        when(store.findVerdict(any(byte[].class), eq(RuleProfile.CLASSIC_ID))).thenReturn(Mono.empty());
+        when(store.insertIfAbsent(any())).thenReturn(insert.asMono());
+        DnaSample sample = DnaSample.parse(ADN_MUTANTE);
+        RuleDetector classic = ruleProfiles.defaultDetector();
+
+        // El primero queda esperando el insert; el segundo se suma a ese mismo Mono
+        StepVerifier first = StepVerifier.create(service.process(sample, classic)).expectNext(true).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(service.process(sample, classic)).expectNext(true).expectComplete().verifyLater();
+        verify(store, timeout(1000)).insertIfAbsent(any());
+        insert.tryEmitValue(true);
+
+        first.verify(Duration.ofSeconds(1));
+        second.verify(Duration.ofSeconds(1));
+        verify(store, times(1)).findVerdict(any(byte[].class), anyString());
+        verify(store, times(1)).insertIfAbsent(any());
+        verify(counters, times(1)).recordInserted(RuleProfile.CLASSIC_ID, true);
+    }
+
+    @Test
+    @DisplayName("Reenvío: se resuelve desde la caché sin ir a la base")
+    void reenvioDesdeCache() {
+        when(store.findVerdict(any(byte[].class), eq(RuleProfile.CLASSIC_ID))).thenReturn(Mono.empty());
+        when(store.insertIfAbsent(any())).thenReturn(Mono.just(true));
+
+        StepVerifier.create(service.process(ADN_MUTANTE)).expectNext(true).verifyComplete();
+        StepVerifier.create(service.process(ADN_MUTANTE)).expectNext(true).verifyComplete();
+
+        verify(store, times(1)).findVerdict(any(byte[].class), anyString());
+    }
+
+    @Test
+    @DisplayName("ADN inválido: termina con InvalidDnaException")
+    void adnInvalido() {
+        StepVerifier.create(service.process(new String[]{"ATGC", "CAGT", "TTAT"}))
+                .expectError(InvalidDnaException.class)
+                .verify();
+
+        verifyNoInteractions(store);
+    }
+}
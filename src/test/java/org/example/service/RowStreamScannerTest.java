@@ -0,0 +1,190 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.Random;
+
+import static org.example.service.DnaTestFixtures.humanPattern;
+import static org.example.service.DnaTestFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RowStreamScannerTest {
+
+    private static final SequenceDirection[] ALL = SequenceDirection.values();
+
+    private final MutantDetector scalar = new MutantDetector(DetectionEngine.SCALAR);
+
+    @Test
+    @DisplayName("Fila por fila: mismo conteo que la fuerza bruta en matrices MxK aleatorias")
+    void mismoConteoQueReferencia() {
+        Random rnd = new Random(7);
+
+        for (int[] shape : new int[][]{{4, 4}, {4, 9}, {9, 4}, {40, 5}, {5, 40}, {64, 17}, {200, 6}}) {
+            for (int k = 0; k < 100; k++) {
+                String[] dna = random(rnd, shape[0], shape[1]);
+                int seq = 2 + rnd.nextInt(4);
+                SequenceDirection[] dirs = randomDirections(rnd);
+                String detail = shape[0] + "x" + shape[1] + " seq=" + seq + " " + EnumSet.of(dirs[0], dirs)
+                        + ": " + String.join(",", dna);
+
+                for (SequenceCounting counting : SequenceCounting.values()) {
+                    int expected = reference(dna, seq, dirs, counting);
+                    assertEquals(expected, stream(dna, seq, dirs, counting, Integer.MAX_VALUE), detail);
+                    assertEquals(expected, new RowStreamScanner(shape[1], seq, dirs, counting, Integer.MAX_VALUE)
+                            .scanAll(flat(dna), dna.length), detail);
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("NxN: mismo veredicto que SCALAR con las reglas clásicas")
+    void mismoVeredictoQueEscalar() {
+        Random rnd = new Random(11);
+
+        for (int n : new int[]{4, 6, 17, 50}) {
+            for (int k = 0; k < 200; k++) {
+                String[] dna = random(rnd, n, n);
+                RowStreamScanner rows = RowStreamScanner.classic(n, SequenceCounting.OVERLAPPING);
+                assertEquals(scalar.isMutant(dna), rows.scanAll(flat(dna), n) > 1, String.join(",", dna));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Rectangular: el detector acepta MxK con cualquier motor")
+    void detectorAceptaRectangulares() {
+        // 12x5: una vertical en la columna 0 y una ↗ que termina en la última fila
+        String[] dna = humanPattern(12, 5);
+        plant(dna, 2, 0, 1, 0, 'A');
+        plant(dna, 11, 1, -1, 1, 'G');
+
+        for (DetectionEngine engine : new DetectionEngine[]{DetectionEngine.SCALAR, DetectionEngine.PACKED,
+                DetectionEngine.WORKSPACE, DetectionEngine.RUN_LENGTH}) {
+            MutantDetector detector = new MutantDetector(engine);
+            assertTrue(detector.isMutant(dna), engine.name());
+            assertTrue(detector.isMutantMatrix(DnaSample.parse(dna).matrix()), engine.name());
+            assertFalse(detector.isMutant(humanPattern(12, 5)), engine.name());
+        }
+    }
+
+    @Test
+    @DisplayName("Corte temprano: al llegar a stopAt deja de contar pero sigue recibiendo filas")
+    void corteTemprano() {
+        String[] dna = humanPattern(50, 8);
+        dna[1] = "AAAAAAAA";
+
+        RowStreamScanner rows = RowStreamScanner.classic(8, SequenceCounting.OVERLAPPING);
+        feed(rows, dna, 0, 2);
+        assertTrue(rows.decided());
+        assertEquals(2, rows.count());
+
+        feed(rows, dna, 2, 50);
+        assertEquals(2, rows.count());
+        assertEquals(50, rows.rows());
+    }
+
+    @Test
+    @DisplayName("Memoria: el estado depende del largo de las filas, no de cuántas lleguen")
+    void memoriaPorColumnas() {
+        RowStreamScanner rows = RowStreamScanner.classic(6, SequenceCounting.OVERLAPPING);
+        byte[] first = rows.nextRow();
+        feed(rows, humanPattern(2, 6), 0, 2);
+
+        // Dos buffers de fila que se alternan, sin importar cuántas filas pasen
+        assertSame(first, rows.nextRow());
+
+        String[] dna = humanPattern(10_000, 6);
+        feed(rows, dna, 0, dna.length);
+
+        assertEquals(0, rows.count());
+        assertEquals(10_002, rows.rows());
+        assertSame(first, rows.nextRow());
+    }
+
+    // Helpers
+
+    private static int stream(String[] dna, int seq, SequenceDirection[] dirs, SequenceCounting counting, int stopAt) {
+        RowStreamScanner rows = new RowStreamScanner(dna[0].length(), seq, dirs, counting, stopAt);
+        feed(rows, dna, 0, dna.length);
+        return rows.count();
+    }
+
+    private static void feed(RowStreamScanner rows, String[] dna, int from, int to) {
+        for (int r = from; r < to; r++) {
+            byte[] dst = rows.nextRow();
+            for (int c = 0; c < dst.length; c++) {
+                dst[c] = (byte) dna[r].charAt(c);
+            }
+            rows.scan();
+        }
+    }
+
+    private static byte[] flat(String[] dna) {
+        int k = dna[0].length();
+        byte[] bases = new byte[dna.length * k];
+        for (int r = 0; r < dna.length; r++) {
+            for (int c = 0; c < k; c++) {
+                bases[r * k + c] = (byte) dna[r].charAt(c);
+            }
+        }
+        return bases;
+    }
+
+    /**
+     * Conteo de referencia por fuerza bruta (como en {@code RunLengthScannerTest}, para MxK):
+     * la corrida que empieza en cada celda de largo L vale L-seq+1 o L/seq.
+     */
+    private static int reference(String[] dna, int seq, SequenceDirection[] dirs, SequenceCounting counting) {
+        int m = dna.length, k = dna[0].length();
+        int total = 0;
+        for (SequenceDirection dir : dirs) {
+            int[] d = switch (dir) {
+                case HORIZONTAL -> new int[]{0, 1};
+                case VERTICAL -> new int[]{1, 0};
+                case DIAGONAL_DOWN -> new int[]{1, 1};
+                case DIAGONAL_UP -> new int[]{-1, 1};
+            };
+            for (int r = 0; r < m; r++) {
+                for (int c = 0; c < k; c++) {
+                    char b = dna[r].charAt(c);
+                    int pr = r - d[0], pc = c - d[1];
+                    if (inside(m, k, pr, pc) && dna[pr].charAt(pc) == b) continue;
+
+                    int len = 0;
+                    for (int rr = r, cc = c; inside(m, k, rr, cc) && dna[rr].charAt(cc) == b; rr += d[0], cc += d[1]) {
+                        len++;
+                    }
+                    if (len >= seq) {
+                        total += counting == SequenceCounting.OVERLAPPING ? len - seq + 1 : len / seq;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private static boolean inside(int m, int k, int r, int c) {
+        return r >= 0 && r < m && c >= 0 && c < k;
+    }
+
+    private static SequenceDirection[] randomDirections(Random rnd) {
+        EnumSet<SequenceDirection> set = EnumSet.noneOf(SequenceDirection.class);
+        for (SequenceDirection d : ALL) {
+            if (rnd.nextBoolean()) set.add(d);
+        }
+        if (set.isEmpty()) set.add(ALL[rnd.nextInt(ALL.length)]);
+        return set.toArray(new SequenceDirection[0]);
+    }
+
+    /** Escribe 4 veces {@code base} desde (r, c) avanzando (dr, dc). */
+    private static void plant(String[] dna, int r, int c, int dr, int dc, char base) {
+        for (int k = 0; k < 4; k++) {
+            char[] row = dna[r + k * dr].toCharArray();
+            row[c + k * dc] = base;
+            dna[r + k * dr] = new String(row);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.service;
+
+import org.example.exception.UnknownRuleProfileException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.example.service.DnaTestFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleProfileRegistryTest {
+
+    private final MutantDetector engine = new MutantDetector();
+
+    @Test
+    @DisplayName("Clásico: siempre existe, es el default y da los mismos veredictos que el motor")
+    void perfilClasico() {
+        RuleProfileRegistry registry = new RuleProfileRegistry(engine);
+        RuleDetector classic = registry.resolve(null);
+
+        assertSame(classic, registry.defaultDetector());
+        assertSame(classic, registry.resolve(""));
+        assertSame(classic, registry.resolve(RuleProfile.CLASSIC_ID));
+
+        Random rnd = new Random(3);
+        for (int k = 0; k < 200; k++) {
+            DnaMatrix m = DnaMatrix.of(random(rnd, 4 + rnd.nextInt(30)));
+            assertEquals(engine.isMutantMatrix(m), classic.isMutant(m));
+        }
+    }
+
+    @Test
+    @DisplayName("Perfil compilado: largo de secuencia, umbral y direcciones del perfil")
+    void perfilPersonalizado() {
+        RuleProfile horizontal5 = new RuleProfile("horizontal5", 5, 2,
+                EnumSet.of(SequenceDirection.HORIZONTAL), SequenceCounting.OVERLAPPING);
+        RuleDetector rules = new RuleProfileRegistry(engine, List.of(horizontal5), "horizontal5").defaultDetector();
+
+        // Dos corridas horizontales de 5 → mutante
+        assertTrue(rules.isMutant(DnaMatrix.of(new String[]{
+                "AAAAAT", "CGTACG", "TTTTTG", "GCATGC", "CGTACG", "ATGCAT"})));
+        // Corridas de 4 (clásico: mutante) no alcanzan
+        assertFalse(rules.isMutant(DnaMatrix.of(new String[]{
+                "AAAATG", "CGTACG", "TTTTCG", "GCATGC", "CGTACG", "ATGCAT"})));
+        // Dos verticales de 5: la dirección no está en el perfil
+        assertFalse(rules.isMutant(DnaMatrix.of(new String[]{
+                "ACTGCA", "ACGTCA", "ATGACA", "AGTCCA", "ACAGCA", "TGCATG"})));
+    }
+
+    @Test
+    @DisplayName("Perfil compilado: mismo conteo que las reglas clásicas con sequence-length=4 y threshold=2")
+    void perfilEquivalenteAlClasico() {
+        RuleProfile copia = new RuleProfile("copia", 4, 2, EnumSet.allOf(SequenceDirection.class),
+                SequenceCounting.OVERLAPPING);
+        // Con otro motor configurado para el clásico, el perfil no delega y usa las corridas
+        RuleDetector runLength = RuleDetector.compile(copia, new MutantDetector(DetectionEngine.RUN_LENGTH, 0,
+                SequenceCounting.NON_OVERLAPPING));
+
+        Random rnd = new Random(5);
+        for (int k = 0; k < 300; k++) {
+            String[] dna = random(rnd, 4 + rnd.nextInt(40));
+            assertEquals(engine.isMutant(dna), runLength.isMutant(DnaMatrix.of(dna)), String.join(",", dna));
+        }
+    }
+
+    @Test
+    @DisplayName("Umbral 1: alcanza con una sola secuencia")
+    void umbralUno() {
+        RuleDetector una = RuleDetector.compile(new RuleProfile("una", 4, 1,
+                EnumSet.allOf(SequenceDirection.class), null), engine);
+        String[] dna = {"GGGGTA", "CAGTGC", "TTATGT", "AGACGG", "GCGTCA", "TCACTG"};
+
+        assertFalse(engine.isMutant(dna));
+        assertTrue(una.isMutant(DnaMatrix.of(dna)));
+    }
+
+    @Test
+    @DisplayName("Configuración inválida: id, valores y duplicados se rechazan al arrancar")
+    void configuracionInvalida() {
+        EnumSet<SequenceDirection> all = EnumSet.allOf(SequenceDirection.class);
+
+        assertThrows(IllegalArgumentException.class, () -> new RuleProfile("con espacio", 4, 2, all, null));
+        assertThrows(IllegalArgumentException.class, () -> new RuleProfile("x".repeat(24), 4, 2, all, null));
+        assertThrows(IllegalArgumentException.class, () -> new RuleProfile("corto", 1, 2, all, null));
+        assertThrows(IllegalArgumentException.class, () -> new RuleProfile("cero", 4, 0, all, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RuleProfile("nada", 4, 2, EnumSet.noneOf(SequenceDirection.class), null));
+
+        RuleProfile clasicoRedefinido = new RuleProfile(RuleProfile.CLASSIC_ID, 5, 2, all, null);
+        assertThrows(IllegalArgumentException.class,
+                () -> new RuleProfileRegistry(engine, List.of(clasicoRedefinido), RuleProfile.CLASSIC_ID));
+        assertThrows(IllegalArgumentException.class,
+                () -> new RuleProfileRegistry(engine, List.of(), "inexistente"));
+    }
+
+    @Test
+    @DisplayName("Clave guardada: id + hash de las reglas; cambia si cambia cualquier regla")
+    void claveDeLasReglas() {
+        EnumSet<SequenceDirection> horizontal = EnumSet.of(SequenceDirection.HORIZONTAL);
+        RuleProfile h5 = new RuleProfile("h5", 5, 3, horizontal, SequenceCounting.OVERLAPPING);
+
+        assertTrue(h5.key().matches("h5-[0-9a-f]{8}"), h5.key());
+        assertEquals(h5.key(), new RuleProfile("h5", 5, 3, horizontal, null).key());
+        assertNotEquals(h5.key(), new RuleProfile("h5", 5, 2, horizontal, null).key());
+        assertNotEquals(h5.key(), new RuleProfile("h5", 4, 3, horizontal, null).key());
+        assertNotEquals(h5.key(), new RuleProfile("h5", 5, 3, EnumSet.of(SequenceDirection.VERTICAL), null).key());
+        assertNotEquals(h5.key(), new RuleProfile("h5", 5, 3, horizontal, SequenceCounting.NON_OVERLAPPING).key());
+
+        // El id más largo todavía entra en dna_records.rules_id
+        assertTrue(new RuleProfile("x".repeat(23), 4, 2, horizontal, null).key().length() <= 32);
+
+        // Los registros de antes de los perfiles son del clásico con conteo solapado
+        assertEquals(RuleProfile.CLASSIC_ID, new RuleProfileRegistry(engine).defaultDetector().key());
+        String noSolapado = new RuleProfileRegistry(new MutantDetector(DetectionEngine.RUN_LENGTH, 0,
+                SequenceCounting.NON_OVERLAPPING)).defaultDetector().key();
+        assertTrue(noSolapado.startsWith(RuleProfile.CLASSIC_ID + "-"), noSolapado);
+    }
+
+    @Test
+    @DisplayName("Perfil desconocido: UnknownRuleProfileException con los disponibles")
+    void perfilDesconocido() {
+        RuleProfileRegistry registry = new RuleProfileRegistry(engine);
+
+        UnknownRuleProfileException ex =
+                assertThrows(UnknownRuleProfileException.class, () -> registry.resolve("strict"));
+        assertTrue(ex.getMessage().contains("'strict'"));
+        assertTrue(ex.getMessage().contains(RuleProfile.CLASSIC_ID));
+    }
+}
@@ -0,0 +1,159 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.example.service.DnaTestFixtures.humanPattern;
+import static org.example.service.DnaTestFixtures.random;
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunLengthScannerTest {
+
+    // Direcciones (dr, dc): horizontal, vertical, ↘ y ↗
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {-1, 1}};
+
+    private final MutantDetector scalar = new MutantDetector(DetectionEngine.SCALAR);
+    private final MutantDetector runLength = new MutantDetector(DetectionEngine.RUN_LENGTH);
+    private final MutantDetector nonOverlapping =
+            new MutantDetector(DetectionEngine.RUN_LENGTH, 0, SequenceCounting.NON_OVERLAPPING);
+
+    @Test
+    @DisplayName("Corridas: una secuencia por dirección")
+    void cuentaCadaDireccion() {
+        for (SequenceCounting counting : SequenceCounting.values()) {
+            assertEquals(1, count(new String[]{"AAAA", "TGCG", "GATT", "CGCA"}, counting));
+            assertEquals(1, count(new String[]{"ATGC", "ACGT", "AGTC", "ATCG"}, counting));
+            assertEquals(1, count(new String[]{"GTCA", "CGTT", "TAGC", "ACTG"}, counting));
+            assertEquals(1, count(new String[]{"TTCG", "CAGT", "TGAC", "GCTA"}, counting));
+        }
+    }
+
+    @Test
+    @DisplayName("Corridas: AAAAA son 2 secuencias solapadas y 1 sin solapar")
+    void reglaDeSolapamiento() {
+        String[] dna = humanPattern(8);
+        dna[3] = "AAAAA" + dna[3].substring(5);
+
+        assertEquals(2, count(dna, SequenceCounting.OVERLAPPING));
+        assertEquals(1, count(dna, SequenceCounting.NON_OVERLAPPING));
+        assertTrue(runLength.isMutant(dna));
+        assertFalse(nonOverlapping.isMutant(dna));
+
+        // 8 iguales: 5 solapadas, 2 sin solapar → mutante con las dos reglas
+        dna[3] = "AAAAAAAA";
+        assertEquals(5, count(dna, SequenceCounting.OVERLAPPING));
+        assertEquals(2, count(dna, SequenceCounting.NON_OVERLAPPING));
+        assertTrue(nonOverlapping.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Corridas: diagonales de las esquinas, incluidas las de exactamente 4 celdas")
+    void diagonalesDeLasEsquinas() {
+        String[] dna = humanPattern(6);
+        plant(dna, 0, 2, 1, 1, 'A');  // ↘ de 4 celdas que termina en (3, 5)
+        plant(dna, 5, 2, -1, 1, 'C'); // ↗ de 4 celdas que termina en (2, 5)
+
+        assertEquals(2, count(dna, SequenceCounting.OVERLAPPING));
+        assertTrue(scalar.isMutant(dna));
+        assertTrue(runLength.isMutant(dna));
+    }
+
+    @Test
+    @DisplayName("Equivalencia: mismo conteo solapado y mismo veredicto que SCALAR en matrices aleatorias")
+    void mismoConteoQueEscalar() {
+        Random rnd = new Random(42);
+
+        for (int n : new int[]{4, 5, 6, 7, 17, 33, 64, 100}) {
+            for (int k = 0; k < 200; k++) {
+                String[] dna = random(rnd, n);
+                String detail = "N=" + n + ": " + String.join(",", dna);
+
+                assertEquals(reference(dna, SequenceCounting.OVERLAPPING),
+                        count(dna, SequenceCounting.OVERLAPPING), detail);
+                assertEquals(reference(dna, SequenceCounting.NON_OVERLAPPING),
+                        count(dna, SequenceCounting.NON_OVERLAPPING), detail);
+                assertEquals(scalar.isMutant(dna), runLength.isMutant(dna), detail);
+                assertEquals(scalar.isMutant(dna), runLength.isMutantMatrix(DnaMatrix.of(dna)), detail);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Corte temprano: no pasa de stopAt y una matriz humana da 0")
+    void corteTemprano() {
+        String[] mutant = new String[]{"AAAAAAAA", "CCCCCCCC", "GGGGGGGG", "TTTTTTTT",
+                "AAAAAAAA", "CCCCCCCC", "GGGGGGGG", "TTTTTTTT"};
+
+        assertEquals(2, count(mutant, SequenceCounting.OVERLAPPING, 2));
+        assertEquals(0, count(humanPattern(200), SequenceCounting.OVERLAPPING, 2));
+        assertFalse(runLength.isMutant(humanPattern(200)));
+    }
+
+    @Test
+    @DisplayName("Configuración: NON_OVERLAPPING con otro motor se rechaza al crear el detector")
+    void sinSolaparSoloConRunLength() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new MutantDetector(DetectionEngine.SCALAR, 0, SequenceCounting.NON_OVERLAPPING));
+        assertEquals(SequenceCounting.NON_OVERLAPPING, nonOverlapping.getCounting());
+    }
+
+    @Test
+    @DisplayName("Inválido: mismo tratamiento que SCALAR")
+    void invalido() {
+        assertFalse(runLength.isMutant(null));
+        assertFalse(runLength.isMutant(new String[]{"AAAA", "AAAA", "AAXA", "AAAA"}));
+        assertFalse(runLength.isMutant(new String[]{"AAA", "AAA", "AAA"}));
+    }
+
+    // Helpers
+
+    private static int count(String[] dna, SequenceCounting counting) {
+        return count(dna, counting, Integer.MAX_VALUE);
+    }
+
+    private static int count(String[] dna, SequenceCounting counting, int stopAt) {
+        return RunLengthScanner.countSequences(DnaMatrix.of(dna).bases(), dna.length, counting, stopAt);
+    }
+
+    /**
+     * Conteo de referencia por fuerza bruta: en cada celda y dirección, la corrida que
+     * empieza ahí (la celda anterior es distinta o está fuera) de largo L vale L-3 o L/4.
+     */
+    private static int reference(String[] dna, SequenceCounting counting) {
+        int n = dna.length;
+        int total = 0;
+        for (int[] d : DIRECTIONS) {
+            for (int r = 0; r < n; r++) {
+                for (int c = 0; c < n; c++) {
+                    char b = dna[r].charAt(c);
+                    int pr = r - d[0], pc = c - d[1];
+                    if (inside(n, pr, pc) && dna[pr].charAt(pc) == b) continue;
+
+                    int len = 0;
+                    for (int rr = r, cc = c; inside(n, rr, cc) && dna[rr].charAt(cc) == b; rr += d[0], cc += d[1]) {
+                        len++;
+                    }
+                    if (len >= 4) {
+                        total += counting == SequenceCounting.OVERLAPPING ? len - 3 : len / 4;
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private static boolean inside(int n, int r, int c) {
+        return r >= 0 && r < n && c >= 0 && c < n;
+    }
+
+    /** Escribe 4 veces {@code base} desde (r, c) avanzando (dr, dc). */
+    private static void plant(String[] dna, int r, int c, int dr, int dc, char base) {
+        for (int k = 0; k < 4; k++) {
+            char[] row = dna[r + k * dr].toCharArray();
+            row[c + k * dc] = base;
+            dna[r + k * dr] = new String(row);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    @Test
+    @DisplayName("Llamadas concurrentes con la misma clave ejecutan el trabajo una sola vez")
+    void coalesceMismaClave() throws Exception {
+        SingleFlight<String, Boolean> flight = new SingleFlight<>();
+        AtomicInteger ejecuciones = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+        int hilos = 8;
+
+        ExecutorService pool = Executors.newFixedThreadPool(hilos);
+        try {
+            List<Future<Boolean>> resultados = new ArrayList<>();
+            for (int i = 0; i < hilos; i++) {
+                resultados.add(pool.submit(() -> flight.execute("adn", () -> {
+                    ejecuciones.incrementAndGet();
+                    await(liberar);
+                    return true;
+                })));
+            }
+
+            // Espero a que el primero esté trabajando y los demás encolados detrás
+            while (ejecuciones.get() == 0) {
+                Thread.onSpinWait();
+            }
+            Thread.sleep(100);
+            liberar.countDown();
+
+            for (Future<Boolean> r : resultados) {
+                assertTrue(r.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, ejecuciones.get());
+            assertEquals(0, flight.inFlight());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Claves distintas no se bloquean entre sí")
+    void clavesDistintas() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+
+        assertEquals(1, (int) flight.execute("a", () -> 1));
+        assertEquals(2, (int) flight.execute("b", () -> 2));
+        assertEquals(0, flight.inFlight());
+    }
+
+    @Test
+    @DisplayName("Si el trabajo falla, la excepción se propaga y la clave se libera")
+    void propagaExcepcion() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>();
+
+        assertThrows(IllegalStateException.class,
+                () -> flight.execute("a", () -> { throw new IllegalStateException("falla"); }));
+        assertEquals(0, flight.inFlight());
+        assertEquals(3, (int) flight.execute("a", () -> 3));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package org.example.service;
 
 import org.example.dto.StatsResponse;
-import org.example.repository.DnaRecordRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,7 +15,7 @@ import static org.mockito.Mockito.when;
 class StatsServiceTest {
 
     @Mock
-    private DnaRecordRepository dnaRecordRepository;
+    private DnaStatsCounters counters;
 
     @InjectMocks
     private StatsService statsService;
@@ -25,8 +24,8 @@ class StatsServiceTest {
     @DisplayName("Calcula bien el ratio cuando hay mutantes y humanos")
     void calculaRatioConValoresNormales() {
 
-        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(40L);
-        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(100L);
+        when(counters.mutants()).thenReturn(40L);
+        when(counters.humans()).thenReturn(100L);
 
         StatsResponse res = statsService.getStats();
 
@@ -39,8 +38,8 @@ class StatsServiceTest {
     @DisplayName("Cuando no hay humanos, el ratio debe ser igual a los mutantes")
     void ratioSinHumanos() {
 
-        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(10L);
-        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(0L);
+        when(counters.mutants()).thenReturn(10L);
+        when(counters.humans()).thenReturn(0L);
 
         StatsResponse res = statsService.getStats();
 
@@ -53,8 +52,8 @@ class StatsServiceTest {
     @DisplayName("Si no hay ningún registro, el ratio debe ser 0.0")
     void ratioSinDatos() {
 
-        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(0L);
-        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(0L);
+        when(counters.mutants()).thenReturn(0L);
+        when(counters.humans()).thenReturn(0L);
 
         StatsResponse res = statsService.getStats();
 
@@ -67,8 +66,8 @@ class StatsServiceTest {
     @DisplayName("Cuando no hay mutantes, el ratio debe ser 0.0")
     void ratioSoloHumanos() {
 
-        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(0L);
-        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(50L);
+        when(counters.mutants()).thenReturn(0L);
+        when(counters.humans()).thenReturn(50L);
 
         StatsResponse res = statsService.getStats();
 
@@ -81,8 +80,8 @@ class StatsServiceTest {
     @DisplayName("Cuando mutantes y humanos son iguales, el ratio es 1.0")
     void ratioIgualACero() {
 
-        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(5L);
-        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(5L);
+        when(counters.mutants()).thenReturn(5L);
+        when(counters.humans()).thenReturn(5L);
 
         StatsResponse res = statsService.getStats();
 
@@ -95,8 +94,8 @@ class StatsServiceTest {
     @DisplayName("Cuando hay más mutantes que humanos, el ratio debe ser > 1.0")
     void ratioMayorAUno() {
 
-        when(dnaRecordRepository.countByIsMutant(true)).thenReturn(100L);
-        when(dnaRecordRepository.countByIsMutant(false)).thenReturn(40L);
+        when(counters.mutants()).thenReturn(100L);
+        when(counters.humans()).thenReturn(40L);
 
         StatsResponse res = statsService.getStats();
 
@@ -0,0 +1,60 @@
+package org.example.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerdictCacheTest {
+
+    private static DnaDigest digest(int seed) {
+        byte[] b = new byte[32];
+        b[0] = (byte) seed;
+        b[31] = (byte) (seed >> 8);
+        return new DnaDigest(b);
+    }
+
+    @Test
+    @DisplayName("Guarda y devuelve el veredicto por digest binario")
+    void guardaYDevuelve() {
+        VerdictCache cache = new VerdictCache(100, Duration.ofMinutes(1));
+
+        cache.put(digest(1), true);
+        cache.put(digest(2), false);
+
+        // Un digest con los mismos bytes (otra instancia) es la misma clave
+        assertEquals(Boolean.TRUE, cache.get(digest(1)));
+        assertEquals(Boolean.FALSE, cache.get(digest(2)));
+        assertNull(cache.get(digest(3)));
+
+        assertEquals(2, cache.stats().hitCount());
+        assertEquals(1, cache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Respeta el tamaño máximo desalojando entradas")
+    void desalojaPorTamanio() {
+        VerdictCache cache = new VerdictCache(10, Duration.ofMinutes(1));
+
+        for (int i = 0; i < 1000; i++) {
+            cache.put(digest(i), i % 2 == 0);
+        }
+        cache.cleanUp();
+
+        assertTrue(cache.size() <= 10);
+        assertTrue(cache.stats().evictionCount() > 0);
+    }
+
+    @Test
+    @DisplayName("invalidateAll vacía la caché")
+    void invalidaTodo() {
+        VerdictCache cache = new VerdictCache(100, Duration.ofMinutes(1));
+        cache.put(digest(1), true);
+
+        cache.invalidateAll();
+
+        assertNull(cache.get(digest(1)));
+    }
+}
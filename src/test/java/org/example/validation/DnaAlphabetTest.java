@@ -0,0 +1,61 @@
+package org.example.validation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DnaAlphabetTest {
+
+    @Test
+    @DisplayName("Solo A, T, C y G son bases válidas (los 65536 valores de char)")
+    void soloAtcg() {
+        for (int ch = 0; ch <= Character.MAX_VALUE; ch++) {
+            boolean esperado = ch == 'A' || ch == 'T' || ch == 'C' || ch == 'G';
+            assertEquals(esperado, DnaAlphabet.isBase((char) ch), "char " + ch);
+        }
+    }
+
+    @Test
+    @DisplayName("SWAR: detecta cualquier byte inválido en cualquier columna, dentro de la palabra o en la cola")
+    void swarDetectaCadaByteEnCadaColumna() {
+        int n = 21; // dos palabras de 8 + 5 de cola
+        byte[] fila = "ATCGGCTAACGTTGCAATCGG".getBytes(StandardCharsets.US_ASCII);
+        assertEquals(-1, DnaAlphabet.firstInvalid(fila, 0, n));
+
+        for (int col = 0; col < n; col++) {
+            for (int b = 0; b < 256; b++) {
+                byte[] copia = fila.clone();
+                copia[col] = (byte) b;
+                boolean valido = b == 'A' || b == 'T' || b == 'C' || b == 'G';
+                assertEquals(valido ? -1 : col, DnaAlphabet.firstInvalid(copia, 0, n),
+                        "byte " + b + " en la columna " + col);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("SWAR: respeta el offset y devuelve la primera columna inválida")
+    void swarConOffset() {
+        byte[] buf = "XXATCGATCGAXCGATCGXX".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(9, DnaAlphabet.firstInvalid(buf, 2, 16));
+        assertEquals(-1, DnaAlphabet.firstInvalid(buf, 2, 9));
+    }
+
+    @Test
+    @DisplayName("copyRow copia la fila y detecta caracteres fuera de ASCII que parecen bases")
+    void copyRowFueraDeAscii() {
+        byte[] dst = new byte[8];
+
+        assertEquals(-1, DnaAlphabet.copyRow("ATCGATCG", dst, 0));
+        assertArrayEquals("ATCGATCG".getBytes(StandardCharsets.US_ASCII), dst);
+
+        // 'A' + 256: el byte bajo es 0x41 ('A')
+        assertEquals(5, DnaAlphabet.copyRow("ATCGAŁCG", dst, 0));
+        assertEquals(2, DnaAlphabet.copyRow("ATxGAŁCG".toCharArray(), 0, 8, dst, 0));
+        assertEquals(3, DnaAlphabet.firstInvalid("ATCa"));
+    }
+}